@@ -156,6 +156,13 @@ public class CommandLine {
                         generateCommand.getConfigOptions()
                 );
             case SERVE_COMMAND:
+                if (serveCommand.isWatch()) {
+                    return commands.watch(
+                            serveCommand.getResultsOptions().getResultsDirectories(),
+                            serveCommand.getHostPortOptions().getHost(),
+                            serveCommand.getHostPortOptions().getPort(),
+                            serveCommand.getConfigOptions());
+                }
                 return commands.serve(
                         serveCommand.getResultsOptions().getResultsDirectories(),
                         serveCommand.getHostPortOptions().getHost(),
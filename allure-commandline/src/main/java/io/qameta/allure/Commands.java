@@ -16,6 +16,7 @@
 package io.qameta.allure;
 
 import io.qameta.allure.config.ConfigLoader;
+import io.qameta.allure.context.ResultFilesContext;
 import io.qameta.allure.core.Configuration;
 import io.qameta.allure.core.Plugin;
 import io.qameta.allure.option.ConfigOptions;
@@ -37,6 +38,7 @@ import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -53,6 +55,7 @@ public class Commands {
     private static final Logger LOGGER = LoggerFactory.getLogger(Commands.class);
     private static final String DIRECTORY_EXISTS_MESSAGE = "Allure: Target directory {} for the report is already"
             + " in use, add a '--clean' option to overwrite";
+    private static final long WATCH_QUIET_PERIOD = 1000;
 
     private final Path allureHome;
 
@@ -138,26 +141,81 @@ public class Commands {
         return exitCode;
     }
 
-    public ExitCode open(final Path reportDirectory, final String host, final int port) {
-        LOGGER.info("Starting web server...");
-        final Server server = setUpServer(host, port, reportDirectory);
+    /**
+     * Serves the report and regenerates it on changes in results directories. Report is
+     * generated with cache, so only changed results directories are read again and only
+     * changed report files are rewritten, then open report pages are reloaded. Result files
+     * parsed before are kept, so readers that support it parse only new and changed files
+     * of changed directories. Aggregates are not updated in place: trees, summary, history
+     * and other aggregates are built across all results, so each regeneration runs all the
+     * aggregators over all the results.
+     *
+     * @param resultsDirectories the results directories.
+     * @param host               the host to serve report at.
+     * @param port               the port to serve report at.
+     * @param configOptions      the config options.
+     * @return exit code.
+     * @since 2.14
+     */
+    public ExitCode watch(final List<Path> resultsDirectories,
+                          final String host,
+                          final int port,
+                          final ConfigOptions configOptions) {
+        LOGGER.info("Generating report to temp directory...");
+
+        final Path reportDirectory;
+        final Path cacheDirectory;
         try {
-            server.start();
-        } catch (Exception e) {
-            LOGGER.error("Could not serve the report", e);
+            final Path tmp = Files.createTempDirectory("");
+            reportDirectory = tmp.resolve("allure-report");
+            cacheDirectory = tmp.resolve("cache");
+            tmp.toFile().deleteOnExit();
+        } catch (IOException e) {
+            LOGGER.error("Could not create temp directory", e);
             return ExitCode.GENERIC_ERROR;
         }
 
+        final ReportGenerator generator = new ReportGenerator(
+                createReportConfiguration(configOptions, new ResultFilesContext()),
+                cacheDirectory
+        );
         try {
-            openBrowser(server.getURI());
+            generator.generate(reportDirectory, resultsDirectories);
         } catch (IOException e) {
-            LOGGER.error(
-                    "Could not open the report in browser, try to open it manually {}: {}",
-                    server.getURI(),
-                    e
-            );
+            LOGGER.error("Could not generate report", e);
+            return ExitCode.GENERIC_ERROR;
+        }
+
+        final LiveReloadHandler reloadHandler = new LiveReloadHandler(reportDirectory);
+        final Server server = setUpServer(host, port, reportDirectory, reloadHandler);
+        if (!start(server)) {
+            return ExitCode.GENERIC_ERROR;
+        }
+        LOGGER.info("Watching {} for changes", resultsDirectories);
+        try (ResultsWatcher watcher = new ResultsWatcher(resultsDirectories, WATCH_QUIET_PERIOD, () -> {
+            try {
+                generator.generate(reportDirectory, resultsDirectories);
+                reloadHandler.reload();
+            } catch (IOException e) {
+                LOGGER.error("Could not regenerate report", e);
+            }
+        })) {
+            watcher.run();
+        } catch (IOException e) {
+            LOGGER.error("Could not watch results directories", e);
+            return ExitCode.GENERIC_ERROR;
+        } catch (InterruptedException e) {
+            LOGGER.error("Report serve interrupted", e);
+            return ExitCode.GENERIC_ERROR;
+        }
+        return ExitCode.NO_ERROR;
+    }
+
+    public ExitCode open(final Path reportDirectory, final String host, final int port) {
+        final Server server = setUpServer(host, port, reportDirectory);
+        if (!start(server)) {
+            return ExitCode.GENERIC_ERROR;
         }
-        LOGGER.info("Server started at <{}>. Press <Ctrl+C> to exit", server.getURI());
         try {
             server.join();
         } catch (InterruptedException e) {
@@ -180,6 +238,10 @@ public class Commands {
      * @return created report configuration.
      */
     protected Configuration createReportConfiguration(final ConfigOptions profile) {
+        return createReportConfiguration(profile, new Extension[0]);
+    }
+
+    private Configuration createReportConfiguration(final ConfigOptions profile, final Extension... extensions) {
         final DefaultPluginLoader loader = new DefaultPluginLoader();
         final CommandlineConfig commandlineConfig = getConfig(profile);
         final ClassLoader classLoader = getClass().getClassLoader();
@@ -191,6 +253,7 @@ public class Commands {
 
         return new ConfigurationBuilder()
                 .useDefault()
+                .fromExtensions(Arrays.asList(extensions))
                 .fromPlugins(plugins)
                 .build();
     }
@@ -199,20 +262,48 @@ public class Commands {
      * Set up Jetty server to serve Allure Report.
      */
     protected Server setUpServer(final String host, final int port, final Path reportDirectory) {
+        return setUpServer(host, port, reportDirectory, new Handler[0]);
+    }
+
+    private Server setUpServer(final String host, final int port, final Path reportDirectory,
+                               final Handler... extraHandlers) {
         final Server server = Objects.isNull(host)
                 ? new Server(port)
                 : new Server(new InetSocketAddress(host, port));
-        final ResourceHandler handler = new ResourceHandler();
-        handler.setRedirectWelcome(true);
-        handler.setDirectoriesListed(true);
-        handler.setResourceBase(reportDirectory.toAbsolutePath().toString());
-        final HandlerList handlers = new HandlerList();
-        handlers.setHandlers(new Handler[]{handler, new DefaultHandler()});
+        final ResourceHandler resourceHandler = new ResourceHandler();
+        resourceHandler.setRedirectWelcome(true);
+        resourceHandler.setDirectoriesListed(true);
+        resourceHandler.setResourceBase(reportDirectory.toAbsolutePath().toString());
+        final HandlerList handlers = new HandlerList(extraHandlers);
+        handlers.addHandler(resourceHandler);
+        handlers.addHandler(new DefaultHandler());
         server.setStopAtShutdown(true);
         server.setHandler(handlers);
         return server;
     }
 
+    private boolean start(final Server server) {
+        LOGGER.info("Starting web server...");
+        try {
+            server.start();
+        } catch (Exception e) {
+            LOGGER.error("Could not serve the report", e);
+            return false;
+        }
+
+        try {
+            openBrowser(server.getURI());
+        } catch (IOException e) {
+            LOGGER.error(
+                    "Could not open the report in browser, try to open it manually {}: {}",
+                    server.getURI(),
+                    e
+            );
+        }
+        LOGGER.info("Server started at <{}>. Press <Ctrl+C> to exit", server.getURI());
+        return true;
+    }
+
     /**
      * Open the given url in default system browser.
      */
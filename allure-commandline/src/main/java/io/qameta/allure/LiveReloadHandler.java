@@ -0,0 +1,177 @@
+/*
+ *  Copyright 2019 Qameta Software OÜ
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure;
+
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Handler that lets open report pages reload when report is regenerated. Report
+ * index page is served with small script that long polls the version endpoint
+ * and reloads the page as soon as version is changed. Polls are suspended with
+ * servlet async support, so waiting pages do not hold server threads.
+ *
+ * @since 2.14
+ */
+public class LiveReloadHandler extends AbstractHandler {
+
+    /* default */ static final String VERSION_PATH = "/__allure_version";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LiveReloadHandler.class);
+
+    private static final String INDEX_FILE_NAME = "index.html";
+
+    private static final long POLL_TIMEOUT = TimeUnit.SECONDS.toMillis(25);
+
+    private static final String SCRIPT = "<script>(function poll(v){"
+            + "fetch('__allure_version' + (v === undefined ? '' : '?version=' + v))"
+            + ".then(function(r){return r.json();})"
+            + ".then(function(d){if(v !== undefined && d.version !== v){location.reload();}else{poll(d.version);}})"
+            + ".catch(function(){setTimeout(function(){poll(v);}, 5000);});"
+            + "})();</script>\n";
+
+    private final Path reportDirectory;
+
+    private final Set<AsyncContext> polls = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong version = new AtomicLong();
+
+    public LiveReloadHandler(final Path reportDirectory) {
+        this.reportDirectory = reportDirectory;
+    }
+
+    /**
+     * Notifies open pages that report is regenerated.
+     */
+    public void reload() {
+        final long current = version.incrementAndGet();
+        polls.forEach(poll -> complete(poll, current));
+    }
+
+    @Override
+    public void handle(final String target,
+                       final Request baseRequest,
+                       final HttpServletRequest request,
+                       final HttpServletResponse response) throws IOException {
+        if (VERSION_PATH.equals(target)) {
+            baseRequest.setHandled(true);
+            final String known = request.getParameter("version");
+            final long current = version.get();
+            if (Objects.isNull(known) || !known.equals(Long.toString(current))) {
+                writeVersion(response, current);
+                return;
+            }
+            final AsyncContext poll = request.startAsync();
+            poll.setTimeout(POLL_TIMEOUT);
+            poll.addListener(new PollListener(poll));
+            polls.add(poll);
+            if (version.get() != current) {
+                complete(poll, version.get());
+            }
+            return;
+        }
+        final Path index = reportDirectory.resolve(INDEX_FILE_NAME);
+        if (("/".equals(target) || ("/" + INDEX_FILE_NAME).equals(target)) && Files.exists(index)) {
+            response.setContentType("text/html");
+            response.setCharacterEncoding(UTF_8.name());
+            response.setHeader("Cache-Control", "no-cache");
+            response.getOutputStream().write(injectScript(new String(Files.readAllBytes(index), UTF_8))
+                    .getBytes(UTF_8));
+            baseRequest.setHandled(true);
+        }
+    }
+
+    /* default */ static String injectScript(final String html) {
+        final int position = html.lastIndexOf("</body>");
+        return position < 0
+                ? html + SCRIPT
+                : html.substring(0, position) + SCRIPT + html.substring(position);
+    }
+
+    /**
+     * Answers suspended poll with given version. Each poll is answered once, either
+     * on reload or on timeout.
+     */
+    private void complete(final AsyncContext poll, final long current) {
+        if (!polls.remove(poll)) {
+            return;
+        }
+        try {
+            writeVersion((HttpServletResponse) poll.getResponse(), current);
+        } catch (IOException | IllegalStateException e) {
+            LOGGER.debug("Could not answer report version poll", e);
+        } finally {
+            poll.complete();
+        }
+    }
+
+    private static void writeVersion(final HttpServletResponse response, final long current) throws IOException {
+        response.setContentType("application/json");
+        response.setHeader("Cache-Control", "no-cache");
+        response.getOutputStream().write(String.format("{\"version\":%d}", current).getBytes(UTF_8));
+    }
+
+    /**
+     * Answers poll with current version once it times out, and forgets polls of
+     * closed connections.
+     */
+    private final class PollListener implements AsyncListener {
+
+        private final AsyncContext poll;
+
+        PollListener(final AsyncContext poll) {
+            this.poll = poll;
+        }
+
+        @Override
+        public void onTimeout(final AsyncEvent event) {
+            complete(poll, version.get());
+        }
+
+        @Override
+        public void onError(final AsyncEvent event) {
+            polls.remove(poll);
+        }
+
+        @Override
+        public void onComplete(final AsyncEvent event) {
+            polls.remove(poll);
+        }
+
+        @Override
+        public void onStartAsync(final AsyncEvent event) {
+            //do nothing
+        }
+    }
+}
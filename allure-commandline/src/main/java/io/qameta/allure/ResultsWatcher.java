@@ -0,0 +1,154 @@
+/*
+ *  Copyright 2019 Qameta Software OÜ
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * Watches results directories for new, modified and deleted files. Subdirectories,
+ * such as attachment folders, are watched as well, including ones created later.
+ * Changes are debounced, so a batch of files written by test framework results in
+ * a single notification once no more changes are seen for the quiet period.
+ *
+ * @since 2.14
+ */
+public class ResultsWatcher implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResultsWatcher.class);
+
+    private final WatchService watchService;
+
+    private final long quietPeriod;
+
+    private final Runnable listener;
+
+    private final Map<WatchKey, Path> directories = new ConcurrentHashMap<>();
+
+    /**
+     * Creates watcher for given directories.
+     *
+     * @param resultsDirectories the directories to watch.
+     * @param quietPeriod        the time in milliseconds without changes to wait before notification.
+     * @param listener           the listener to notify about changes.
+     * @throws IOException if directories can not be watched.
+     */
+    public ResultsWatcher(final List<Path> resultsDirectories,
+                          final long quietPeriod,
+                          final Runnable listener) throws IOException {
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.quietPeriod = quietPeriod;
+        this.listener = listener;
+        for (Path directory : resultsDirectories) {
+            register(directory);
+        }
+    }
+
+    /**
+     * Watches directories until the current thread is interrupted or watcher is closed.
+     *
+     * @throws InterruptedException if thread is interrupted while waiting for changes.
+     */
+    public void run() throws InterruptedException {
+        while (true) {
+            int changes = drain(watchService.take());
+            WatchKey key = watchService.poll(quietPeriod, TimeUnit.MILLISECONDS);
+            while (Objects.nonNull(key)) {
+                changes += drain(key);
+                key = watchService.poll(quietPeriod, TimeUnit.MILLISECONDS);
+            }
+            if (changes > 0) {
+                LOGGER.info("Found {} changed results files", changes);
+                listener.run();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+
+    private void register(final Path directory) throws IOException {
+        final List<Path> tree;
+        try (Stream<Path> stream = Files.walk(directory)) {
+            tree = stream.filter(Files::isDirectory).collect(Collectors.toList());
+        }
+        for (Path item : tree) {
+            directories.put(item.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE), item);
+        }
+    }
+
+    private int drain(final WatchKey key) {
+        final Path directory = directories.get(key);
+        int changes = 0;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (OVERFLOW.equals(event.kind())) {
+                changes++;
+            } else if (isResultsFile(event.context())) {
+                changes++;
+                registerCreated(directory, event);
+            }
+        }
+        if (!key.reset()) {
+            directories.remove(key);
+        }
+        return changes;
+    }
+
+    private void registerCreated(final Path directory, final WatchEvent<?> event) {
+        if (Objects.isNull(directory) || !ENTRY_CREATE.equals(event.kind())) {
+            return;
+        }
+        final Path created = directory.resolve((Path) event.context());
+        if (Files.isDirectory(created)) {
+            try {
+                register(created);
+            } catch (IOException e) {
+                LOGGER.warn("Could not watch {}", created, e);
+            }
+        }
+    }
+
+    private static boolean isResultsFile(final Object context) {
+        if (!(context instanceof Path)) {
+            return false;
+        }
+        final String name = ((Path) context).getFileName().toString();
+        return !name.startsWith(".") && !name.endsWith(".tmp");
+    }
+}
@@ -15,6 +15,7 @@
  */
 package io.qameta.allure.command;
 
+import com.beust.jcommander.Parameter;
 import com.beust.jcommander.Parameters;
 import com.beust.jcommander.ParametersDelegate;
 import io.qameta.allure.option.ConfigOptions;
@@ -30,6 +31,12 @@ import io.qameta.allure.option.ResultsOptions;
 @Parameters(commandDescription = "Serve the report")
 public class ServeCommand {
 
+    @Parameter(
+            names = {"-w", "--watch"},
+            description = "Watch results directories and refresh the report on changes."
+    )
+    private boolean watch;
+
     @ParametersDelegate
     private ResultsOptions resultsOptions = new ResultsOptions();
 
@@ -39,6 +46,10 @@ public class ServeCommand {
     @ParametersDelegate
     private ConfigOptions configOptions = new ConfigOptions();
 
+    public boolean isWatch() {
+        return watch;
+    }
+
     public ResultsOptions getResultsOptions() {
         return resultsOptions;
     }
@@ -0,0 +1,86 @@
+/*
+ *  Copyright 2019 Qameta Software OÜ
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure;
+
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LiveReloadHandlerTest {
+
+    @Test
+    void shouldAnswerWaitingPollsOnReload(@TempDir final Path report) throws Exception {
+        final LiveReloadHandler handler = new LiveReloadHandler(report);
+        final Server server = new Server(new InetSocketAddress("localhost", 0));
+        server.setHandler(handler);
+        server.start();
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final int port = ((ServerConnector) server.getConnectors()[0]).getLocalPort();
+            final String url = "http://localhost:" + port + LiveReloadHandler.VERSION_PATH;
+            assertThat(get(url))
+                    .isEqualTo("{\"version\":0}");
+
+            final Future<String> first = executor.submit(() -> get(url + "?version=0"));
+            final Future<String> second = executor.submit(() -> get(url + "?version=0"));
+            TimeUnit.MILLISECONDS.sleep(500);
+            assertThat(first.isDone())
+                    .isFalse();
+
+            handler.reload();
+            assertThat(first.get(10, TimeUnit.SECONDS))
+                    .isEqualTo("{\"version\":1}");
+            assertThat(second.get(10, TimeUnit.SECONDS))
+                    .isEqualTo("{\"version\":1}");
+            assertThat(get(url + "?version=0"))
+                    .isEqualTo("{\"version\":1}");
+        } finally {
+            executor.shutdownNow();
+            server.stop();
+        }
+    }
+
+    private static String get(final String url) throws IOException {
+        final HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        try (InputStream is = connection.getInputStream()) {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[1024];
+            int read;
+            while ((read = is.read(buffer)) != -1) {
+                bytes.write(buffer, 0, read);
+            }
+            return new String(bytes.toByteArray(), UTF_8);
+        } finally {
+            connection.disconnect();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ *  Copyright 2019 Qameta Software OÜ
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResultsWatcherTest {
+
+    @Test
+    void shouldNotifyOnceForBatchOfChanges(@TempDir final Path results) throws Exception {
+        final Semaphore notifications = new Semaphore(0);
+        try (ResultsWatcher watcher = new ResultsWatcher(
+                Collections.singletonList(results), 500, notifications::release)) {
+            final Thread thread = new Thread(() -> {
+                try {
+                    watcher.run();
+                } catch (InterruptedException | ClosedWatchServiceException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            thread.start();
+            for (int i = 0; i < 5; i++) {
+                Files.write(results.resolve(i + "-result.json"), "{}".getBytes(UTF_8));
+            }
+            assertThat(notifications.tryAcquire(30, TimeUnit.SECONDS))
+                    .isTrue();
+            assertThat(notifications.tryAcquire(2, TimeUnit.SECONDS))
+                    .isFalse();
+            thread.interrupt();
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    @Test
+    void shouldNotifyOnDeletedFilesAndChangesInSubdirectories(@TempDir final Path results) throws Exception {
+        final Path result = Files.write(results.resolve("a-result.json"), "{}".getBytes(UTF_8));
+        final Path attachments = Files.createDirectories(results.resolve("attachments"));
+        final Semaphore notifications = new Semaphore(0);
+        try (ResultsWatcher watcher = new ResultsWatcher(
+                Collections.singletonList(results), 200, notifications::release)) {
+            final Thread thread = new Thread(() -> {
+                try {
+                    watcher.run();
+                } catch (InterruptedException | ClosedWatchServiceException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            thread.start();
+            Files.delete(result);
+            assertThat(notifications.tryAcquire(30, TimeUnit.SECONDS))
+                    .isTrue();
+
+            Files.write(attachments.resolve("a-attachment.txt"), "text".getBytes(UTF_8));
+            assertThat(notifications.tryAcquire(30, TimeUnit.SECONDS))
+                    .isTrue();
+
+            final Path created = Files.createDirectories(results.resolve("created"));
+            assertThat(notifications.tryAcquire(30, TimeUnit.SECONDS))
+                    .isTrue();
+            Files.write(created.resolve("b-attachment.txt"), "text".getBytes(UTF_8));
+            assertThat(notifications.tryAcquire(30, TimeUnit.SECONDS))
+                    .isTrue();
+            thread.interrupt();
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    @Test
+    void shouldInjectReloadScript() {
+        assertThat(LiveReloadHandler.injectScript("<html><body></body></html>"))
+                .contains("__allure_version")
+                .endsWith("</script>\n</body></html>");
+    }
+}
@@ -4,6 +4,7 @@ import com.moowork.gradle.node.NodeExtension
 plugins {
     `java-library`
     id("com.moowork.node") version "1.2.0"
+    id("me.champeau.gradle.jmh") version "0.5.0"
 }
 
 description = "Allure Report Generator"
@@ -106,6 +107,7 @@ dependencies {
     implementation("org.apache.httpcomponents:httpclient")
     implementation("org.apache.tika:tika-core")
     implementation("org.freemarker:freemarker")
+    jmh("io.qameta.allure:allure-model")
     testImplementation("io.qameta.allure:allure-java-commons")
     testImplementation("io.qameta.allure:allure-junit-platform")
     testImplementation("org.apache.commons:commons-lang3")
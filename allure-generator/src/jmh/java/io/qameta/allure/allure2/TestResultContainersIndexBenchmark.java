@@ -0,0 +1,119 @@
+/*
+ *  Copyright 2019 Qameta Software OÜ
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.allure2;
+
+import io.qameta.allure.model.TestResultContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares parent containers resolution using full containers scan
+ * (the way it was done before) with {@link TestResultContainersIndex}.
+ * <p>
+ * Synthetic graph models JUnit 5 results: every test result has its own
+ * method container, method containers belong to class containers and
+ * class containers belong to a few suite containers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TestResultContainersIndexBenchmark {
+
+    private static final int TESTS_PER_CLASS = 20;
+
+    private static final int CLASSES_PER_SUITE = 50;
+
+    @Param({"1000", "10000", "50000"})
+    private int resultsCount;
+
+    private List<String> results;
+
+    private List<TestResultContainer> containers;
+
+    @Setup
+    public void setUp() {
+        results = new ArrayList<>();
+        containers = new ArrayList<>();
+        final List<String> classChildren = new ArrayList<>();
+        final List<String> suiteChildren = new ArrayList<>();
+        for (int i = 0; i < resultsCount; i++) {
+            final String resultId = "result-" + i;
+            final String methodId = "method-" + i;
+            results.add(resultId);
+            containers.add(container(methodId, resultId));
+            classChildren.add(methodId);
+            if (classChildren.size() == TESTS_PER_CLASS || i == resultsCount - 1) {
+                final String classId = "class-" + i;
+                containers.add(container(classId, classChildren.toArray(new String[0])));
+                classChildren.clear();
+                suiteChildren.add(classId);
+            }
+            if (suiteChildren.size() == CLASSES_PER_SUITE || i == resultsCount - 1) {
+                containers.add(container("suite-" + i, suiteChildren.toArray(new String[0])));
+                suiteChildren.clear();
+            }
+        }
+    }
+
+    @Benchmark
+    public void scan(final Blackhole blackhole) {
+        for (String id : results) {
+            blackhole.consume(findAllParents(id));
+        }
+    }
+
+    @Benchmark
+    public void index(final Blackhole blackhole) {
+        final TestResultContainersIndex index = new TestResultContainersIndex(containers);
+        for (String id : results) {
+            blackhole.consume(index.findAllParents(id));
+        }
+    }
+
+    private static TestResultContainer container(final String uuid, final String... children) {
+        return new TestResultContainer().setUuid(uuid).setChildren(Arrays.asList(children));
+    }
+
+    private List<TestResultContainer> findAllParents(final String id) {
+        final List<TestResultContainer> parents = containers.stream()
+                .filter(container -> container.getChildren().contains(id))
+                .collect(Collectors.toList());
+        final List<TestResultContainer> result = new ArrayList<>(parents);
+        for (TestResultContainer container : parents) {
+            result.addAll(findAllParents(container.getUuid()));
+        }
+        return result;
+    }
+}
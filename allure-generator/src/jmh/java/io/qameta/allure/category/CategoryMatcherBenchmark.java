@@ -0,0 +1,143 @@
+/*
+ *  Copyright 2019 Qameta Software OÜ
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.category;
+
+import io.qameta.allure.entity.Status;
+import io.qameta.allure.entity.TestResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares matching of results against categories using {@link CategoriesPlugin#matches}
+ * (the way it was done before) with {@link CategoryMatcher}.
+ * <p>
+ * Categories model a typical categories.json: a few status-only categories, flaky
+ * categories, and many categories with message and trace regular expressions for
+ * known product and infrastructure issues. Failures are drawn from a limited set
+ * of distinct messages and traces, as results of real launches mostly repeat a
+ * small number of failure reasons.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CategoryMatcherBenchmark {
+
+    private static final int CATEGORIES_COUNT = 80;
+
+    private static final int DISTINCT_FAILURES = 500;
+
+    private static final String[] EXCEPTIONS = {
+        "org.openqa.selenium.TimeoutException",
+        "org.openqa.selenium.NoSuchElementException",
+        "java.lang.AssertionError",
+        "java.net.SocketTimeoutException",
+        "java.lang.NullPointerException",
+        "org.opentest4j.AssertionFailedError",
+    };
+
+    @Param({"1000", "50000"})
+    private int resultsCount;
+
+    private List<Category> categories;
+
+    private List<TestResult> results;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(42);
+        categories = new ArrayList<>();
+        categories.add(new Category().setName("Ignored tests")
+                .setMatchedStatuses(Collections.singletonList(Status.SKIPPED)));
+        categories.add(new Category().setName("Flaky tests").setFlaky(true));
+        categories.add(new Category().setName("Infrastructure problems")
+                .setMessageRegex(".*(Connection refused|timed out).*")
+                .setMatchedStatuses(Collections.singletonList(Status.BROKEN)));
+        categories.add(new Category().setName("Outdated tests")
+                .setTraceRegex(".*NoSuchElementException.*")
+                .setMatchedStatuses(Collections.singletonList(Status.BROKEN)));
+        for (int i = categories.size(); i < CATEGORIES_COUNT; i++) {
+            categories.add(new Category().setName("Known issue JIRA-" + i)
+                    .setMessageRegex(".*expected \\[" + i + "\\] but found.*")
+                    .setTraceRegex(".*at com\\.example\\.page\\.Page" + i + "\\..*")
+                    .setMatchedStatuses(Arrays.asList(Status.FAILED, Status.BROKEN)));
+        }
+        final List<TestResult> failures = new ArrayList<>();
+        for (int i = 0; i < DISTINCT_FAILURES; i++) {
+            final int page = random.nextInt(CATEGORIES_COUNT * 2);
+            final String exception = EXCEPTIONS[random.nextInt(EXCEPTIONS.length)];
+            failures.add(new TestResult()
+                    .setStatus(random.nextBoolean() ? Status.FAILED : Status.BROKEN)
+                    .setStatusMessage("expected [" + page + "] but found [" + (page + 1) + "]")
+                    .setStatusTrace(trace(exception, page)));
+        }
+        results = new ArrayList<>();
+        for (int i = 0; i < resultsCount; i++) {
+            final TestResult failure = failures.get(random.nextInt(DISTINCT_FAILURES));
+            results.add(new TestResult()
+                    .setStatus(failure.getStatus())
+                    .setStatusMessage(failure.getStatusMessage())
+                    .setStatusTrace(failure.getStatusTrace())
+                    .setFlaky(random.nextInt(20) == 0));
+        }
+    }
+
+    @Benchmark
+    public void compileEachTime(final Blackhole blackhole) {
+        for (TestResult result : results) {
+            for (Category category : categories) {
+                blackhole.consume(CategoriesPlugin.matches(result, category));
+            }
+        }
+    }
+
+    @Benchmark
+    public void matcher(final Blackhole blackhole) {
+        final CategoryMatcher matcher = new CategoryMatcher(categories);
+        for (TestResult result : results) {
+            blackhole.consume(matcher.match(result));
+        }
+    }
+
+    private static String trace(final String exception, final int page) {
+        final StringBuilder trace = new StringBuilder(exception).append(": failure\n");
+        trace.append("\tat com.example.page.Page").append(page).append(".open(Page.java:42)\n");
+        for (int frame = 0; frame < 40; frame++) {
+            trace.append("\tat org.junit.platform.engine.support.Frame").append(frame)
+                    .append(".execute(Frame.java:").append(frame + 10).append(")\n");
+        }
+        return trace.toString();
+    }
+}
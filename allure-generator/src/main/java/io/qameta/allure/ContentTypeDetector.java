@@ -0,0 +1,110 @@
+/*
+ *  Copyright 2019 Qameta Software OÜ
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure;
+
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.mime.MediaType;
+import org.apache.tika.mime.MimeTypes;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import static org.apache.commons.io.FilenameUtils.getExtension;
+
+/**
+ * Detects media type of attachment files. Tries the cheapest way first: declared
+ * type, then well known file extension, and only then reads small prefix of the
+ * file to detect the type by magic bytes. Results are not cached: the first two
+ * steps are cheap, and the last one costs about as much as any key computed from
+ * the file content.
+ *
+ * @since 2.14
+ */
+/* default */ final class ContentTypeDetector {
+
+    private static final Map<String, String> KNOWN_EXTENSIONS = new HashMap<>();
+
+    static {
+        KNOWN_EXTENSIONS.put("png", "image/png");
+        KNOWN_EXTENSIONS.put("jpg", "image/jpeg");
+        KNOWN_EXTENSIONS.put("jpeg", "image/jpeg");
+        KNOWN_EXTENSIONS.put("gif", "image/gif");
+        KNOWN_EXTENSIONS.put("svg", "image/svg+xml");
+        KNOWN_EXTENSIONS.put("mp4", "video/mp4");
+        KNOWN_EXTENSIONS.put("webm", "video/webm");
+        KNOWN_EXTENSIONS.put("txt", "text/plain");
+        KNOWN_EXTENSIONS.put("csv", "text/csv");
+        KNOWN_EXTENSIONS.put("html", "text/html");
+        KNOWN_EXTENSIONS.put("htm", "text/html");
+        KNOWN_EXTENSIONS.put("json", "application/json");
+        KNOWN_EXTENSIONS.put("xml", "application/xml");
+        KNOWN_EXTENSIONS.put("pdf", "application/pdf");
+        KNOWN_EXTENSIONS.put("zip", "application/zip");
+    }
+
+    private ContentTypeDetector() {
+        throw new IllegalStateException("Do not instance");
+    }
+
+    /**
+     * Detects media type of given file.
+     *
+     * @param path         the file to detect type of.
+     * @param declaredType the type declared by results, if any.
+     * @return detected media type.
+     * @throws IOException if file can not be read.
+     */
+    public static String detect(final Path path, final String declaredType) throws IOException {
+        final Optional<String> declared = Optional.ofNullable(declaredType)
+                .map(MediaType::parse)
+                .map(MediaType::toString);
+        if (declared.isPresent()) {
+            return declared.get();
+        }
+        final String name = Objects.toString(path.getFileName());
+        final String extension = getExtension(name).toLowerCase(Locale.ENGLISH);
+        final String known = KNOWN_EXTENSIONS.get(extension);
+        if (Objects.nonNull(known)) {
+            return known;
+        }
+        final MimeTypes mimeTypes = MimeTypes.getDefaultMimeTypes();
+        final byte[] prefix = readPrefix(path, mimeTypes.getMinLength());
+        final Metadata metadata = new Metadata();
+        metadata.set(Metadata.RESOURCE_NAME_KEY, name);
+        return mimeTypes.detect(new ByteArrayInputStream(prefix), metadata).toString();
+    }
+
+    private static byte[] readPrefix(final Path path, final int length) throws IOException {
+        try (InputStream stream = Files.newInputStream(path)) {
+            final byte[] buffer = new byte[length];
+            int total = 0;
+            int read;
+            while (total < length && (read = stream.read(buffer, total, length - total)) != -1) {
+                total += read;
+            }
+            return total == length ? buffer : Arrays.copyOf(buffer, total);
+        }
+    }
+}
@@ -28,21 +28,28 @@ import org.slf4j.LoggerFactory;
 import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.math.BigInteger;
 import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+import static io.qameta.allure.util.PropertyUtils.getProperty;
 import static java.nio.file.Files.newInputStream;
 import static java.nio.file.Files.size;
 import static org.apache.commons.io.FilenameUtils.getExtension;
 import static org.apache.tika.mime.MimeTypes.getDefaultMimeTypes;
 
 /**
+ * Thread-safe visitor, so readers are free to visit attachments and results
+ * from multiple threads.
+ *
  * @author charlie (Dmitry Baev).
  */
 @SuppressWarnings("MultipleStringLiterals")
@@ -52,8 +59,14 @@ public class DefaultResultsVisitor implements ResultsVisitor {
 
     public static final String WILDCARD = "*/*";
 
+    private static final String ALLURE_ATTACHMENTS_DEDUPLICATION = "ALLURE_ATTACHMENTS_DEDUPLICATION";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     private final Configuration configuration;
 
+    private final boolean deduplication;
+
     private final Map<Path, Attachment> attachments;
 
     private final Set<TestResult> results;
@@ -61,31 +74,76 @@ public class DefaultResultsVisitor implements ResultsVisitor {
     private final Map<String, Object> extra;
 
     public DefaultResultsVisitor(final Configuration configuration) {
+        this(
+                configuration,
+                getProperty(ALLURE_ATTACHMENTS_DEDUPLICATION).map(Boolean::parseBoolean).orElse(false)
+        );
+    }
+
+    /**
+     * Creates visitor that optionally names attachment files by hash of their content,
+     * so attachments with identical content share the same source file in report.
+     * Hashing is done while visiting, so it runs in reader threads.
+     *
+     * @param configuration the report configuration.
+     * @param deduplication true to name attachment files by content hash.
+     * @since 2.14
+     */
+    public DefaultResultsVisitor(final Configuration configuration, final boolean deduplication) {
         this.configuration = configuration;
-        this.results = new HashSet<>();
-        this.attachments = new HashMap<>();
-        this.extra = new HashMap<>();
+        this.deduplication = deduplication;
+        this.results = ConcurrentHashMap.newKeySet();
+        this.attachments = new ConcurrentHashMap<>();
+        this.extra = Collections.synchronizedMap(new HashMap<>());
     }
 
     @Override
     public Attachment visitAttachmentFile(final Path attachmentFile) {
+        return visitAttachmentFile(attachmentFile, null);
+    }
+
+    /**
+     * Visits attachment file. Type detection and hashing read the file, so they are done
+     * outside of the attachments map, and concurrent visits of other files do not wait
+     * for them. If the same file is visited concurrently, the first stored attachment wins.
+     */
+    @Override
+    public Attachment visitAttachmentFile(final Path attachmentFile, final String type) {
+        final Attachment visited = attachments.get(attachmentFile);
+        if (Objects.nonNull(visited)) {
+            return visited;
+        }
+        final Attachment created = createAttachment(attachmentFile, type);
+        final Attachment existing = attachments.putIfAbsent(attachmentFile, created);
+        return Objects.isNull(existing) ? created : existing;
+    }
+
+    /**
+     * Reuses attachment created before, unless the file is already visited.
+     */
+    @Override
+    public Attachment visitCachedAttachment(final Path attachmentFile, final Attachment attachment) {
+        final Attachment existing = attachments.putIfAbsent(attachmentFile, attachment);
+        return Objects.isNull(existing) ? attachment : existing;
+    }
+
+    private Attachment createAttachment(final Path file, final String type) {
         final RandomUidContext context = configuration.requireContext(RandomUidContext.class);
-        return attachments.computeIfAbsent(attachmentFile, file -> {
-            final String uid = context.getValue().get();
-            final String realType = probeContentType(file);
-            final String extension = Optional.of(getExtension(file.toString()))
-                    .filter(s -> !s.isEmpty())
-                    .map(s -> "." + s)
-                    .orElseGet(() -> getExtensionByMimeType(realType));
-            final String source = uid + (extension.isEmpty() ? "" : extension);
-            final Long size = getFileSizeSafe(file);
-            return new Attachment()
-                    .setUid(uid)
-                    .setName(file.getFileName().toString())
-                    .setSource(source)
-                    .setType(realType)
-                    .setSize(size);
-        });
+        final String uid = context.getValue().get();
+        final String realType = probeContentType(file, type);
+        final String extension = Optional.of(getExtension(file.toString()))
+                .filter(s -> !s.isEmpty())
+                .map(s -> "." + s)
+                .orElseGet(() -> getExtensionByMimeType(realType));
+        final String name = deduplication ? hashContent(file).orElse(uid) : uid;
+        final String source = name + (extension.isEmpty() ? "" : extension);
+        final Long size = getFileSizeSafe(file);
+        return new Attachment()
+                .setUid(uid)
+                .setName(file.getFileName().toString())
+                .setSource(source)
+                .setType(realType)
+                .setSize(size);
     }
 
     @Override
@@ -116,6 +174,10 @@ public class DefaultResultsVisitor implements ResultsVisitor {
         );
     }
 
+    /* default */ Map<String, Object> getExtra() {
+        return Collections.unmodifiableMap(extra);
+    }
+
     private static String getExtensionByMimeType(final String type) {
         try {
             return getDefaultMimeTypes().forName(type).getExtension();
@@ -125,9 +187,31 @@ public class DefaultResultsVisitor implements ResultsVisitor {
         }
     }
 
+    /**
+     * Detects media type of given file. Since 2.14 well known extensions take
+     * priority over file content, so a file named {@code *.png} is always detected
+     * as {@code image/png}. Use {@link #probeContentType(InputStream, String)} to
+     * detect the type by content only.
+     *
+     * @param path the file to detect type of.
+     * @return detected media type, or wildcard if type can not be detected.
+     */
     public static String probeContentType(final Path path) {
-        try (InputStream stream = newInputStream(path)) {
-            return probeContentType(stream, Objects.toString(path.getFileName()));
+        return probeContentType(path, null);
+    }
+
+    /**
+     * Detects media type of given file. Declared type takes priority, then well known
+     * extensions, and only otherwise type is detected by small prefix of the file.
+     *
+     * @param path         the file to detect type of.
+     * @param declaredType the type declared by results, can be null.
+     * @return detected media type, or wildcard if type can not be detected.
+     * @since 2.14
+     */
+    public static String probeContentType(final Path path, final String declaredType) {
+        try {
+            return ContentTypeDetector.detect(path, declaredType);
         } catch (IOException e) {
             LOGGER.warn("Couldn't detect the media type of attachment {} {}", path, e);
             return WILDCARD;
@@ -145,6 +229,21 @@ public class DefaultResultsVisitor implements ResultsVisitor {
         }
     }
 
+    private static Optional<String> hashContent(final Path path) {
+        try (InputStream stream = newInputStream(path)) {
+            final MessageDigest md = MessageDigest.getInstance("SHA-256");
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = stream.read(buffer)) != -1) {
+                md.update(buffer, 0, read);
+            }
+            return Optional.of(String.format("%064x", new BigInteger(1, md.digest())));
+        } catch (IOException | NoSuchAlgorithmException e) {
+            LOGGER.warn("Could not hash the content of attachment {} {}", path, e);
+            return Optional.empty();
+        }
+    }
+
     private static Long getFileSizeSafe(final Path path) {
         try {
             return size(path);
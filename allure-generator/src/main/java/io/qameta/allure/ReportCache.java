@@ -0,0 +1,489 @@
+/*
+ *  Copyright 2019 Qameta Software OÜ
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.qameta.allure.context.ResultFilesCache;
+import io.qameta.allure.core.Configuration;
+import io.qameta.allure.core.LaunchResults;
+import io.qameta.allure.core.Plugin;
+import io.qameta.allure.entity.Attachment;
+import io.qameta.allure.entity.TestResult;
+import lombok.Data;
+import lombok.experimental.Accessors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Cache used for incremental report generation. Keeps manifest with fingerprints
+ * of results directories and digests of generated report files. Results of
+ * directories that are not changed since previous generation are loaded from cache
+ * instead of being parsed again. Results of changed directories are read again, and
+ * readers that use {@link ResultFilesCache} parse only new and changed files, since
+ * the content of result files is cached as well. Report is generated to staging
+ * directory, and only files that differ from previous generation are moved to the
+ * report directory.
+ *
+ * Cached data is Java-serialized, so manifest keeps a key made of the cache format,
+ * generator version, configured plugins and Allure environment settings. Cache with
+ * another key is not used.
+ *
+ * @since 2.14
+ */
+/* default */ class ReportCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReportCache.class);
+
+    private static final String MANIFEST_FILE_NAME = "manifest.json";
+
+    private static final String RESULT_FILES_FILE_NAME = "files.bin";
+
+    private static final String FORMAT_VERSION = "2";
+
+    private static final String SETTINGS_PREFIX = "ALLURE_";
+
+    private static final String LAUNCHES_DIR = "launches";
+
+    private static final String STAGING_DIR = "staging";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path directory;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final String key;
+
+    private final Manifest previous;
+
+    private final ResultFilesCache resultFiles;
+
+    private final Map<String, String> inputs = new ConcurrentHashMap<>();
+
+    private final Set<Path> directories = ConcurrentHashMap.newKeySet();
+
+    /* default */ ReportCache(final Path directory, final String key) throws IOException {
+        this(directory, key, new ResultFilesCache());
+    }
+
+    /**
+     * Opens cache in given directory. Cached content of result files is read into
+     * given result files cache if it is empty.
+     *
+     * @param directory   the cache directory.
+     * @param key         the key of generator version and configuration.
+     * @param resultFiles the cache of result files used by readers.
+     * @throws IOException if cache directory can not be created.
+     */
+    /* default */ ReportCache(final Path directory, final String key, final ResultFilesCache resultFiles)
+            throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.key = key;
+        this.resultFiles = resultFiles;
+        final Path manifest = directory.resolve(MANIFEST_FILE_NAME);
+        this.previous = Files.exists(manifest)
+                ? readManifest(manifest)
+                : new Manifest().setKey(key);
+        if (key.equals(previous.getKey()) && resultFiles.size() == 0) {
+            readResultFiles();
+        }
+    }
+
+    /**
+     * Creates key of generator version and configuration. Cache with another key may
+     * contain results serialized by another version or read with other settings.
+     *
+     * @param configuration the report configuration.
+     * @return the key.
+     */
+    /* default */ static String createKey(final Configuration configuration) {
+        final Map<String, String> parts = new TreeMap<>();
+        parts.put("format", FORMAT_VERSION);
+        parts.put("version", Optional.ofNullable(ReportCache.class.getPackage())
+                .map(Package::getImplementationVersion)
+                .orElse("undefined"));
+        parts.put("readers", configuration.getReaders().stream()
+                .map(reader -> reader.getClass().getName())
+                .collect(Collectors.joining(",")));
+        parts.put("aggregators", configuration.getAggregators().stream()
+                .map(aggregator -> aggregator.getClass().getName())
+                .collect(Collectors.joining(",")));
+        parts.put("plugins", configuration.getPlugins().stream()
+                .map(Plugin::getConfig)
+                .map(PluginConfiguration::getId)
+                .collect(Collectors.joining(",")));
+        System.getenv().forEach((name, value) -> {
+            if (name.startsWith(SETTINGS_PREFIX)) {
+                parts.put(name, value);
+            }
+        });
+        final MessageDigest md = createDigest("SHA-256");
+        parts.forEach((name, value) -> {
+            md.update(name.getBytes(UTF_8));
+            md.update((byte) 0);
+            md.update(String.valueOf(value).getBytes(UTF_8));
+            md.update((byte) 0);
+        });
+        return toHex(md.digest());
+    }
+
+    private Manifest readManifest(final Path manifest) {
+        try {
+            final Manifest read = mapper.readValue(manifest.toFile(), Manifest.class);
+            if (key.equals(read.getKey())) {
+                return read;
+            }
+            LOGGER.info("Cache {} is created by another version or configuration, "
+                    + "report will be generated from scratch", directory);
+        } catch (IOException e) {
+            LOGGER.warn("Could not read cache manifest {}, report will be generated from scratch", manifest, e);
+        }
+        return new Manifest().setKey(key);
+    }
+
+    private void readResultFiles() {
+        final Path file = directory.resolve(RESULT_FILES_FILE_NAME);
+        if (Files.notExists(file)) {
+            return;
+        }
+        try (ObjectInputStream is = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            resultFiles.read(is);
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            LOGGER.warn("Could not read cached result files {}", file, e);
+        }
+    }
+
+    private void writeResultFiles() {
+        final Path file = directory.resolve(RESULT_FILES_FILE_NAME);
+        resultFiles.retainDirectories(directories);
+        try (ObjectOutputStream os = new ObjectOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(file)))) {
+            resultFiles.write(os);
+        } catch (IOException e) {
+            LOGGER.warn("Could not cache result files", e);
+            deleteQuietly(file);
+        }
+    }
+
+    /**
+     * Checks if report in given directory is generated from the same results directories
+     * with the same configuration, and none of results directories and report files
+     * are changed since, so there is nothing to update.
+     *
+     * @param resultsDirectories the results directories.
+     * @param outputDirectory    the report directory.
+     * @return true if report is up to date.
+     */
+    public boolean isUpToDate(final List<Path> resultsDirectories, final Path outputDirectory) {
+        final Map<String, String> current = new HashMap<>();
+        for (Path resultsDirectory : resultsDirectories) {
+            current.put(resultsDirectory.toAbsolutePath().normalize().toString(), fingerprint(resultsDirectory));
+        }
+        return !previous.getOutputs().isEmpty()
+                && current.equals(previous.getInputs())
+                && previous.getOutputs().keySet().stream()
+                .allMatch(name -> Files.exists(outputDirectory.resolve(name)));
+    }
+
+    /**
+     * Returns cache of result files that readers should use, so only new and changed
+     * files of changed results directories are parsed.
+     *
+     * @return the result files cache.
+     */
+    public ResultFilesCache getResultFiles() {
+        return resultFiles;
+    }
+
+    /**
+     * Passes cached results of given directory to the visitor, if directory is not changed
+     * since previous generation. Results are read one by one, so visitor that spills stages
+     * of results keeps only compact results in memory, the same as when parsing.
+     *
+     * @param resultsDirectory the results directory.
+     * @param visitor          the visitor to pass cached results to.
+     * @return true if cached results are passed to the visitor, false if there is no valid
+     *     cache for the directory. Visitor may have received part of results in this case.
+     */
+    public boolean load(final Path resultsDirectory, final DefaultResultsVisitor visitor) {
+        final String name = resultsDirectory.toAbsolutePath().normalize().toString();
+        final String fingerprint = fingerprint(resultsDirectory);
+        inputs.put(name, fingerprint);
+        directories.add(resultsDirectory);
+        final Path file = getLaunchFile(name);
+        if (!fingerprint.equals(previous.getInputs().get(name)) || Files.notExists(file)) {
+            return false;
+        }
+        try (ObjectInputStream is = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            @SuppressWarnings("unchecked")
+            final Map<String, Attachment> attachments = (Map<String, Attachment>) is.readObject();
+            if (attachments.keySet().stream().map(Paths::get).anyMatch(Files::notExists)) {
+                LOGGER.debug("Cached results of {} refer to deleted attachment files", resultsDirectory);
+                return false;
+            }
+            @SuppressWarnings("unchecked")
+            final Map<String, Object> extra = (Map<String, Object>) is.readObject();
+            attachments.forEach((path, attachment) -> visitor.visitCachedAttachment(Paths.get(path), attachment));
+            extra.forEach(visitor::visitExtra);
+            final int count = is.readInt();
+            for (int i = 0; i < count; i++) {
+                visitor.visitTestResult((TestResult) is.readObject());
+            }
+            LOGGER.debug("Using cached results of {}", resultsDirectory);
+            return true;
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            LOGGER.warn("Could not read cached results of {}", resultsDirectory, e);
+            return false;
+        }
+    }
+
+    /**
+     * Stores just read results of given directory to cache. Attachments files kept outside
+     * of results directory, such as spilled system output, may be deleted once report is
+     * generated, so cached results are not used if any attachment file is missing.
+     *
+     * @param resultsDirectory the results directory.
+     * @param launch           the results read from the directory.
+     * @param extra            the extra blocks read from the directory.
+     */
+    public void store(final Path resultsDirectory, final LaunchResults launch, final Map<String, Object> extra) {
+        final String name = resultsDirectory.toAbsolutePath().normalize().toString();
+        final Path file = getLaunchFile(name);
+        final Map<String, Attachment> attachments = new HashMap<>();
+        launch.getAttachments().forEach((path, attachment) -> attachments.put(path.toString(), attachment));
+        try {
+            Files.createDirectories(file.getParent());
+            try (ObjectOutputStream os = new ObjectOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(file)))) {
+                os.writeObject(attachments);
+                os.writeObject(new HashMap<>(extra));
+                os.writeInt(launch.getAllResults().size());
+                for (TestResult result : launch.getAllResults()) {
+                    os.writeObject(launch.withStages(result));
+                    os.reset();
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Could not cache results of {}", resultsDirectory, e);
+            inputs.remove(name);
+            deleteQuietly(file);
+        }
+    }
+
+    /**
+     * Creates empty staging directory to generate report to.
+     *
+     * @return the staging directory.
+     * @throws IOException if any occurs.
+     */
+    public Path createStaging() throws IOException {
+        final Path staging = directory.resolve(STAGING_DIR);
+        deleteRecursively(staging);
+        return Files.createDirectories(staging);
+    }
+
+    /**
+     * Moves files that differ from previous generation from staging to report directory,
+     * removes files of previous generation that are not generated anymore and saves
+     * the manifest and cached result files. Files are hashed only if their size is the
+     * same as in previous generation.
+     *
+     * @param staging         the staging directory.
+     * @param outputDirectory the report directory.
+     * @throws IOException if any occurs.
+     */
+    public void publish(final Path staging, final Path outputDirectory) throws IOException {
+        final Map<String, Output> outputs = new HashMap<>();
+        final List<Path> files;
+        try (Stream<Path> stream = Files.walk(staging)) {
+            files = stream.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+        int updated = 0;
+        for (Path file : files) {
+            final String name = staging.relativize(file).toString().replace('\\', '/');
+            final Output output = new Output().setSize(Files.size(file));
+            outputs.put(name, output);
+            final Path target = outputDirectory.resolve(name);
+            if (isChanged(file, output, previous.getOutputs().get(name), target)) {
+                Files.createDirectories(target.getParent());
+                Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+                updated++;
+            }
+        }
+        for (String name : previous.getOutputs().keySet()) {
+            if (!outputs.containsKey(name)) {
+                Files.deleteIfExists(outputDirectory.resolve(name));
+            }
+        }
+        LOGGER.info("Report is updated: {} of {} files changed", updated, files.size());
+        deleteRecursively(staging);
+        final Set<String> obsolete = new HashSet<>(previous.getInputs().keySet());
+        obsolete.removeAll(inputs.keySet());
+        obsolete.forEach(name -> deleteQuietly(getLaunchFile(name)));
+        writeResultFiles();
+        mapper.writeValue(
+                directory.resolve(MANIFEST_FILE_NAME).toFile(),
+                new Manifest().setKey(key).setInputs(new HashMap<>(inputs)).setOutputs(outputs)
+        );
+    }
+
+    /**
+     * Compares file with the same file of previous generation. If previous file was not
+     * hashed when published, it is hashed from the report directory.
+     */
+    private static boolean isChanged(final Path file, final Output output,
+                                     final Output previousOutput, final Path target) throws IOException {
+        if (Objects.isNull(previousOutput) || previousOutput.getSize() != output.getSize()
+                || Files.notExists(target)) {
+            return true;
+        }
+        output.setDigest(digest(file));
+        final String previousDigest = Objects.isNull(previousOutput.getDigest())
+                ? digest(target)
+                : previousOutput.getDigest();
+        return !output.getDigest().equals(previousDigest);
+    }
+
+    private Path getLaunchFile(final String name) {
+        return directory.resolve(LAUNCHES_DIR).resolve(toHex(md5(name.getBytes(UTF_8))) + ".bin");
+    }
+
+    private static String fingerprint(final Path resultsDirectory) {
+        final MessageDigest md = createDigest("SHA-256");
+        try (Stream<Path> stream = Files.walk(resultsDirectory)) {
+            final List<Path> files = stream.filter(Files::isRegularFile)
+                    .sorted(Comparator.comparing(Path::toString))
+                    .collect(Collectors.toList());
+            for (Path file : files) {
+                md.update(resultsDirectory.relativize(file).toString().getBytes(UTF_8));
+                md.update(Long.toString(Files.size(file)).getBytes(UTF_8));
+                md.update(Long.toString(Files.getLastModifiedTime(file).toMillis()).getBytes(UTF_8));
+            }
+            return toHex(md.digest());
+        } catch (IOException e) {
+            LOGGER.warn("Could not calculate fingerprint of {}", resultsDirectory, e);
+            return "";
+        }
+    }
+
+    private static String digest(final Path file) throws IOException {
+        final MessageDigest md = createDigest("SHA-256");
+        try (InputStream is = Files.newInputStream(file)) {
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = is.read(buffer)) != -1) {
+                md.update(buffer, 0, read);
+            }
+        }
+        return toHex(md.digest());
+    }
+
+    private static byte[] md5(final byte[] bytes) {
+        return createDigest("MD5").digest(bytes);
+    }
+
+    private static MessageDigest createDigest(final String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Can not find hashing algorithm", e);
+        }
+    }
+
+    private static String toHex(final byte[] bytes) {
+        final StringBuilder builder = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            builder.append(String.format("%02x", b));
+        }
+        return builder.toString();
+    }
+
+    private static void deleteRecursively(final Path path) throws IOException {
+        if (Files.notExists(path)) {
+            return;
+        }
+        try (Stream<Path> stream = Files.walk(path)) {
+            final List<Path> paths = stream.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+            for (Path item : paths) {
+                Files.delete(item);
+            }
+        }
+    }
+
+    private static void deleteQuietly(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOGGER.debug("Could not delete {}", file, e);
+        }
+    }
+
+    /**
+     * Key of generator version and configuration, fingerprints of results directories
+     * and sizes and digests of report files.
+     */
+    @Data
+    @Accessors(chain = true)
+    /* default */ static class Manifest {
+
+        private String key;
+
+        private Map<String, String> inputs = new HashMap<>();
+
+        private Map<String, Output> outputs = new HashMap<>();
+
+    }
+
+    /**
+     * Size of report file, and its digest if it was calculated.
+     */
+    @Data
+    @Accessors(chain = true)
+    /* default */ static class Output {
+
+        private long size;
+
+        private String digest;
+
+    }
+}
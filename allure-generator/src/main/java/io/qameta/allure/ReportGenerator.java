@@ -15,18 +15,34 @@
  */
 package io.qameta.allure;
 
+import io.qameta.allure.ResultsAggregator.ResultsCollector;
+import io.qameta.allure.context.ReaderPoolContext;
+import io.qameta.allure.context.ResultFilesCache;
+import io.qameta.allure.context.ResultFilesContext;
 import io.qameta.allure.core.Configuration;
 import io.qameta.allure.core.LaunchResults;
+import io.qameta.allure.core.Plugin;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static io.qameta.allure.util.PropertyUtils.getProperty;
+
 /**
  * @author charlie (Dmitry Baev).
  */
@@ -34,23 +50,153 @@ public class ReportGenerator {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ReportGenerator.class);
 
+    private static final String ALLURE_READER_THREADS = "ALLURE_READER_THREADS";
+
+    private static final String ALLURE_SPILL_DIRECTORY = "ALLURE_SPILL_DIRECTORY";
+
+    private static final String ALLURE_AGGREGATOR_THREADS = "ALLURE_AGGREGATOR_THREADS";
+
+    private static final String ALLURE_CACHE_DIRECTORY = "ALLURE_CACHE_DIRECTORY";
+
     private final Configuration configuration;
 
+    private final int readerThreads;
+
+    private final Path spillDirectory;
+
+    private final int aggregatorThreads;
+
+    private final Path cacheDirectory;
+
     public ReportGenerator(final Configuration configuration) {
+        this(configuration, getProperty(ALLURE_CACHE_DIRECTORY).map(Paths::get).orElse(null));
+    }
+
+    /**
+     * Creates report generator that keeps cache in the given directory. The rest of
+     * settings are read from environment.
+     *
+     * @param configuration  the report configuration.
+     * @param cacheDirectory the directory to keep cache in, or null to generate report from scratch.
+     * @since 2.14
+     */
+    public ReportGenerator(final Configuration configuration, final Path cacheDirectory) {
+        this(
+                configuration,
+                getProperty(ALLURE_READER_THREADS).map(Integer::parseInt).orElse(1),
+                getProperty(ALLURE_SPILL_DIRECTORY).map(Paths::get).orElse(null),
+                getProperty(ALLURE_AGGREGATOR_THREADS).map(Integer::parseInt).orElse(1),
+                cacheDirectory
+        );
+    }
+
+    /**
+     * Creates report generator that reads results using given number of threads.
+     * Results directories are read concurrently, and readers that parse files in parallel
+     * (such as Allure 2 results reader) use the same pool, provided to them by
+     * {@link ReaderPoolContext}.
+     *
+     * @param configuration the report configuration.
+     * @param readerThreads the number of threads used to read results.
+     */
+    public ReportGenerator(final Configuration configuration, final int readerThreads) {
+        this(configuration, readerThreads, null);
+    }
+
+    /**
+     * Creates report generator that reads results using given number of threads
+     * and moves stages of test results to the given directory while reading, so
+     * only compact results are kept in memory during aggregation.
+     *
+     * @param configuration  the report configuration.
+     * @param readerThreads  the number of threads used to read results.
+     * @param spillDirectory the directory to store stages of results, or null to keep them in memory.
+     */
+    public ReportGenerator(final Configuration configuration,
+                           final int readerThreads,
+                           final Path spillDirectory) {
+        this(configuration, readerThreads, spillDirectory, 1);
+    }
+
+    /**
+     * Creates report generator that additionally runs consecutive {@link ReadOnlyAggregator}s
+     * concurrently using given number of threads.
+     *
+     * @param configuration     the report configuration.
+     * @param readerThreads     the number of threads used to read results.
+     * @param spillDirectory    the directory to store stages of results, or null to keep them in memory.
+     * @param aggregatorThreads the number of threads used to run read-only aggregators.
+     */
+    public ReportGenerator(final Configuration configuration,
+                           final int readerThreads,
+                           final Path spillDirectory,
+                           final int aggregatorThreads) {
+        this(configuration, readerThreads, spillDirectory, aggregatorThreads, null);
+    }
+
+    /**
+     * Creates report generator that additionally keeps cache in the given directory, so
+     * subsequent generations with the same cache and report directories skip parsing of
+     * unchanged results directories and only rewrite report files that have changed.
+     * Readers that support it parse only new and changed files of changed results
+     * directories. Aggregators build cross-result data such as trees and history, so
+     * they are run over all the results if any results directory is changed, and are
+     * not run at all if nothing is changed.
+     *
+     * @param configuration     the report configuration.
+     * @param readerThreads     the number of threads used to read results.
+     * @param spillDirectory    the directory to store stages of results, or null to keep them in memory.
+     * @param aggregatorThreads the number of threads used to run read-only aggregators.
+     * @param cacheDirectory    the directory to keep cache in, or null to generate report from scratch.
+     * @since 2.14
+     */
+    public ReportGenerator(final Configuration configuration,
+                           final int readerThreads,
+                           final Path spillDirectory,
+                           final int aggregatorThreads,
+                           final Path cacheDirectory) {
         this.configuration = configuration;
+        this.readerThreads = readerThreads;
+        this.spillDirectory = spillDirectory;
+        this.aggregatorThreads = aggregatorThreads;
+        this.cacheDirectory = cacheDirectory;
     }
 
     public LaunchResults readResults(final Path resultsDirectory) {
-        final DefaultResultsVisitor visitor = new DefaultResultsVisitor(configuration);
-        configuration
-                .getReaders()
-                .forEach(reader -> reader.readResults(configuration, visitor, resultsDirectory));
-        return visitor.getLaunchResults();
+        return visitResults(configuration, resultsDirectory).getLaunchResults();
     }
 
+    /**
+     * Runs all the configured aggregators in order. Consecutive {@link ResultsAggregator}s
+     * share a single pass over the results, other aggregators are run as is. If more than
+     * one aggregator thread is configured, each run of consecutive {@link ReadOnlyAggregator}s
+     * is run concurrently, and the rest of aggregators wait for all the previous ones.
+     *
+     * @param results         all the parsed test results.
+     * @param outputDirectory the report directory.
+     * @throws IOException if any occurs.
+     */
     public void aggregate(final List<LaunchResults> results, final Path outputDirectory) throws IOException {
-        for (Aggregator aggregator : configuration.getAggregators()) {
-            aggregator.aggregate(configuration, results, outputDirectory);
+        if (aggregatorThreads <= 1) {
+            aggregate(configuration.getAggregators(), results, outputDirectory);
+            return;
+        }
+        final ForkJoinPool pool = new ForkJoinPool(aggregatorThreads);
+        try {
+            final List<Aggregator> phase = new ArrayList<>();
+            boolean readOnly = false;
+            for (Aggregator aggregator : configuration.getAggregators()) {
+                final boolean current = aggregator instanceof ReadOnlyAggregator;
+                if (current != readOnly) {
+                    aggregate(pool, readOnly, phase, results, outputDirectory);
+                    phase.clear();
+                    readOnly = current;
+                }
+                phase.add(aggregator);
+            }
+            aggregate(pool, readOnly, phase, results, outputDirectory);
+        } finally {
+            pool.shutdown();
         }
     }
 
@@ -63,11 +209,188 @@ public class ReportGenerator {
     }
 
     private void generate(final Path outputDirectory, final Stream<Path> resultsDirectories) throws IOException {
-        final List<LaunchResults> results = resultsDirectories
+        final List<Path> directories = resultsDirectories
                 .filter(this::isValidResultsDirectory)
-                .map(this::readResults)
                 .collect(Collectors.toList());
-        aggregate(results, outputDirectory);
+        final ReportCache cache = Objects.isNull(cacheDirectory) ? null : createCache();
+        if (Objects.nonNull(cache) && cache.isUpToDate(directories, outputDirectory)) {
+            LOGGER.info("Report {} is up to date", outputDirectory);
+            return;
+        }
+        final List<LaunchResults> results = readResults(directories, cache);
+        try {
+            if (Objects.isNull(cache)) {
+                aggregate(results, outputDirectory);
+            } else {
+                final Path staging = cache.createStaging();
+                aggregate(results, staging);
+                cache.publish(staging, outputDirectory);
+            }
+        } finally {
+            for (LaunchResults launch : results) {
+                if (launch instanceof Closeable) {
+                    ((Closeable) launch).close();
+                }
+            }
+        }
+    }
+
+    private void aggregate(final List<Aggregator> aggregators,
+                           final List<LaunchResults> results,
+                           final Path outputDirectory) throws IOException {
+        final List<ResultsAggregator> pending = new ArrayList<>();
+        for (Aggregator aggregator : aggregators) {
+            if (aggregator instanceof ResultsAggregator) {
+                pending.add((ResultsAggregator) aggregator);
+            } else {
+                collect(pending, results, outputDirectory);
+                pending.clear();
+                aggregator.aggregate(configuration, results, outputDirectory);
+            }
+        }
+        collect(pending, results, outputDirectory);
+    }
+
+    private void aggregate(final ForkJoinPool pool,
+                           final boolean readOnly,
+                           final List<Aggregator> aggregators,
+                           final List<LaunchResults> results,
+                           final Path outputDirectory) throws IOException {
+        if (!readOnly || aggregators.size() <= 1) {
+            aggregate(aggregators, results, outputDirectory);
+            return;
+        }
+        final List<ResultsAggregator> pass = new ArrayList<>();
+        final List<Callable<Void>> tasks = new ArrayList<>();
+        for (Aggregator aggregator : aggregators) {
+            if (aggregator instanceof ResultsAggregator) {
+                pass.add((ResultsAggregator) aggregator);
+            } else {
+                tasks.add(() -> {
+                    aggregator.aggregate(configuration, results, outputDirectory);
+                    return null;
+                });
+            }
+        }
+        if (!pass.isEmpty()) {
+            tasks.add(() -> {
+                collect(pass, results, outputDirectory);
+                return null;
+            });
+        }
+        for (Future<Void> task : pool.invokeAll(tasks)) {
+            await(task);
+        }
+    }
+
+    private static void await(final Future<Void> task) throws IOException {
+        try {
+            task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ReportGenerationException("Aggregation is interrupted", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new ReportGenerationException("Could not aggregate results", cause);
+        }
+    }
+
+    private void collect(final List<ResultsAggregator> aggregators,
+                         final List<LaunchResults> results,
+                         final Path outputDirectory) throws IOException {
+        if (aggregators.isEmpty()) {
+            return;
+        }
+        final List<ResultsCollector> collectors = aggregators.stream()
+                .map(aggregator -> aggregator.createCollector(configuration, results))
+                .collect(Collectors.toList());
+        ResultsAggregator.collect(results, collectors);
+        for (ResultsCollector collector : collectors) {
+            collector.finish(outputDirectory);
+        }
+    }
+
+    private DefaultResultsVisitor visitResults(final Configuration readers, final Path resultsDirectory) {
+        final DefaultResultsVisitor visitor = createVisitor();
+        readers
+                .getReaders()
+                .forEach(reader -> reader.readResults(readers, visitor, resultsDirectory));
+        return visitor;
+    }
+
+    private LaunchResults readResults(final Configuration readers,
+                                      final Path resultsDirectory,
+                                      final ReportCache cache) {
+        if (Objects.isNull(cache)) {
+            return visitResults(readers, resultsDirectory).getLaunchResults();
+        }
+        final DefaultResultsVisitor cached = createVisitor();
+        if (cache.load(resultsDirectory, cached)) {
+            return cached.getLaunchResults();
+        }
+        close(cached.getLaunchResults());
+        final Configuration withFiles = readers.getContext(ResultFilesContext.class).isPresent()
+                ? readers
+                : new ContextConfiguration(readers, new ResultFilesContext(cache.getResultFiles()));
+        final DefaultResultsVisitor visitor = visitResults(withFiles, resultsDirectory);
+        final LaunchResults launch = visitor.getLaunchResults();
+        cache.store(resultsDirectory, launch, visitor.getExtra());
+        return launch;
+    }
+
+    private static void close(final LaunchResults launch) {
+        if (launch instanceof Closeable) {
+            try {
+                ((Closeable) launch).close();
+            } catch (IOException e) {
+                LOGGER.debug("Could not close results", e);
+            }
+        }
+    }
+
+    private ReportCache createCache() throws IOException {
+        final ResultFilesCache resultFiles = configuration.getContext(ResultFilesContext.class)
+                .map(ResultFilesContext::getValue)
+                .orElseGet(ResultFilesCache::new);
+        return new ReportCache(cacheDirectory, ReportCache.createKey(configuration), resultFiles);
+    }
+
+    private DefaultResultsVisitor createVisitor() {
+        if (Objects.isNull(spillDirectory)) {
+            return new DefaultResultsVisitor(configuration);
+        }
+        try {
+            return new SpillingResultsVisitor(configuration, new TestResultStagesStore(spillDirectory));
+        } catch (IOException e) {
+            throw new ReportGenerationException("Could not create results store in " + spillDirectory, e);
+        }
+    }
+
+    private List<LaunchResults> readResults(final List<Path> resultsDirectories, final ReportCache cache) {
+        if (readerThreads <= 1) {
+            return resultsDirectories.stream()
+                    .map(directory -> readResults(configuration, directory, cache))
+                    .collect(Collectors.toList());
+        }
+        final ForkJoinPool pool = new ForkJoinPool(readerThreads);
+        final Configuration readers = new ContextConfiguration(configuration, new ReaderPoolContext(pool));
+        try {
+            return pool.submit(() -> resultsDirectories.parallelStream()
+                    .map(directory -> readResults(readers, directory, cache))
+                    .collect(Collectors.toList())
+            ).join();
+        } finally {
+            pool.shutdown();
+        }
     }
 
     private boolean isValidResultsDirectory(final Path resultsDirectory) {
@@ -81,4 +404,42 @@ public class ReportGenerator {
         }
         return true;
     }
+
+    /**
+     * Configuration that provides additional context to readers, such as result files
+     * cache of report cache or reader pool.
+     */
+    private static final class ContextConfiguration implements Configuration {
+
+        private final Configuration delegate;
+
+        private final Context<?> context;
+
+        /* default */ ContextConfiguration(final Configuration delegate, final Context<?> context) {
+            this.delegate = delegate;
+            this.context = context;
+        }
+
+        @Override
+        public List<Plugin> getPlugins() {
+            return delegate.getPlugins();
+        }
+
+        @Override
+        public List<Aggregator> getAggregators() {
+            return delegate.getAggregators();
+        }
+
+        @Override
+        public List<Reader> getReaders() {
+            return delegate.getReaders();
+        }
+
+        @Override
+        public <T> Optional<T> getContext(final Class<T> contextType) {
+            return contextType.isInstance(context)
+                    ? Optional.of(contextType.cast(context))
+                    : delegate.getContext(contextType);
+        }
+    }
 }
@@ -0,0 +1,71 @@
+/*
+ *  Copyright 2019 Qameta Software OÜ
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure;
+
+import io.qameta.allure.core.LaunchResults;
+import io.qameta.allure.entity.Attachment;
+import io.qameta.allure.entity.TestResult;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Implementation of {@link LaunchResults} that keeps results without stages
+ * in memory and loads stages from {@link TestResultStagesStore} on demand.
+ *
+ * @since 2.14
+ */
+public class SpillingLaunchResults implements LaunchResults, Closeable {
+
+    private final LaunchResults delegate;
+
+    private final TestResultStagesStore store;
+
+    public SpillingLaunchResults(final LaunchResults delegate,
+                                 final TestResultStagesStore store) {
+        this.delegate = delegate;
+        this.store = store;
+    }
+
+    @Override
+    public Set<TestResult> getAllResults() {
+        return delegate.getAllResults();
+    }
+
+    @Override
+    public TestResult withStages(final TestResult result) {
+        return store.load(result);
+    }
+
+    @Override
+    public Map<Path, Attachment> getAttachments() {
+        return delegate.getAttachments();
+    }
+
+    @Override
+    public <T> Optional<T> getExtra(final String name) {
+        return delegate.getExtra(name);
+    }
+
+    @Override
+    public void close() throws IOException {
+        store.close();
+    }
+}
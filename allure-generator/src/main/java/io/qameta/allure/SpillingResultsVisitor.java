@@ -0,0 +1,48 @@
+/*
+ *  Copyright 2019 Qameta Software OÜ
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure;
+
+import io.qameta.allure.core.Configuration;
+import io.qameta.allure.core.LaunchResults;
+import io.qameta.allure.entity.TestResult;
+
+/**
+ * Results visitor that moves stages of visited results to {@link TestResultStagesStore},
+ * so only compact results are kept in memory.
+ *
+ * @since 2.14
+ */
+public class SpillingResultsVisitor extends DefaultResultsVisitor {
+
+    private final TestResultStagesStore store;
+
+    public SpillingResultsVisitor(final Configuration configuration,
+                                  final TestResultStagesStore store) {
+        super(configuration);
+        this.store = store;
+    }
+
+    @Override
+    public void visitTestResult(final TestResult result) {
+        store.put(result);
+        super.visitTestResult(result);
+    }
+
+    @Override
+    public LaunchResults getLaunchResults() {
+        return new SpillingLaunchResults(super.getLaunchResults(), store);
+    }
+}
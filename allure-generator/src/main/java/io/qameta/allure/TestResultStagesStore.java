@@ -0,0 +1,212 @@
+/*
+ *  Copyright 2019 Qameta Software OÜ
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure;
+
+import io.qameta.allure.entity.StageResult;
+import io.qameta.allure.entity.TestResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * File backed storage for execution stages of test results. Stages (that contain
+ * full step trees with attachments and parameters) usually take most of the memory
+ * used by test results, so they are written to disk when result is visited and
+ * loaded back only when needed.
+ *
+ * @since 2.14
+ */
+public class TestResultStagesStore implements Closeable {
+
+    private static final int LENGTH_BYTES = Integer.BYTES;
+
+    private static final ClassValue<List<Field>> FIELDS = new ClassValue<List<Field>>() {
+        @Override
+        protected List<Field> computeValue(final Class<?> type) {
+            final List<Field> fields = new ArrayList<>();
+            for (Class<?> current = type; !Object.class.equals(current); current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers())) {
+                        field.setAccessible(true);
+                        fields.add(field);
+                    }
+                }
+            }
+            return fields;
+        }
+    };
+
+    private final Path file;
+
+    private final FileChannel channel;
+
+    private final Map<String, Long> positions = new ConcurrentHashMap<>();
+
+    private long size;
+
+    public TestResultStagesStore(final Path directory) throws IOException {
+        this.file = Files.createTempFile(Files.createDirectories(directory), "stages", ".bin");
+        this.channel = FileChannel.open(file,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE
+        );
+    }
+
+    /**
+     * Writes stages of given result to disk and removes them from the result.
+     *
+     * @param result the result to process.
+     */
+    public void put(final TestResult result) {
+        final byte[] bytes = serialize(new Stages(result));
+        final ByteBuffer buffer = ByteBuffer.allocate(LENGTH_BYTES + bytes.length)
+                .putInt(bytes.length)
+                .put(bytes);
+        buffer.flip();
+        synchronized (this) {
+            final long position = size;
+            try {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer, position + buffer.position());
+                }
+            } catch (IOException e) {
+                throw new ReportGenerationException("Could not write stages of test result " + result.getUid(), e);
+            }
+            size += buffer.limit();
+            positions.put(result.getUid(), position);
+        }
+        result.setBeforeStages(new ArrayList<>());
+        result.setTestStage(null);
+        result.setAfterStages(new ArrayList<>());
+    }
+
+    /**
+     * Returns copy of given result with stages loaded from disk. The copy is shallow:
+     * all the fields of the result (including fields of subclasses) are copied as is,
+     * so the copy shares labels, parameters and extra blocks with the result. The copy
+     * is not retained by the store.
+     *
+     * @param result the result to load stages for.
+     * @return the copy of result with stages or the result itself if its stages are not stored.
+     */
+    public TestResult load(final TestResult result) {
+        final Long position = positions.get(result.getUid());
+        if (Objects.isNull(position)) {
+            return result;
+        }
+        final Stages stages = deserialize(read(position));
+        return copyOf(result)
+                .setBeforeStages(stages.before)
+                .setTestStage(stages.test)
+                .setAfterStages(stages.after);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+        Files.deleteIfExists(file);
+    }
+
+    private static TestResult copyOf(final TestResult result) {
+        try {
+            final Constructor<? extends TestResult> constructor = result.getClass().getDeclaredConstructor();
+            constructor.setAccessible(true);
+            final TestResult copy = constructor.newInstance();
+            for (Field field : FIELDS.get(result.getClass())) {
+                field.set(copy, field.get(result));
+            }
+            return copy;
+        } catch (ReflectiveOperationException e) {
+            throw new ReportGenerationException("Could not copy test result " + result.getUid(), e);
+        }
+    }
+
+    private byte[] read(final long position) {
+        try {
+            final ByteBuffer length = ByteBuffer.allocate(LENGTH_BYTES);
+            readFully(length, position);
+            final ByteBuffer data = ByteBuffer.allocate(length.getInt(0));
+            readFully(data, position + LENGTH_BYTES);
+            return data.array();
+        } catch (IOException e) {
+            throw new ReportGenerationException("Could not read test result stages from " + file, e);
+        }
+    }
+
+    private void readFully(final ByteBuffer buffer, final long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of file " + file);
+            }
+        }
+    }
+
+    private static byte[] serialize(final Stages stages) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream os = new ObjectOutputStream(bytes)) {
+            os.writeObject(stages);
+        } catch (IOException e) {
+            throw new ReportGenerationException("Could not serialize test result stages", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Stages deserialize(final byte[] bytes) {
+        try (ObjectInputStream is = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return (Stages) is.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new ReportGenerationException("Could not deserialize test result stages", e);
+        }
+    }
+
+    /**
+     * Stages of single test result.
+     */
+    private static final class Stages implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<StageResult> before;
+
+        private final StageResult test;
+
+        private final List<StageResult> after;
+
+        private Stages(final TestResult result) {
+            this.before = result.getBeforeStages();
+            this.test = result.getTestStage();
+            this.after = result.getAfterStages();
+        }
+    }
+}
@@ -323,7 +323,7 @@ public class Allure1Plugin implements Reader {
                                final ru.yandex.qatools.allure.model.Attachment attachment) {
         final Path attachmentFile = source.resolve(attachment.getSource());
         if (Files.isRegularFile(attachmentFile)) {
-            final Attachment found = visitor.visitAttachmentFile(attachmentFile);
+            final Attachment found = visitor.visitAttachmentFile(attachmentFile, attachment.getType());
             if (Objects.nonNull(attachment.getType())) {
                 found.setType(attachment.getType());
             }
@@ -17,12 +17,14 @@ package io.qameta.allure.allure2;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.qameta.allure.Reader;
+import io.qameta.allure.allure2.TestResultParser.ParsedTestResult;
 import io.qameta.allure.context.RandomUidContext;
+import io.qameta.allure.context.ReaderPoolContext;
+import io.qameta.allure.context.ResultFilesCache;
+import io.qameta.allure.context.ResultFilesContext;
 import io.qameta.allure.core.Configuration;
 import io.qameta.allure.core.ResultsVisitor;
 import io.qameta.allure.entity.Attachment;
-import io.qameta.allure.entity.Label;
-import io.qameta.allure.entity.Link;
 import io.qameta.allure.entity.Parameter;
 import io.qameta.allure.entity.StageResult;
 import io.qameta.allure.entity.Status;
@@ -31,7 +33,6 @@ import io.qameta.allure.entity.Time;
 import io.qameta.allure.model.Allure2ModelJackson;
 import io.qameta.allure.model.FixtureResult;
 import io.qameta.allure.model.StepResult;
-import io.qameta.allure.model.TestResult;
 import io.qameta.allure.model.TestResultContainer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -44,12 +45,11 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
-import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -61,6 +61,7 @@ import static java.nio.file.Files.newDirectoryStream;
 import static java.util.Comparator.comparing;
 import static java.util.Comparator.naturalOrder;
 import static java.util.Comparator.nullsFirst;
+import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 
 /**
@@ -87,9 +88,25 @@ public class Allure2Plugin implements Reader {
 
     private final ObjectMapper mapper;
 
+    private final boolean parallel;
+
     public Allure2Plugin() {
-        mapper = Allure2ModelJackson.createMapper()
+        this(true);
+    }
+
+    /**
+     * Creates plugin that parses result files of a directory either in parallel or
+     * one by one. Files are parsed in parallel only in the pool provided by
+     * {@link ReaderPoolContext}, and one by one in the calling thread if there is
+     * no such context.
+     *
+     * @param parallel true to parse result files in parallel if reader pool is configured.
+     * @since 2.14
+     */
+    public Allure2Plugin(final boolean parallel) {
+        this.mapper = Allure2ModelJackson.createMapper()
                 .addMixIn(TestResultContainer.class, TestContainerIgnoreConflictsMixin.class);
+        this.parallel = parallel;
     }
 
     @Override
@@ -97,45 +114,46 @@ public class Allure2Plugin implements Reader {
                             final ResultsVisitor visitor,
                             final Path resultsDirectory) {
         final RandomUidContext context = configuration.requireContext(RandomUidContext.class);
-        final List<TestResultContainer> groups = readTestResultsContainers(resultsDirectory)
-                .collect(Collectors.toList());
+        final ResultFilesCache cache = configuration.getContext(ResultFilesContext.class)
+                .map(ResultFilesContext::getValue)
+                .orElse(null);
+        final List<Path> containerFiles = listFiles(resultsDirectory, "*-container.json");
+        final List<Path> resultFiles = listFiles(resultsDirectory, "*-result.json");
+        if (nonNull(cache)) {
+            final List<Path> files = new ArrayList<>(containerFiles);
+            files.addAll(resultFiles);
+            cache.retain(resultsDirectory, files);
+        }
+        final TestResultContainersIndex groups = new TestResultContainersIndex(
+                readTestResultsContainers(containerFiles, cache).collect(Collectors.toList())
+        );
 
-        readTestResults(resultsDirectory)
-                .forEach(result -> convert(context.getValue(), resultsDirectory, visitor, groups, result));
+        final ForkJoinPool pool = parallel
+                ? configuration.getContext(ReaderPoolContext.class).map(ReaderPoolContext::getValue).orElse(null)
+                : null;
+        final Runnable read = () -> readTestResults(resultsDirectory, resultFiles, visitor, cache, nonNull(pool))
+                .map(result -> convert(context.getValue(), resultsDirectory, visitor, groups, result))
+                .forEachOrdered(visitor::visitTestResult);
+        if (isNull(pool)) {
+            read.run();
+        } else {
+            pool.submit(read).join();
+        }
     }
 
-    private void convert(final Supplier<String> uidGenerator,
-                         final Path resultsDirectory,
-                         final ResultsVisitor visitor,
-                         final List<TestResultContainer> groups, final TestResult result) {
-        final io.qameta.allure.entity.TestResult dest = new io.qameta.allure.entity.TestResult();
+    private io.qameta.allure.entity.TestResult convert(final Supplier<String> uidGenerator,
+                                                       final Path resultsDirectory,
+                                                       final ResultsVisitor visitor,
+                                                       final TestResultContainersIndex groups,
+                                                       final ParsedTestResult result) {
+        final io.qameta.allure.entity.TestResult dest = result.getResult();
         dest.setUid(uidGenerator.get());
-        dest.setHistoryId(result.getHistoryId());
-        dest.setFullName(result.getFullName());
-        dest.setName(firstNonNull(result.getName(), result.getFullName(), "Unknown test"));
-        dest.setTime(Time.create(result.getStart(), result.getStop()));
-        dest.setDescription(result.getDescription());
-        dest.setDescriptionHtml(result.getDescriptionHtml());
-        dest.setStatus(convert(result.getStatus()));
-        Optional.ofNullable(result.getStatusDetails()).ifPresent(details -> {
-            dest.setStatusMessage(details.getMessage());
-            dest.setStatusTrace(details.getTrace());
-        });
-
-        dest.setLinks(convert(result.getLinks(), this::convert));
-        dest.setLabels(convert(result.getLabels(), this::convert));
-        dest.setParameters(getParameters(result));
-
         dest.addLabelIfNotExists(RESULT_FORMAT, ALLURE2_RESULTS_FORMAT);
 
-        if (hasTestStage(result)) {
-            dest.setTestStage(getTestStage(resultsDirectory, visitor, result));
-        }
-
-        final List<TestResultContainer> parents = findAllParents(groups, result.getUuid(), new HashSet<>());
+        final List<TestResultContainer> parents = groups.findAllParents(result.getUuid());
         dest.getBeforeStages().addAll(getStages(parents, fixture -> getBefore(resultsDirectory, visitor, fixture)));
         dest.getAfterStages().addAll(getStages(parents, fixture -> getAfter(resultsDirectory, visitor, fixture)));
-        visitor.visitTestResult(dest);
+        return dest;
     }
 
     private <T, R> List<R> convert(final List<T> source, final Function<T, R> converter) {
@@ -166,19 +184,6 @@ public class Allure2Plugin implements Reader {
         return stageResult;
     }
 
-    private Link convert(final io.qameta.allure.model.Link link) {
-        return new Link()
-                .setName(link.getName())
-                .setType(link.getType())
-                .setUrl(link.getUrl());
-    }
-
-    private Label convert(final io.qameta.allure.model.Label label) {
-        return new Label()
-                .setName(label.getName())
-                .setValue(label.getValue());
-    }
-
     private Parameter convert(final io.qameta.allure.model.Parameter parameter) {
         return new Parameter()
                 .setName(parameter.getName())
@@ -188,23 +193,9 @@ public class Allure2Plugin implements Reader {
     private Attachment convert(final Path source,
                                final ResultsVisitor visitor,
                                final io.qameta.allure.model.Attachment attachment) {
-        final Path attachmentFile = source.resolve(attachment.getSource());
-        if (Files.isRegularFile(attachmentFile)) {
-            final Attachment found = visitor.visitAttachmentFile(attachmentFile);
-            if (nonNull(attachment.getType())) {
-                found.setType(attachment.getType());
-            }
-            if (nonNull(attachment.getName())) {
-                found.setName(attachment.getName());
-            }
-            return found;
-        } else {
-            visitor.error("Could not find attachment " + attachment.getSource() + " in directory " + source);
-            return new Attachment()
-                    .setType(attachment.getType())
-                    .setName(attachment.getName())
-                    .setSize(0L);
-        }
+        return TestResultParser.convert(
+                source, visitor, attachment.getName(), attachment.getSource(), attachment.getType()
+        );
     }
 
     private Step convert(final Path source,
@@ -227,13 +218,7 @@ public class Allure2Plugin implements Reader {
     }
 
     private Status convert(final io.qameta.allure.model.Status status) {
-        if (Objects.isNull(status)) {
-            return Status.UNKNOWN;
-        }
-        return Stream.of(Status.values())
-                .filter(item -> item.value().equalsIgnoreCase(status.value()))
-                .findAny()
-                .orElse(Status.UNKNOWN);
+        return Objects.isNull(status) ? Status.UNKNOWN : TestResultParser.convert(status.value());
     }
 
     private Time convert(final Long start, final Long stop) {
@@ -243,37 +228,6 @@ public class Allure2Plugin implements Reader {
                 .setDuration(nonNull(start) && nonNull(stop) ? stop - start : null);
     }
 
-    private List<Parameter> getParameters(final TestResult result) {
-        final TreeSet<Parameter> parametersSet = new TreeSet<>(
-                comparing(Parameter::getName, nullsFirst(naturalOrder()))
-                        .thenComparing(Parameter::getValue, nullsFirst(naturalOrder()))
-        );
-        parametersSet.addAll(convert(result.getParameters(), this::convert));
-        return new ArrayList<>(parametersSet);
-    }
-
-    private StageResult getTestStage(final Path source,
-                                     final ResultsVisitor visitor,
-                                     final TestResult result) {
-        final StageResult testStage = new StageResult();
-        testStage.setSteps(convert(result.getSteps(), step -> convert(source, visitor, step)));
-        testStage.setAttachments(convert(result.getAttachments(), attachment -> convert(source, visitor, attachment)));
-        testStage.setStatus(convert(result.getStatus()));
-        testStage.setDescription(result.getDescription());
-        testStage.setDescriptionHtml(result.getDescriptionHtml());
-        Optional.of(result)
-                .map(TestResult::getStatusDetails)
-                .ifPresent(statusDetails -> {
-                    testStage.setStatusMessage(statusDetails.getMessage());
-                    testStage.setStatusTrace(statusDetails.getTrace());
-                });
-        return testStage;
-    }
-
-    private boolean hasTestStage(final TestResult result) {
-        return !result.getSteps().isEmpty() || !result.getAttachments().isEmpty();
-    }
-
     private List<StageResult> getStages(final List<TestResultContainer> parents,
                                         final Function<TestResultContainer, Stream<StageResult>> getter) {
         return parents.stream()
@@ -295,59 +249,79 @@ public class Allure2Plugin implements Reader {
                 .sorted(BY_START);
     }
 
-    private List<TestResultContainer> findAllParents(final List<TestResultContainer> groups,
-                                                     final String id,
-                                                     final Set<String> seen) {
-        final List<TestResultContainer> parents = findParents(groups, id, seen);
-        final List<TestResultContainer> result = new ArrayList<>(parents);
-        for (TestResultContainer container : parents) {
-            result.addAll(findAllParents(groups, container.getUuid(), seen));
-        }
-        return result;
-    }
-
-    private List<TestResultContainer> findParents(final List<TestResultContainer> groups,
-                                                  final String id,
-                                                  final Set<String> seen) {
-        return groups.stream()
-                .filter(container -> container.getChildren().contains(id))
-                .filter(container -> !seen.contains(container.getUuid()))
-                .collect(Collectors.toList());
-    }
-
-    @SafeVarargs
-    private static <T> T firstNonNull(final T... items) {
-        return Stream.of(items)
-                .filter(Objects::nonNull)
-                .findFirst()
-                .orElseThrow(() -> new IllegalStateException(
-                        "firstNonNull method should have at least one non null parameter"
-                ));
-    }
-
-    private Stream<TestResultContainer> readTestResultsContainers(final Path resultsDirectory) {
-        return listFiles(resultsDirectory, "*-container.json")
-                .map(this::readTestResultContainer)
+    private Stream<TestResultContainer> readTestResultsContainers(final List<Path> files,
+                                                                  final ResultFilesCache cache) {
+        return files.stream()
+                .map(file -> isNull(cache)
+                        ? readTestResultContainer(file)
+                        : Optional.ofNullable(cache.computeIfChanged(
+                                file, TestResultContainer.class, f -> readTestResultContainer(f).orElse(null)
+                        )))
                 .filter(Optional::isPresent)
                 .map(Optional::get);
     }
 
-    private Stream<TestResult> readTestResults(final Path resultsDirectory) {
-        return listFiles(resultsDirectory, "*-result.json")
-                .map(this::readTestResult)
+    /**
+     * Reads test results in parallel if requested. Parallel stream is consumed in reader
+     * pool, so the pool size bounds the number of workers. Files are listed in a stable
+     * order and visited in encounter order, so the results are visited the same way
+     * regardless of the number of workers. If result files are cached, only new and
+     * changed files are parsed.
+     */
+    private Stream<ParsedTestResult> readTestResults(final Path resultsDirectory,
+                                                     final List<Path> files,
+                                                     final ResultsVisitor visitor,
+                                                     final ResultFilesCache cache,
+                                                     final boolean inParallel) {
+        final TestResultParser parser = new TestResultParser(mapper.getFactory(), resultsDirectory, visitor);
+        return (inParallel ? files.parallelStream() : files.stream())
+                .map(file -> isNull(cache)
+                        ? readTestResult(parser, file)
+                        : readTestResult(resultsDirectory, visitor, cache, file))
                 .filter(Optional::isPresent)
                 .map(Optional::get);
     }
 
-    private Optional<TestResult> readTestResult(final Path file) {
+    private Optional<ParsedTestResult> readTestResult(final TestResultParser parser, final Path file) {
         try (InputStream is = Files.newInputStream(file)) {
-            return Optional.ofNullable(mapper.readValue(is, TestResult.class));
+            return parser.parse(is);
         } catch (IOException e) {
             LOGGER.error("Could not read test result file {}", file, e);
             return Optional.empty();
         }
     }
 
+    private Optional<ParsedTestResult> readTestResult(final Path resultsDirectory,
+                                                      final ResultsVisitor visitor,
+                                                      final ResultFilesCache cache,
+                                                      final Path file) {
+        final AtomicReference<ParsedTestResult> parsed = new AtomicReference<>();
+        final CachedTestResult cached = cache.computeIfChanged(file, CachedTestResult.class, f -> {
+            final CachedTestResult.Recorder recorder = new CachedTestResult.Recorder(visitor);
+            final TestResultParser parser = new TestResultParser(mapper.getFactory(), resultsDirectory, recorder);
+            final Optional<ParsedTestResult> result = readTestResult(parser, f);
+            result.ifPresent(parsed::set);
+            try {
+                return result.isPresent() ? CachedTestResult.create(result.get(), recorder.getAttachments()) : null;
+            } catch (IOException e) {
+                LOGGER.debug("Could not cache test result file {}", f, e);
+                return null;
+            }
+        });
+        if (nonNull(parsed.get()) || isNull(cached)) {
+            return Optional.ofNullable(parsed.get());
+        }
+        try {
+            final Optional<ParsedTestResult> restored = cached.restore(visitor);
+            if (restored.isPresent()) {
+                return restored;
+            }
+        } catch (IOException e) {
+            LOGGER.debug("Could not restore cached test result file {}", file, e);
+        }
+        return readTestResult(new TestResultParser(mapper.getFactory(), resultsDirectory, visitor), file);
+    }
+
     private Optional<TestResultContainer> readTestResultContainer(final Path file) {
         try (InputStream is = Files.newInputStream(file)) {
             return Optional.ofNullable(mapper.readValue(is, TestResultContainer.class));
@@ -357,15 +331,15 @@ public class Allure2Plugin implements Reader {
         }
     }
 
-    private Stream<Path> listFiles(final Path directory, final String glob) {
+    private List<Path> listFiles(final Path directory, final String glob) {
         try (DirectoryStream<Path> directoryStream = newDirectoryStream(directory, glob)) {
             return StreamSupport.stream(directoryStream.spliterator(), false)
                     .filter(Files::isRegularFile)
-                    .collect(Collectors.toList())
-                    .stream();
+                    .sorted()
+                    .collect(Collectors.toList());
         } catch (IOException e) {
             LOGGER.error("Could not list files in directory {}", directory, e);
-            return Stream.empty();
+            return Collections.emptyList();
         }
     }
 }
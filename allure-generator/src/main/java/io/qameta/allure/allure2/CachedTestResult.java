@@ -0,0 +1,145 @@
+/*
+ *  Copyright 2019 Qameta Software OÜ
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.allure2;
+
+import io.qameta.allure.allure2.TestResultParser.ParsedTestResult;
+import io.qameta.allure.core.ResultsVisitor;
+import io.qameta.allure.entity.Attachment;
+import io.qameta.allure.entity.TestResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Test result parsed from a file, kept between reads of the same results directory.
+ * Result is kept serialized, since it is modified once converted, and is restored
+ * together with attachments visited while the file was parsed. Attachment files are
+ * kept as strings, so cached result can be serialized to the report cache.
+ */
+/* default */ final class CachedTestResult implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String uuid;
+
+    private final byte[] result;
+
+    private final Map<String, Attachment> attachments;
+
+    private CachedTestResult(final String uuid, final byte[] result, final Map<String, Attachment> attachments) {
+        this.uuid = uuid;
+        this.result = result;
+        this.attachments = attachments;
+    }
+
+    /* default */ static CachedTestResult create(final ParsedTestResult parsed,
+                                                 final Map<Path, Attachment> attachments) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream os = new ObjectOutputStream(bytes)) {
+            os.writeObject(parsed.getResult());
+        }
+        final Map<String, Attachment> files = new LinkedHashMap<>();
+        attachments.forEach((file, attachment) -> files.put(file.toString(), attachment));
+        return new CachedTestResult(parsed.getUuid(), bytes.toByteArray(), files);
+    }
+
+    /**
+     * Passes attachments to the visitor and restores the result. Returns empty if visitor
+     * does not reuse attachments or an attachment file is removed, as restored result
+     * would refer to attachments that are not in the report.
+     */
+    /* default */ Optional<ParsedTestResult> restore(final ResultsVisitor visitor) throws IOException {
+        for (Map.Entry<String, Attachment> entry : attachments.entrySet()) {
+            final Path file = Paths.get(entry.getKey());
+            if (Files.notExists(file)) {
+                return Optional.empty();
+            }
+            final Attachment visited = visitor.visitCachedAttachment(file, entry.getValue());
+            if (Objects.isNull(visited) || !Objects.equals(visited.getSource(), entry.getValue().getSource())) {
+                return Optional.empty();
+            }
+        }
+        try (ObjectInputStream is = new ObjectInputStream(new ByteArrayInputStream(result))) {
+            return Optional.of(new ParsedTestResult(uuid, (TestResult) is.readObject()));
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new IOException("Could not restore cached test result", e);
+        }
+    }
+
+    /**
+     * Visitor that records attachments visited while a file is parsed.
+     */
+    /* default */ static final class Recorder implements ResultsVisitor {
+
+        private final ResultsVisitor delegate;
+
+        private final Map<Path, Attachment> attachments = new LinkedHashMap<>();
+
+        /* default */ Recorder(final ResultsVisitor delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Attachment visitAttachmentFile(final Path attachmentFile) {
+            final Attachment attachment = delegate.visitAttachmentFile(attachmentFile);
+            attachments.put(attachmentFile, attachment);
+            return attachment;
+        }
+
+        @Override
+        public Attachment visitAttachmentFile(final Path attachmentFile, final String type) {
+            final Attachment attachment = delegate.visitAttachmentFile(attachmentFile, type);
+            attachments.put(attachmentFile, attachment);
+            return attachment;
+        }
+
+        @Override
+        public void visitTestResult(final TestResult result) {
+            delegate.visitTestResult(result);
+        }
+
+        @Override
+        public void visitExtra(final String name, final Object object) {
+            delegate.visitExtra(name, object);
+        }
+
+        @Override
+        public void error(final String message, final Exception e) {
+            delegate.error(message, e);
+        }
+
+        @Override
+        public void error(final String message) {
+            delegate.error(message);
+        }
+
+        public Map<Path, Attachment> getAttachments() {
+            return Collections.unmodifiableMap(attachments);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ *  Copyright 2019 Qameta Software OÜ
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.allure2;
+
+import io.qameta.allure.model.TestResultContainer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Index of test result containers by uuids of their children. Built once per
+ * results directory, so parents of each test result are resolved by lookup
+ * instead of scanning all the containers.
+ */
+final class TestResultContainersIndex {
+
+    private final Map<String, List<TestResultContainer>> parentsByChild = new HashMap<>();
+
+    TestResultContainersIndex(final Collection<TestResultContainer> containers) {
+        for (TestResultContainer container : containers) {
+            for (String child : new LinkedHashSet<>(container.getChildren())) {
+                if (Objects.nonNull(child)) {
+                    parentsByChild.computeIfAbsent(child, id -> new ArrayList<>()).add(container);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns direct parents of the given child followed by their own parents, recursively.
+     * Each container is returned at most once.
+     *
+     * @param id the uuid of test result or container.
+     * @return all the parent containers.
+     */
+    public List<TestResultContainer> findAllParents(final String id) {
+        return findAllParents(id, new HashSet<>());
+    }
+
+    private List<TestResultContainer> findAllParents(final String id, final Set<String> seen) {
+        final List<TestResultContainer> parents = findParents(id, seen);
+        final List<TestResultContainer> result = new ArrayList<>(parents);
+        for (TestResultContainer container : parents) {
+            result.addAll(findAllParents(container.getUuid(), seen));
+        }
+        return result;
+    }
+
+    private List<TestResultContainer> findParents(final String id, final Set<String> seen) {
+        return parentsByChild.getOrDefault(id, Collections.emptyList()).stream()
+                .filter(container -> seen.add(container.getUuid()))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,456 @@
+/*
+ *  Copyright 2019 Qameta Software OÜ
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.allure2;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.qameta.allure.core.ResultsVisitor;
+import io.qameta.allure.entity.Attachment;
+import io.qameta.allure.entity.Label;
+import io.qameta.allure.entity.Link;
+import io.qameta.allure.entity.Parameter;
+import io.qameta.allure.entity.StageResult;
+import io.qameta.allure.entity.Status;
+import io.qameta.allure.entity.Step;
+import io.qameta.allure.entity.TestResult;
+import io.qameta.allure.entity.Time;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import static java.util.Comparator.comparing;
+import static java.util.Comparator.naturalOrder;
+import static java.util.Comparator.nullsFirst;
+import static java.util.Objects.nonNull;
+
+/**
+ * Streaming parser for Allure 2 test result files. Builds report entities
+ * straight from json tokens, so steps, attachments and parameters are not
+ * allocated twice as they would be when binding the file to allure-java
+ * model first. Unknown fields are skipped.
+ */
+@SuppressWarnings({
+        "PMD.CyclomaticComplexity",
+        "PMD.StdCyclomaticComplexity",
+        "PMD.ModifiedCyclomaticComplexity",
+        "PMD.DefaultPackage",
+        "CyclomaticComplexity",
+        "MultipleStringLiterals"
+})
+final class TestResultParser {
+
+    private final JsonFactory factory;
+
+    private final Path resultsDirectory;
+
+    private final ResultsVisitor visitor;
+
+    TestResultParser(final JsonFactory factory,
+                     final Path resultsDirectory,
+                     final ResultsVisitor visitor) {
+        this.factory = factory;
+        this.resultsDirectory = resultsDirectory;
+        this.visitor = visitor;
+    }
+
+    /**
+     * Parses test result from given stream. Attachments are passed to the
+     * visitor as soon as they are read.
+     *
+     * @param is the stream to read.
+     * @return parsed test result or empty if the stream contains json null.
+     * @throws IOException if the stream can't be read or parsed.
+     */
+    public Optional<ParsedTestResult> parse(final InputStream is) throws IOException {
+        try (JsonParser parser = factory.createParser(is)) {
+            final JsonToken token = parser.nextToken();
+            if (token == JsonToken.VALUE_NULL) {
+                return Optional.empty();
+            }
+            if (token != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Test result should be a json object");
+            }
+            return Optional.of(readTestResult(parser));
+        }
+    }
+
+    @SuppressWarnings({"PMD.NcssCount", "PMD.ExcessiveMethodLength", "JavaNCSS", "ExecutableStatementCount"})
+    private ParsedTestResult readTestResult(final JsonParser parser) throws IOException {
+        final TestResult dest = new TestResult();
+        String uuid = null;
+        String name = null;
+        Long start = null;
+        Long stop = null;
+        StatusDetails details = null;
+        List<Step> steps = Collections.emptyList();
+        List<Attachment> attachments = Collections.emptyList();
+        List<Parameter> parameters = Collections.emptyList();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "uuid":
+                    uuid = readString(parser);
+                    break;
+                case "historyId":
+                    dest.setHistoryId(readString(parser));
+                    break;
+                case "fullName":
+                    dest.setFullName(readString(parser));
+                    break;
+                case "name":
+                    name = readString(parser);
+                    break;
+                case "description":
+                    dest.setDescription(readString(parser));
+                    break;
+                case "descriptionHtml":
+                    dest.setDescriptionHtml(readString(parser));
+                    break;
+                case "status":
+                    dest.setStatus(convert(readString(parser)));
+                    break;
+                case "statusDetails":
+                    details = readStatusDetails(parser);
+                    break;
+                case "start":
+                    start = readLong(parser);
+                    break;
+                case "stop":
+                    stop = readLong(parser);
+                    break;
+                case "labels":
+                    dest.setLabels(readList(parser, this::readLabel));
+                    break;
+                case "links":
+                    dest.setLinks(readList(parser, this::readLink));
+                    break;
+                case "parameters":
+                    parameters = readList(parser, this::readParameter);
+                    break;
+                case "steps":
+                    steps = readList(parser, this::readStep);
+                    break;
+                case "attachments":
+                    attachments = readList(parser, this::readAttachment);
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+        if (Objects.isNull(dest.getStatus())) {
+            dest.setStatus(Status.UNKNOWN);
+        }
+        dest.setName(firstNonNull(name, dest.getFullName(), "Unknown test"));
+        dest.setTime(Time.create(start, stop));
+        dest.setParameters(distinct(parameters));
+        if (nonNull(details)) {
+            dest.setStatusMessage(details.message);
+            dest.setStatusTrace(details.trace);
+        }
+        if (!steps.isEmpty() || !attachments.isEmpty()) {
+            dest.setTestStage(new StageResult()
+                    .setSteps(steps)
+                    .setAttachments(attachments)
+                    .setStatus(dest.getStatus())
+                    .setDescription(dest.getDescription())
+                    .setDescriptionHtml(dest.getDescriptionHtml())
+                    .setStatusMessage(dest.getStatusMessage())
+                    .setStatusTrace(dest.getStatusTrace()));
+        }
+        return new ParsedTestResult(uuid, dest);
+    }
+
+    private Step readStep(final JsonParser parser) throws IOException {
+        final Step step = new Step().setStatus(Status.UNKNOWN);
+        Long start = null;
+        Long stop = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "name":
+                    step.setName(readString(parser));
+                    break;
+                case "status":
+                    step.setStatus(convert(readString(parser)));
+                    break;
+                case "statusDetails":
+                    final StatusDetails details = readStatusDetails(parser);
+                    if (nonNull(details)) {
+                        step.setStatusMessage(details.message);
+                        step.setStatusTrace(details.trace);
+                    }
+                    break;
+                case "start":
+                    start = readLong(parser);
+                    break;
+                case "stop":
+                    stop = readLong(parser);
+                    break;
+                case "parameters":
+                    step.setParameters(readList(parser, this::readParameter));
+                    break;
+                case "attachments":
+                    step.setAttachments(readList(parser, this::readAttachment));
+                    break;
+                case "steps":
+                    step.setSteps(readList(parser, this::readStep));
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+        return step.setTime(Time.create(start, stop));
+    }
+
+    private Attachment readAttachment(final JsonParser parser) throws IOException {
+        String name = null;
+        String source = null;
+        String type = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "name":
+                    name = readString(parser);
+                    break;
+                case "source":
+                    source = readString(parser);
+                    break;
+                case "type":
+                    type = readString(parser);
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+        return convert(resultsDirectory, visitor, name, source, type);
+    }
+
+    private Label readLabel(final JsonParser parser) throws IOException {
+        final Label label = new Label();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = parser.getCurrentName();
+            parser.nextToken();
+            if ("name".equals(field)) {
+                label.setName(readString(parser));
+            } else if ("value".equals(field)) {
+                label.setValue(readString(parser));
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return label;
+    }
+
+    private Link readLink(final JsonParser parser) throws IOException {
+        final Link link = new Link();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "name":
+                    link.setName(readString(parser));
+                    break;
+                case "type":
+                    link.setType(readString(parser));
+                    break;
+                case "url":
+                    link.setUrl(readString(parser));
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+        return link;
+    }
+
+    private Parameter readParameter(final JsonParser parser) throws IOException {
+        final Parameter parameter = new Parameter();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = parser.getCurrentName();
+            parser.nextToken();
+            if ("name".equals(field)) {
+                parameter.setName(readString(parser));
+            } else if ("value".equals(field)) {
+                parameter.setValue(readString(parser));
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return parameter;
+    }
+
+    private StatusDetails readStatusDetails(final JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        final StatusDetails details = new StatusDetails();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = parser.getCurrentName();
+            parser.nextToken();
+            if ("message".equals(field)) {
+                details.message = readString(parser);
+            } else if ("trace".equals(field)) {
+                details.trace = readString(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return details;
+    }
+
+    private <T> List<T> readList(final JsonParser parser, final ElementReader<T> reader) throws IOException {
+        final List<T> result = new ArrayList<>();
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return result;
+        }
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() == JsonToken.START_OBJECT) {
+                result.add(reader.read(parser));
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return result;
+    }
+
+    private static String readString(final JsonParser parser) throws IOException {
+        return parser.currentToken() == JsonToken.VALUE_NULL ? null : parser.getValueAsString();
+    }
+
+    private static Long readLong(final JsonParser parser) throws IOException {
+        return parser.currentToken() == JsonToken.VALUE_NULL ? null : parser.getValueAsLong();
+    }
+
+    private static List<Parameter> distinct(final List<Parameter> parameters) {
+        final TreeSet<Parameter> parametersSet = new TreeSet<>(
+                comparing(Parameter::getName, nullsFirst(naturalOrder()))
+                        .thenComparing(Parameter::getValue, nullsFirst(naturalOrder()))
+        );
+        parametersSet.addAll(parameters);
+        return new ArrayList<>(parametersSet);
+    }
+
+    /* default */ static Status convert(final String status) {
+        if (Objects.isNull(status)) {
+            return Status.UNKNOWN;
+        }
+        return Stream.of(Status.values())
+                .filter(item -> item.value().equalsIgnoreCase(status))
+                .findAny()
+                .orElse(Status.UNKNOWN);
+    }
+
+    /* default */ static Attachment convert(final Path source,
+                                            final ResultsVisitor visitor,
+                                            final String name,
+                                            final String file,
+                                            final String type) {
+        final Path attachmentFile = source.resolve(file);
+        if (Files.isRegularFile(attachmentFile)) {
+            final Attachment found = visitor.visitAttachmentFile(attachmentFile, type);
+            if (nonNull(type)) {
+                found.setType(type);
+            }
+            if (nonNull(name)) {
+                found.setName(name);
+            }
+            return found;
+        } else {
+            visitor.error("Could not find attachment " + file + " in directory " + source);
+            return new Attachment()
+                    .setType(type)
+                    .setName(name)
+                    .setSize(0L);
+        }
+    }
+
+    @SafeVarargs
+    private static <T> T firstNonNull(final T... items) {
+        return Stream.of(items)
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException(
+                        "firstNonNull method should have at least one non null parameter"
+                ));
+    }
+
+    /**
+     * Reads single element of json array.
+     *
+     * @param <T> the type of element.
+     */
+    @FunctionalInterface
+    private interface ElementReader<T> {
+
+        T read(JsonParser parser) throws IOException;
+
+    }
+
+    /**
+     * Message and trace of status details, the only fields used by the report.
+     */
+    private static final class StatusDetails {
+
+        private String message;
+
+        private String trace;
+
+    }
+
+    /**
+     * Test result parsed from a file, together with its uuid that is used to
+     * find parent containers.
+     */
+    /* default */ static final class ParsedTestResult {
+
+        private final String uuid;
+
+        private final TestResult result;
+
+        /* default */ ParsedTestResult(final String uuid, final TestResult result) {
+            this.uuid = uuid;
+            this.result = result;
+        }
+
+        public String getUuid() {
+            return uuid;
+        }
+
+        public TestResult getResult() {
+            return result;
+        }
+    }
+}
@@ -18,9 +18,9 @@ package io.qameta.allure.category;
 import com.fasterxml.jackson.core.type.TypeReference;
 import io.qameta.allure.CommonCsvExportAggregator;
 import io.qameta.allure.CommonJsonAggregator;
-import io.qameta.allure.CompositeAggregator;
 import io.qameta.allure.Constants;
 import io.qameta.allure.Reader;
+import io.qameta.allure.ResultsAggregator;
 import io.qameta.allure.context.JacksonContext;
 import io.qameta.allure.core.Configuration;
 import io.qameta.allure.core.LaunchResults;
@@ -45,8 +45,11 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -62,7 +65,7 @@ import static java.util.Objects.nonNull;
  * @since 2.0
  */
 @SuppressWarnings({"PMD.ExcessiveImports", "ClassDataAbstractionCoupling"})
-public class CategoriesPlugin extends CompositeAggregator implements Reader {
+public class CategoriesPlugin implements ResultsAggregator, Reader {
 
     public static final String CATEGORIES = "categories";
 
@@ -79,10 +82,10 @@ public class CategoriesPlugin extends CompositeAggregator implements Reader {
         new TypeReference<List<Category>>() { };
     //@formatter:on
 
-    public CategoriesPlugin() {
-        super(Arrays.asList(
-                new JsonAggregator(), new CsvExportAggregator(), new WidgetAggregator()
-        ));
+    @Override
+    public ResultsCollector createCollector(final Configuration configuration,
+                                            final List<LaunchResults> launchesResults) {
+        return new CategoriesCollector(configuration);
     }
 
     @Override
@@ -104,10 +107,7 @@ public class CategoriesPlugin extends CompositeAggregator implements Reader {
     @SuppressWarnings("PMD.DefaultPackage")
     /* default */ static Tree<TestResult> getData(final List<LaunchResults> launchResults) {
 
-        // @formatter:off
-        final Tree<TestResult> categories = new TestResultTree(CATEGORIES, CategoriesPlugin::groupByCategories);
-        // @formatter:on
-
+        final Tree<TestResult> categories = createTree();
         launchResults.stream()
                 .map(LaunchResults::getResults)
                 .flatMap(Collection::stream)
@@ -119,35 +119,50 @@ public class CategoriesPlugin extends CompositeAggregator implements Reader {
     @SuppressWarnings("PMD.DefaultPackage")
     /* default */ static void addCategoriesForResults(final List<LaunchResults> launchesResults) {
         launchesResults.forEach(launch -> {
-            final List<Category> categories = launch.getExtra(CATEGORIES, Collections::emptyList);
-            launch.getResults().forEach(result -> {
-                final List<Category> resultCategories = result.getExtraBlock(CATEGORIES, new ArrayList<>());
-                categories.forEach(category -> {
-                    if (matches(result, category)) {
-                        resultCategories.add(category);
-                    }
-                });
-                if (resultCategories.isEmpty() && Status.FAILED.equals(result.getStatus())) {
-                    result.getExtraBlock(CATEGORIES, new ArrayList<Category>()).add(FAILED_TESTS);
-                }
-                if (resultCategories.isEmpty() && Status.BROKEN.equals(result.getStatus())) {
-                    result.getExtraBlock(CATEGORIES, new ArrayList<Category>()).add(BROKEN_TESTS);
-                }
-            });
+            final CategoryMatcher matcher = createMatcher(launch);
+            launch.getResults().forEach(result -> addCategories(matcher, result));
         });
     }
 
+    private static CategoryMatcher createMatcher(final LaunchResults launch) {
+        return new CategoryMatcher(launch.getExtra(CATEGORIES, Collections::emptyList));
+    }
+
+    private static void addCategories(final CategoryMatcher matcher, final TestResult result) {
+        final List<Category> resultCategories = result.getExtraBlock(CATEGORIES, new ArrayList<>());
+        resultCategories.addAll(matcher.match(result));
+        if (resultCategories.isEmpty() && Status.FAILED.equals(result.getStatus())) {
+            resultCategories.add(FAILED_TESTS);
+        }
+        if (resultCategories.isEmpty() && Status.BROKEN.equals(result.getStatus())) {
+            resultCategories.add(BROKEN_TESTS);
+        }
+    }
+
+    private static Tree<TestResult> createTree() {
+        final Function<TestResult, String> names = FailureSignature.createNames();
+        return new TestResultTree(CATEGORIES, result -> groupByCategories(result, names.apply(result)));
+    }
+
     protected static List<TreeLayer> groupByCategories(final TestResult testResult) {
+        return groupByCategories(testResult, testResult.getStatusMessage());
+    }
+
+    private static List<TreeLayer> groupByCategories(final TestResult testResult, final String failureName) {
         final Set<String> categories = testResult
                 .<List<Category>>getExtraBlock(CATEGORIES, new ArrayList<>())
                 .stream()
                 .map(Category::getName)
                 .collect(Collectors.toSet());
         final TreeLayer categoriesLayer = new DefaultTreeLayer(categories);
-        final TreeLayer messageLayer = new DefaultTreeLayer(testResult.getStatusMessage());
+        final TreeLayer messageLayer = new DefaultTreeLayer(failureName);
         return Arrays.asList(categoriesLayer, messageLayer);
     }
 
+    /**
+     * Checks if result matches the category. Compiles category patterns on each call,
+     * use {@link CategoryMatcher} to match many results.
+     */
     public static boolean matches(final TestResult result, final Category category) {
         final boolean matchesStatus = category.getMatchedStatuses().isEmpty()
                 || nonNull(result.getStatus())
@@ -173,12 +188,44 @@ public class CategoriesPlugin extends CompositeAggregator implements Reader {
                 .setStatistic(calculateStatisticByLeafs(group));
     }
 
-    @Override
-    public void aggregate(final Configuration configuration,
-                          final List<LaunchResults> launchesResults,
-                          final Path outputDirectory) throws IOException {
-        addCategoriesForResults(launchesResults);
-        super.aggregate(configuration, launchesResults, outputDirectory);
+    private static List<TreeWidgetItem> getWidgetItems(final Tree<TestResult> data) {
+        return data.getChildren().stream()
+                .filter(TestResultTreeGroup.class::isInstance)
+                .map(TestResultTreeGroup.class::cast)
+                .map(CategoriesPlugin::toWidgetItem)
+                .sorted(Comparator.comparing(TreeWidgetItem::getStatistic, comparator()).reversed())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Assigns categories to results and builds categories tree once, then
+     * writes tree, export and widget data from it.
+     */
+    private static class CategoriesCollector implements ResultsCollector {
+
+        private final Configuration configuration;
+
+        private final Tree<TestResult> tree = createTree();
+
+        private final Map<LaunchResults, CategoryMatcher> matchers = new IdentityHashMap<>();
+
+        CategoriesCollector(final Configuration configuration) {
+            this.configuration = configuration;
+        }
+
+        @Override
+        public void visit(final LaunchResults launch, final TestResult result) {
+            addCategories(matchers.computeIfAbsent(launch, CategoriesPlugin::createMatcher), result);
+            tree.add(result);
+        }
+
+        @Override
+        public void finish(final Path outputDirectory) throws IOException {
+            final List<TreeWidgetItem> items = getWidgetItems(tree);
+            new JsonAggregator().write(configuration, outputDirectory, tree);
+            new CsvExportAggregator().write(outputDirectory, CsvExportAggregator.getData(items));
+            new WidgetAggregator().write(configuration, outputDirectory, WidgetAggregator.getData(tree, items));
+        }
     }
 
     /**
@@ -207,16 +254,13 @@ public class CategoriesPlugin extends CompositeAggregator implements Reader {
 
         @Override
         protected List<CsvExportCategory> getData(final List<LaunchResults> launchesResults) {
-            final List<CsvExportCategory> exportLabels = new ArrayList<>();
-            final Tree<TestResult> data = CategoriesPlugin.getData(launchesResults);
-            final List<TreeWidgetItem> items = data.getChildren().stream()
-                    .filter(TestResultTreeGroup.class::isInstance)
-                    .map(TestResultTreeGroup.class::cast)
-                    .map(CategoriesPlugin::toWidgetItem)
-                    .sorted(Comparator.comparing(TreeWidgetItem::getStatistic, comparator()).reversed())
+            return getData(getWidgetItems(CategoriesPlugin.getData(launchesResults)));
+        }
+
+        private static List<CsvExportCategory> getData(final List<TreeWidgetItem> items) {
+            return items.stream()
+                    .map(CsvExportCategory::new)
                     .collect(Collectors.toList());
-            items.forEach(item -> exportLabels.add(new CsvExportCategory(item)));
-            return exportLabels;
         }
     }
 
@@ -232,14 +276,13 @@ public class CategoriesPlugin extends CompositeAggregator implements Reader {
         @Override
         protected Object getData(final List<LaunchResults> launches) {
             final Tree<TestResult> data = CategoriesPlugin.getData(launches);
-            final List<TreeWidgetItem> items = data.getChildren().stream()
-                    .filter(TestResultTreeGroup.class::isInstance)
-                    .map(TestResultTreeGroup.class::cast)
-                    .map(CategoriesPlugin::toWidgetItem)
-                    .sorted(Comparator.comparing(TreeWidgetItem::getStatistic, comparator()).reversed())
-                    .limit(10)
-                    .collect(Collectors.toList());
-            return new TreeWidgetData().setItems(items).setTotal(data.getChildren().size());
+            return getData(data, getWidgetItems(data));
+        }
+
+        private static TreeWidgetData getData(final Tree<TestResult> data, final List<TreeWidgetItem> items) {
+            return new TreeWidgetData()
+                    .setItems(items.stream().limit(10).collect(Collectors.toList()))
+                    .setTotal(data.getChildren().size());
         }
     }
 }
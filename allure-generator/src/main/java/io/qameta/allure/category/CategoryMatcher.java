@@ -0,0 +1,161 @@
+/*
+ *  Copyright 2019 Qameta Software OÜ
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.category;
+
+import io.qameta.allure.entity.Status;
+import io.qameta.allure.entity.TestResult;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Matches test results against categories of a launch. Categories are compiled
+ * once, and candidates for each combination of status and flaky flag are resolved
+ * up front, so regular expressions are only evaluated for categories that
+ * match by status and flaky flag. Results of regular expression matching are
+ * cached per distinct pair of status message and status trace.
+ *
+ * @since 2.14
+ */
+public class CategoryMatcher {
+
+    private static final int MAX_CACHE_SIZE = 10_000;
+
+    private static final byte UNKNOWN = 0;
+
+    private static final byte MATCHED = 1;
+
+    private static final byte NOT_MATCHED = 2;
+
+    private final List<CompiledCategory> categories;
+
+    private final List<List<CompiledCategory>> candidates;
+
+    private final Map<Failure, byte[]> cache = new ConcurrentHashMap<>();
+
+    public CategoryMatcher(final List<Category> categories) {
+        this.categories = new ArrayList<>(categories.size());
+        for (int i = 0; i < categories.size(); i++) {
+            this.categories.add(new CompiledCategory(i, categories.get(i)));
+        }
+        final int statuses = Status.values().length + 1;
+        this.candidates = new ArrayList<>(statuses * 2);
+        for (int key = 0; key < statuses * 2; key++) {
+            this.candidates.add(new ArrayList<>());
+        }
+        for (CompiledCategory category : this.categories) {
+            for (int status = 0; status < statuses; status++) {
+                final Status value = status == 0 ? null : Status.values()[status - 1];
+                if (category.matchesStatus(value)) {
+                    candidates.get(key(value, category.flaky)).add(category);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns categories matched by given result in the order categories are defined.
+     *
+     * @param result the result to match.
+     * @return matched categories.
+     */
+    public List<Category> match(final TestResult result) {
+        final List<CompiledCategory> filtered = candidates.get(key(result.getStatus(), result.isFlaky()));
+        if (filtered.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final Failure failure = new Failure(result.getStatusMessage(), result.getStatusTrace());
+        byte[] outcomes = cache.get(failure);
+        if (isNull(outcomes)) {
+            outcomes = new byte[categories.size()];
+            if (cache.size() < MAX_CACHE_SIZE) {
+                final byte[] existing = cache.putIfAbsent(failure, outcomes);
+                outcomes = isNull(existing) ? outcomes : existing;
+            }
+        }
+        final List<Category> matched = new ArrayList<>();
+        for (CompiledCategory category : filtered) {
+            byte outcome = outcomes[category.index];
+            if (outcome == UNKNOWN) {
+                outcome = category.matches(failure) ? MATCHED : NOT_MATCHED;
+                outcomes[category.index] = outcome;
+            }
+            if (outcome == MATCHED) {
+                matched.add(category.category);
+            }
+        }
+        return matched;
+    }
+
+    private static int key(final Status status, final boolean flaky) {
+        final int value = isNull(status) ? 0 : status.ordinal() + 1;
+        return flaky ? value * 2 + 1 : value * 2;
+    }
+
+    /**
+     * Category with compiled patterns.
+     */
+    private static final class CompiledCategory {
+
+        private final int index;
+
+        private final Category category;
+
+        private final Set<Status> statuses;
+
+        private final boolean flaky;
+
+        private final Pattern message;
+
+        private final Pattern trace;
+
+        CompiledCategory(final int index, final Category category) {
+            this.index = index;
+            this.category = category;
+            this.statuses = category.getMatchedStatuses().isEmpty()
+                    ? Collections.emptySet()
+                    : EnumSet.copyOf(category.getMatchedStatuses());
+            this.flaky = category.isFlaky();
+            this.message = compile(category.getMessageRegex());
+            this.trace = compile(category.getTraceRegex());
+        }
+
+        /* default */ boolean matchesStatus(final Status status) {
+            return statuses.isEmpty() || nonNull(status) && statuses.contains(status);
+        }
+
+        /* default */ boolean matches(final Failure failure) {
+            return matches(message, failure.getMessage()) && matches(trace, failure.getTrace());
+        }
+
+        private static boolean matches(final Pattern pattern, final String value) {
+            return isNull(pattern) || nonNull(value) && pattern.matcher(value).matches();
+        }
+
+        private static Pattern compile(final String regex) {
+            return isNull(regex) ? null : Pattern.compile(regex, Pattern.DOTALL);
+        }
+    }
+}
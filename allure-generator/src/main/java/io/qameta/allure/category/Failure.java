@@ -0,0 +1,60 @@
+/*
+ *  Copyright 2019 Qameta Software OÜ
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.category;
+
+import java.util.Objects;
+
+/**
+ * Status message and status trace of a result, used as a key of failure caches.
+ *
+ * @since 2.14
+ */
+/* default */ final class Failure {
+
+    private final String message;
+
+    private final String trace;
+
+    private final int hash;
+
+    /* default */ Failure(final String message, final String trace) {
+        this.message = message;
+        this.trace = trace;
+        this.hash = Objects.hash(message, trace);
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public String getTrace() {
+        return trace;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (!(other instanceof Failure)) {
+            return false;
+        }
+        final Failure failure = (Failure) other;
+        return Objects.equals(message, failure.message) && Objects.equals(trace, failure.trace);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ *  Copyright 2019 Qameta Software OÜ
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.category;
+
+import io.qameta.allure.entity.TestResult;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.isNull;
+
+/**
+ * Signature of a failure: status message with clearly volatile tokens (uuids,
+ * timestamps, hex ids and object addresses, ports of host:port pairs) replaced
+ * by placeholders, and hash of the top frames of status trace normalized the same
+ * way. Other numbers are kept, so "expected 1500 but was 2000" and "expected 3000
+ * but was 4000" are different failures.
+ *
+ * @since 2.14
+ */
+public final class FailureSignature {
+
+    /* default */ static final int TOP_FRAMES = 5;
+
+    private static final Pattern FRAME = Pattern.compile("^\\s*at\\s+([^(\\s]+)", Pattern.MULTILINE);
+
+    private static final Pattern FRAME_ID = Pattern.compile("(?<=\\$)\\d+\\b");
+
+    private static final Pattern[] VOLATILE_PATTERNS = {
+        Pattern.compile("\\b[0-9a-fA-F]{8}(?:-[0-9a-fA-F]{4}){3}-[0-9a-fA-F]{12}\\b"),
+        Pattern.compile("\\b\\d{4}-\\d{2}-\\d{2}(?:[T ]\\d{2}:\\d{2}(?::\\d{2}(?:[.,]\\d+)?)?"
+                + "(?:Z|[+-]\\d{2}:?\\d{2})?)?\\b"),
+        Pattern.compile("\\b\\d{1,2}:\\d{2}:\\d{2}(?:[.,]\\d+)?\\b"),
+        Pattern.compile("\\b0x[0-9a-fA-F]+\\b|(?<=@)[0-9a-fA-F]{5,}\\b|\\b[0-9a-fA-F]{16,}\\b"),
+        Pattern.compile("((?://[\\w.-]+|\\blocalhost|\\b\\d{1,3}(?:\\.\\d{1,3}){3}|\\[[0-9a-fA-F:]+\\]):)\\d{1,5}\\b"),
+    };
+
+    private static final String[] PLACEHOLDERS = {"<uuid>", "<timestamp>", "<time>", "<hex>", "$1<port>"};
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final String message;
+
+    private final String frames;
+
+    private FailureSignature(final String message, final String frames) {
+        this.message = message;
+        this.frames = frames;
+    }
+
+    /**
+     * Returns signature of result failure.
+     *
+     * @param result the result.
+     * @return the signature.
+     */
+    public static FailureSignature of(final TestResult result) {
+        return of(result.getStatusMessage(), result.getStatusTrace());
+    }
+
+    /**
+     * Returns signature of failure with given status message and status trace.
+     *
+     * @param message the status message, may be null.
+     * @param trace   the status trace, may be null.
+     * @return the signature.
+     */
+    public static FailureSignature of(final String message, final String trace) {
+        return new FailureSignature(normalize(message), hashFrames(trace));
+    }
+
+    /**
+     * Creates index of signatures by exact status message and status trace, so each
+     * distinct failure is normalized once. Index is not thread safe and should be
+     * used for a single report generation only.
+     *
+     * @return the function that returns signature of result failure.
+     */
+    public static Function<TestResult, FailureSignature> createIndex() {
+        final Map<Failure, FailureSignature> index = new HashMap<>();
+        return result -> index.computeIfAbsent(
+                new Failure(result.getStatusMessage(), result.getStatusTrace()),
+                failure -> of(failure.getMessage(), failure.getTrace())
+        );
+    }
+
+    /**
+     * Creates function that returns display name of result failure: the raw status
+     * message of the first result with the same signature. Failures with equal raw
+     * message but different signatures get the message with a number suffix, so
+     * each signature has a distinct name. Function is not thread safe and should be
+     * used for a single report generation only.
+     *
+     * @return the function that returns name of result failure.
+     */
+    public static Function<TestResult, String> createNames() {
+        final Function<TestResult, FailureSignature> signatures = createIndex();
+        final Map<FailureSignature, String> names = new HashMap<>();
+        final Map<String, Integer> counts = new HashMap<>();
+        return result -> {
+            final String message = result.getStatusMessage();
+            if (isNull(message)) {
+                return null;
+            }
+            return names.computeIfAbsent(signatures.apply(result), signature -> {
+                final int count = counts.merge(message, 1, Integer::sum);
+                return count == 1 ? message : message + " #" + count;
+            });
+        };
+    }
+
+    /**
+     * Returns normalized status message, or null if there is no status message.
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Returns hash of normalized top frames of status trace, or null if there is no trace.
+     */
+    public String getFrames() {
+        return frames;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (!(other instanceof FailureSignature)) {
+            return false;
+        }
+        final FailureSignature signature = (FailureSignature) other;
+        return Objects.equals(message, signature.message) && Objects.equals(frames, signature.frames);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(message, frames);
+    }
+
+    /* default */ static String normalize(final String value) {
+        if (isNull(value)) {
+            return null;
+        }
+        String normalized = value;
+        for (int i = 0; i < VOLATILE_PATTERNS.length; i++) {
+            normalized = VOLATILE_PATTERNS[i].matcher(normalized).replaceAll(PLACEHOLDERS[i]);
+        }
+        return normalized;
+    }
+
+    private static String hashFrames(final String trace) {
+        if (isNull(trace)) {
+            return null;
+        }
+        final MessageDigest digest = createDigest();
+        final Matcher matcher = FRAME.matcher(trace);
+        for (int frame = 0; frame < TOP_FRAMES && matcher.find(); frame++) {
+            final String normalized = FRAME_ID.matcher(normalize(matcher.group(1))).replaceAll("<n>");
+            digest.update(normalized.getBytes(UTF_8));
+            digest.update((byte) '\n');
+        }
+        return toHex(digest.digest());
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Can not find hashing algorithm", e);
+        }
+    }
+
+    private static String toHex(final byte[] bytes) {
+        final char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX_DIGITS[(bytes[i] >> 4) & 0xF];
+            chars[i * 2 + 1] = HEX_DIGITS[bytes[i] & 0xF];
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ *  Copyright 2019 Qameta Software OÜ
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * The way attachment files are stored to report directory.
+ *
+ * @since 2.14
+ */
+public enum AttachmentsMode {
+
+    /**
+     * Copies attachment using {@link Files#copy(Path, Path, java.nio.file.CopyOption...)}.
+     */
+    COPY {
+        @Override
+        public AttachmentsMode store(final Path source, final Path target) throws IOException {
+            Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+            return this;
+        }
+    },
+
+    /**
+     * Creates hard link to attachment. Falls back to copy if link can not be created,
+     * e.g. if results and report are on different file systems.
+     */
+    HARDLINK {
+        @Override
+        public AttachmentsMode store(final Path source, final Path target) throws IOException {
+            Files.deleteIfExists(target);
+            try {
+                Files.createLink(target, source);
+                return this;
+            } catch (UnsupportedOperationException | FileSystemException e) {
+                return COPY.store(source, target);
+            }
+        }
+    },
+
+    /**
+     * Creates symbolic link to attachment. Report is valid only while results
+     * directory exists. Falls back to copy if link can not be created.
+     */
+    SYMLINK {
+        @Override
+        public AttachmentsMode store(final Path source, final Path target) throws IOException {
+            Files.deleteIfExists(target);
+            try {
+                Files.createSymbolicLink(target, source.toAbsolutePath());
+                return this;
+            } catch (UnsupportedOperationException | FileSystemException e) {
+                return COPY.store(source, target);
+            }
+        }
+    },
+
+    /**
+     * Copies attachment using {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)},
+     * so data is not copied to user space where operating system supports it. If the
+     * channel stops transferring data before the end of file, the rest is copied
+     * through a buffer, so target file is never truncated.
+     */
+    TRANSFER {
+        @Override
+        public AttachmentsMode store(final Path source, final Path target) throws IOException {
+            try (FileChannel in = FileChannel.open(source, READ);
+                 FileChannel out = FileChannel.open(target, WRITE, CREATE, TRUNCATE_EXISTING)) {
+                final long size = in.size();
+                long position = 0;
+                while (position < size) {
+                    final long transferred = in.transferTo(position, size - position, out);
+                    if (transferred <= 0) {
+                        copy(in, out, position);
+                        break;
+                    }
+                    position += transferred;
+                }
+            }
+            return this;
+        }
+    };
+
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Stores given attachment file to given target file.
+     *
+     * @param source the attachment file.
+     * @param target the file in report directory.
+     * @return the mode that was actually used to store the file.
+     * @throws IOException if any occurs.
+     */
+    public abstract AttachmentsMode store(Path source, Path target) throws IOException;
+
+    public static AttachmentsMode fromString(final String value) {
+        return valueOf(value.trim().toUpperCase(Locale.ENGLISH));
+    }
+
+    private static void copy(final FileChannel in, final FileChannel out, final long position) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        long offset = position;
+        int read;
+        while ((read = in.read(buffer, offset)) != -1) {
+            offset += read;
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
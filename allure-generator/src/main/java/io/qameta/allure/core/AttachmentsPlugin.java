@@ -15,23 +15,61 @@
  */
 package io.qameta.allure.core;
 
-import io.qameta.allure.Aggregator;
 import io.qameta.allure.Constants;
+import io.qameta.allure.ReadOnlyAggregator;
+import io.qameta.allure.ReportGenerationException;
 import io.qameta.allure.entity.Attachment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static io.qameta.allure.util.PropertyUtils.getProperty;
 
 /**
- * Plugin that stores attachments to report data folder.
+ * Plugin that stores attachments to report data folder. Attachments are stored
+ * concurrently using configured number of threads and configured {@link AttachmentsMode}.
+ * Attachments that share the same source, e.g. ones with identical content, are stored once.
  *
  * @since 2.0
  */
-public class AttachmentsPlugin implements Aggregator {
+public class AttachmentsPlugin implements ReadOnlyAggregator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AttachmentsPlugin.class);
+
+    private static final String ALLURE_ATTACHMENTS_MODE = "ALLURE_ATTACHMENTS_MODE";
+
+    private static final String ALLURE_ATTACHMENTS_THREADS = "ALLURE_ATTACHMENTS_THREADS";
+
+    private final AttachmentsMode mode;
+
+    private final int threads;
+
+    public AttachmentsPlugin() {
+        this(
+                getProperty(ALLURE_ATTACHMENTS_MODE).map(AttachmentsMode::fromString).orElse(AttachmentsMode.COPY),
+                getProperty(ALLURE_ATTACHMENTS_THREADS).map(Integer::parseInt).orElse(4)
+        );
+    }
+
+    public AttachmentsPlugin(final AttachmentsMode mode, final int threads) {
+        this.mode = mode;
+        this.threads = Math.max(1, threads);
+    }
 
     @Override
     public void aggregate(final Configuration configuration,
@@ -40,11 +78,101 @@ public class AttachmentsPlugin implements Aggregator {
         final Path attachmentsFolder = Files.createDirectories(
                 outputDirectory.resolve(Constants.DATA_DIR).resolve("attachments")
         );
+        final Map<String, Path> sources = new LinkedHashMap<>();
         for (LaunchResults launch : launchesResults) {
             for (Map.Entry<Path, Attachment> entry : launch.getAttachments().entrySet()) {
-                final Path file = attachmentsFolder.resolve(entry.getValue().getSource());
-                Files.copy(entry.getKey(), file, StandardCopyOption.REPLACE_EXISTING);
+                sources.putIfAbsent(entry.getValue().getSource(), entry.getKey());
             }
         }
+        final Throughput throughput = new Throughput();
+        final List<Callable<Void>> tasks = new ArrayList<>();
+        sources.forEach((source, path) -> tasks.add(() -> {
+            store(path, attachmentsFolder.resolve(source), throughput);
+            return null;
+        }));
+        if (tasks.isEmpty()) {
+            return;
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, tasks.size()));
+        try {
+            for (Future<Void> task : executor.invokeAll(tasks)) {
+                await(task);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ReportGenerationException("Attachments copying is interrupted", e);
+        } finally {
+            executor.shutdownNow();
+        }
+        throughput.log();
+    }
+
+    private void store(final Path source, final Path target, final Throughput throughput) throws IOException {
+        final long size = Files.size(source);
+        final long start = System.nanoTime();
+        final AttachmentsMode used = mode.store(source, target);
+        throughput.add(used, size, System.nanoTime() - start);
+    }
+
+    private static void await(final Future<Void> task) throws IOException, InterruptedException {
+        try {
+            task.get();
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new ReportGenerationException("Could not store attachment", cause);
+        }
+    }
+
+    /**
+     * Number of files, bytes and worker time spent per attachments mode.
+     */
+    private static class Throughput {
+
+        private final Map<AttachmentsMode, Counter> counters = new EnumMap<>(AttachmentsMode.class);
+
+        Throughput() {
+            for (AttachmentsMode value : AttachmentsMode.values()) {
+                counters.put(value, new Counter());
+            }
+        }
+
+        public void add(final AttachmentsMode mode, final long bytes, final long nanos) {
+            final Counter counter = counters.get(mode);
+            counter.files.increment();
+            counter.bytes.add(bytes);
+            counter.nanos.add(nanos);
+        }
+
+        public void log() {
+            counters.forEach((mode, counter) -> {
+                final long files = counter.files.sum();
+                if (files == 0) {
+                    return;
+                }
+                final long bytes = counter.bytes.sum();
+                final long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(counter.nanos.sum()));
+                LOGGER.info("Stored {} attachments ({} bytes) by {} in {} ms of worker time, {} KB/s",
+                        files, bytes, mode, millis, bytes * 1000 / 1024 / millis);
+            });
+        }
+    }
+
+    /**
+     * Counters of single attachments mode.
+     */
+    private static class Counter {
+
+        private final LongAdder files = new LongAdder();
+
+        private final LongAdder bytes = new LongAdder();
+
+        private final LongAdder nanos = new LongAdder();
+
     }
 }
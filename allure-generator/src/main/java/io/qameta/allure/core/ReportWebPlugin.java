@@ -17,9 +17,9 @@ package io.qameta.allure.core;
 
 import freemarker.template.Template;
 import freemarker.template.TemplateException;
-import io.qameta.allure.Aggregator;
 import io.qameta.allure.Constants;
 import io.qameta.allure.PluginConfiguration;
+import io.qameta.allure.ReadOnlyAggregator;
 import io.qameta.allure.ReportGenerationException;
 import io.qameta.allure.context.FreemarkerContext;
 import org.slf4j.Logger;
@@ -43,7 +43,7 @@ import java.util.stream.Collectors;
  *
  * @since 2.0
  */
-public class ReportWebPlugin implements Aggregator {
+public class ReportWebPlugin implements ReadOnlyAggregator {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ReportWebPlugin.class);
 
@@ -15,24 +15,70 @@
  */
 package io.qameta.allure.core;
 
-import io.qameta.allure.Aggregator;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.qameta.allure.Constants;
+import io.qameta.allure.ReadOnlyAggregator;
+import io.qameta.allure.ReportGenerationException;
 import io.qameta.allure.context.JacksonContext;
 import io.qameta.allure.entity.TestResult;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static io.qameta.allure.util.PropertyUtils.getProperty;
 
 /**
- * Plugin that stores test results to report data folder.
+ * Plugin that stores test results to report data folder. By default each result
+ * is stored to its own file. If number of shards is configured, results are packed
+ * to given number of shard files instead, one compact json record per line. The shard
+ * of a result is the hash code of its uid (as computed by {@link String#hashCode()})
+ * modulo the number of shards, so report finds the shard by uid. Each shard has its
+ * own index that maps uid of each result of the shard to its offset and length in
+ * bytes, so report loads only the index of the shard it reads from. Non ASCII
+ * characters of packed records are escaped, so offsets are the same in bytes and in
+ * characters. The number of shards is always stored to {@value #WIDGET_FILE_NAME}
+ * widget, so report does not request the indexes when results are not packed.
  *
  * @since 2.0
  */
-public class TestsResultsPlugin implements Aggregator {
+public class TestsResultsPlugin implements ReadOnlyAggregator {
+
+    public static final String WIDGET_FILE_NAME = "test-cases.json";
+
+    private static final String ALLURE_TEST_CASES_SHARDS = "ALLURE_TEST_CASES_SHARDS";
+
+    private final int shards;
+
+    public TestsResultsPlugin() {
+        this(getProperty(ALLURE_TEST_CASES_SHARDS).map(Integer::parseInt).orElse(0));
+    }
+
+    /**
+     * Creates plugin that packs results to given number of shard files.
+     *
+     * @param shards the number of shard files, or 0 to store each result to its own file.
+     * @since 2.14
+     */
+    public TestsResultsPlugin(final int shards) {
+        this.shards = shards;
+    }
 
     @Override
     public void aggregate(final Configuration configuration,
@@ -42,14 +88,103 @@ public class TestsResultsPlugin implements Aggregator {
         final Path testCasesFolder = Files.createDirectories(
                 outputDirectory.resolve(Constants.DATA_DIR).resolve("test-cases")
         );
-        final List<TestResult> results = launchesResults.stream()
-                .flatMap(launch -> launch.getAllResults().stream())
-                .collect(Collectors.toList());
-        for (TestResult result : results) {
-            final Path file = testCasesFolder.resolve(result.getSource());
-            try (OutputStream os = Files.newOutputStream(file)) {
-                context.getValue().writeValue(os, result);
+        final Path widgetsFolder = Files.createDirectories(outputDirectory.resolve(Constants.WIDGETS_DIR));
+        context.write(widgetsFolder.resolve(WIDGET_FILE_NAME), Collections.singletonMap("shards", shards));
+        if (shards > 0) {
+            writeShards(context.getValue(), launchesResults, testCasesFolder);
+            return;
+        }
+        for (LaunchResults launch : launchesResults) {
+            for (TestResult result : launch.getAllResults()) {
+                context.write(testCasesFolder.resolve(result.getSource()), launch.withStages(result));
+            }
+        }
+    }
+
+    private void writeShards(final ObjectMapper mapper,
+                             final List<LaunchResults> launchesResults,
+                             final Path testCasesFolder) throws IOException {
+        final List<List<Map.Entry<LaunchResults, TestResult>>> results = new ArrayList<>();
+        for (int i = 0; i < shards; i++) {
+            results.add(new ArrayList<>());
+        }
+        for (LaunchResults launch : launchesResults) {
+            for (TestResult result : launch.getAllResults()) {
+                final int shard = getShard(result.getUid(), shards);
+                results.get(shard).add(new SimpleImmutableEntry<>(launch, result));
+            }
+        }
+        final ObjectWriter writer = mapper.writer()
+                .without(SerializationFeature.INDENT_OUTPUT)
+                .with(JsonGenerator.Feature.ESCAPE_NON_ASCII);
+        final List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < shards; i++) {
+            final int shard = i;
+            tasks.add(() -> {
+                writeShard(writer, shard, results.get(shard), testCasesFolder);
+                return null;
+            });
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(
+                Math.min(shards, Runtime.getRuntime().availableProcessors())
+        );
+        try {
+            for (Future<Void> task : executor.invokeAll(tasks)) {
+                await(task);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ReportGenerationException("Test results writing is interrupted", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void writeShard(final ObjectWriter writer,
+                                   final int shard,
+                                   final List<Map.Entry<LaunchResults, TestResult>> results,
+                                   final Path testCasesFolder) throws IOException {
+        final Map<String, long[]> items = new LinkedHashMap<>();
+        final Path file = testCasesFolder.resolve(getShardFileName(shard));
+        try (OutputStream os = new BufferedOutputStream(Files.newOutputStream(file))) {
+            long offset = 0;
+            for (Map.Entry<LaunchResults, TestResult> entry : results) {
+                final byte[] record = writer.writeValueAsBytes(entry.getKey().withStages(entry.getValue()));
+                os.write(record);
+                os.write('\n');
+                items.put(entry.getValue().getUid(), new long[]{offset, record.length});
+                offset += record.length + 1;
+            }
+        }
+        try (OutputStream os = Files.newOutputStream(testCasesFolder.resolve(getShardIndexFileName(shard)))) {
+            writer.writeValue(os, items);
+        }
+    }
+
+    /* default */ static int getShard(final String uid, final int shards) {
+        return Math.floorMod(uid.hashCode(), shards);
+    }
+
+    /* default */ static String getShardFileName(final int shard) {
+        return String.format("shard-%d.jsonl", shard);
+    }
+
+    /* default */ static String getShardIndexFileName(final int shard) {
+        return String.format("shard-%d.index.json", shard);
+    }
+
+    private static <T> T await(final Future<T> task) throws IOException, InterruptedException {
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
             }
+            throw new ReportGenerationException("Could not write test results", cause);
         }
     }
 }
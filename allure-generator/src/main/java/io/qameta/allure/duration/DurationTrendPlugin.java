@@ -20,6 +20,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.qameta.allure.CommonJsonAggregator;
 import io.qameta.allure.Constants;
+import io.qameta.allure.ReadOnlyAggregator;
 import io.qameta.allure.core.LaunchResults;
 import io.qameta.allure.trend.AbstractTrendPlugin;
 
@@ -33,7 +34,7 @@ import java.util.stream.Stream;
 /**
  * Plugin that generates data for Duration-Trend graph.
  */
-public class DurationTrendPlugin extends AbstractTrendPlugin<DurationTrendItem> {
+public class DurationTrendPlugin extends AbstractTrendPlugin<DurationTrendItem> implements ReadOnlyAggregator {
 
     protected static final String JSON_FILE_NAME = "duration-trend.json";
 
@@ -16,6 +16,7 @@
 package io.qameta.allure.environment;
 
 import io.qameta.allure.CommonJsonAggregator;
+import io.qameta.allure.ReadOnlyAggregator;
 import io.qameta.allure.core.LaunchResults;
 import io.qameta.allure.entity.EnvironmentItem;
 
@@ -35,7 +36,7 @@ import static java.util.stream.Collectors.toSet;
 /**
  * @author Egor Borisov ehborisov@gmail.com
  */
-public class Allure1EnvironmentPlugin extends CommonJsonAggregator {
+public class Allure1EnvironmentPlugin extends CommonJsonAggregator implements ReadOnlyAggregator {
 
     public Allure1EnvironmentPlugin() {
         super("widgets", "environment.json");
@@ -17,6 +17,7 @@ package io.qameta.allure.executor;
 
 import io.qameta.allure.CommonJsonAggregator;
 import io.qameta.allure.Constants;
+import io.qameta.allure.ReadOnlyAggregator;
 import io.qameta.allure.Reader;
 import io.qameta.allure.context.JacksonContext;
 import io.qameta.allure.core.Configuration;
@@ -35,7 +36,7 @@ import java.util.stream.Collectors;
 /**
  * @author charlie (Dmitry Baev).
  */
-public class ExecutorPlugin extends CommonJsonAggregator implements Reader {
+public class ExecutorPlugin extends CommonJsonAggregator implements Reader, ReadOnlyAggregator {
 
     public static final String EXECUTORS_BLOCK_NAME = "executor";
     protected static final String JSON_FILE_NAME = "executor.json";
@@ -15,7 +15,7 @@
  */
 package io.qameta.allure.ga;
 
-import io.qameta.allure.Aggregator;
+import io.qameta.allure.ReadOnlyAggregator;
 import io.qameta.allure.core.Configuration;
 import io.qameta.allure.core.LaunchResults;
 import io.qameta.allure.entity.ExecutorInfo;
@@ -56,7 +56,7 @@ import static io.qameta.allure.executor.ExecutorPlugin.EXECUTORS_BLOCK_NAME;
  * @author charlie (Dmitry Baev).
  */
 @SuppressWarnings({"PMD.ExcessiveImports"})
-public class GaPlugin implements Aggregator {
+public class GaPlugin implements ReadOnlyAggregator {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(GaPlugin.class);
 
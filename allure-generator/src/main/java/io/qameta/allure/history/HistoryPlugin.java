@@ -23,29 +23,29 @@ import io.qameta.allure.core.Configuration;
 import io.qameta.allure.core.LaunchResults;
 import io.qameta.allure.core.ResultsVisitor;
 import io.qameta.allure.entity.ExecutorInfo;
-import io.qameta.allure.entity.Statistic;
-import io.qameta.allure.entity.Status;
 import io.qameta.allure.entity.TestResult;
+import io.qameta.allure.entity.Time;
 import io.qameta.allure.executor.ExecutorPlugin;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
+import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
-import static io.qameta.allure.history.HistoryItem.comparingByTime;
+import static io.qameta.allure.util.PropertyUtils.getProperty;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 
 /**
- * Plugin that adds history to the report.
+ * Plugin that adds history to the report. History is stored either as
+ * {@code history.json} or, if binary format is enabled, in {@link HistoryStore}.
  *
  * @since 2.0
  */
@@ -53,20 +53,96 @@ public class HistoryPlugin implements Reader, Aggregator {
 
     private static final String HISTORY_BLOCK_NAME = "history";
 
+    private static final String HISTORY_STORE_BLOCK_NAME = "historyStore";
+
     private static final String HISTORY_FILE_NAME = "history.json";
 
+    private static final String ALLURE_HISTORY_BINARY = "ALLURE_HISTORY_BINARY";
+
+    private static final String ALLURE_HISTORY_DEPTH = "ALLURE_HISTORY_DEPTH";
+
+    private static final String ALLURE_HISTORY_DIRECTORY = "ALLURE_HISTORY_DIRECTORY";
+
     //@formatter:off
     private static final TypeReference<Map<String, HistoryData>> HISTORY_TYPE =
             new TypeReference<Map<String, HistoryData>>() {
             };
     //@formatter:on
 
+    private final boolean binary;
+
+    private final int depth;
+
+    private final Path storeDirectory;
+
+    public HistoryPlugin() {
+        this(
+                getProperty(ALLURE_HISTORY_BINARY).map(Boolean::parseBoolean).orElse(false),
+                getProperty(ALLURE_HISTORY_DEPTH).map(Integer::parseInt).orElse(HistoryStore.DEFAULT_DEPTH),
+                getProperty(ALLURE_HISTORY_DIRECTORY).map(Paths::get).orElse(null)
+        );
+    }
+
+    /**
+     * Creates plugin that optionally stores history in binary format. Binary history
+     * from results is copied to the report as raw bytes and updated there, so only
+     * records of tests from the current launch are decoded and written.
+     *
+     * @param binary true to store history in binary format.
+     * @since 2.14
+     */
+    public HistoryPlugin(final boolean binary) {
+        this(binary, HistoryStore.DEFAULT_DEPTH);
+    }
+
+    /**
+     * Creates plugin that keeps given number of history items per test. Depth of
+     * existing binary history is kept as is.
+     *
+     * @param binary true to store history in binary format.
+     * @param depth  the number of history items to keep per test.
+     * @since 2.14
+     */
+    public HistoryPlugin(final boolean binary, final int depth) {
+        this(binary, depth, null);
+    }
+
+    /**
+     * Creates plugin that keeps binary history in given directory instead of the
+     * report. The store in that directory is opened and updated in place, so history
+     * I/O of a report depends only on the number of tests in the launch. Results
+     * already recorded to the store, which happens when the same results are
+     * generated again, are not added twice. History from results is only read to
+     * create the store when it does not exist yet.
+     *
+     * @param binary         true to store history in binary format.
+     * @param depth          the number of history items to keep per test.
+     * @param storeDirectory the directory to keep binary history in, or null to keep it in the report.
+     * @since 2.14
+     */
+    public HistoryPlugin(final boolean binary, final int depth, final Path storeDirectory) {
+        if (depth <= 0) {
+            throw new IllegalArgumentException("History depth should be positive: " + depth);
+        }
+        this.binary = binary;
+        this.depth = depth;
+        this.storeDirectory = storeDirectory;
+    }
+
     @Override
     public void readResults(final Configuration configuration,
                             final ResultsVisitor visitor,
                             final Path directory) {
         final JacksonContext context = configuration.requireContext(JacksonContext.class);
-        final Path historyFile = directory.resolve(HISTORY_BLOCK_NAME).resolve(HISTORY_FILE_NAME);
+        final Path historyFolder = directory.resolve(HISTORY_BLOCK_NAME);
+        if (binary && Objects.nonNull(storeDirectory) && HistoryStore.exists(storeDirectory)) {
+            return;
+        }
+        if (binary && HistoryStore.exists(historyFolder)) {
+            visitor.visitExtra(HISTORY_STORE_BLOCK_NAME, historyFolder.toAbsolutePath().toString());
+            return;
+        }
+        final Path historyFile = historyFolder.resolve(HISTORY_FILE_NAME);
         if (Files.exists(historyFile)) {
             try (InputStream is = Files.newInputStream(historyFile)) {
                 final Map<String, HistoryData> history = context.getValue().readValue(is, HISTORY_TYPE);
@@ -83,42 +159,108 @@ public class HistoryPlugin implements Reader, Aggregator {
                           final Path outputDirectory) throws IOException {
         final JacksonContext context = configuration.requireContext(JacksonContext.class);
         final Path historyFolder = Files.createDirectories(outputDirectory.resolve(HISTORY_BLOCK_NAME));
-        final Path historyFile = historyFolder.resolve(HISTORY_FILE_NAME);
-        try (OutputStream os = Files.newOutputStream(historyFile)) {
-            context.getValue().writeValue(os, getData(launchesResults));
+        if (binary) {
+            writeStore(launchesResults, Optional.ofNullable(storeDirectory).orElse(historyFolder));
+            return;
         }
+        final Path historyFile = historyFolder.resolve(HISTORY_FILE_NAME);
+        context.write(historyFile, getData(launchesResults));
     }
 
-    private boolean isNewFailed(final List<HistoryItem> histories) {
-        final List<Status> statuses = histories.stream()
-                .sorted(comparingByTime())
-                .map(HistoryItem::getStatus)
+    /**
+     * Updates binary history in given folder. If there is no store in the folder, the
+     * store from the first results directory is copied there, and stores of other
+     * results directories are merged into it, so later directories win for the same
+     * history ids, the same way as {@code history.json} files do.
+     */
+    private void writeStore(final List<LaunchResults> launches, final Path historyFolder) throws IOException {
+        final List<Path> sources = launches.stream()
+                .map(launch -> launch.<String>getExtra(HISTORY_STORE_BLOCK_NAME))
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .distinct()
+                .map(Paths::get)
                 .collect(Collectors.toList());
-        return statuses.size() > 1
-                && statuses.get(0) == Status.FAILED
-                && statuses.get(1) == Status.PASSED;
+        final boolean seed = Objects.isNull(storeDirectory) || !HistoryStore.exists(historyFolder);
+        if (seed && !sources.isEmpty()) {
+            for (String name : new String[]{HistoryStore.DATA_FILE_NAME, HistoryStore.INDEX_FILE_NAME}) {
+                Files.copy(sources.get(0).resolve(name), historyFolder.resolve(name), REPLACE_EXISTING);
+            }
+        }
+        final Map<String, HistoryData> legacy = getHistory(launches);
+        try (HistoryStore store = new HistoryStore(historyFolder, depth)) {
+            if (seed) {
+                for (Path source : sources.subList(Math.min(1, sources.size()), sources.size())) {
+                    try (HistoryStore other = new HistoryStore(source)) {
+                        store.putAll(other);
+                    }
+                }
+            }
+            for (LaunchResults launch : launches) {
+                final ExecutorInfo executorInfo = launch.getExtra(
+                        ExecutorPlugin.EXECUTORS_BLOCK_NAME,
+                        ExecutorInfo::new
+                );
+                for (TestResult result : launch.getResults()) {
+                    final String historyId = result.getHistoryId();
+                    if (Objects.nonNull(historyId)) {
+                        updateStore(store, historyId, legacy.get(historyId), result, executorInfo);
+                    }
+                }
+            }
+        }
     }
 
-    private boolean isFlaky(final List<HistoryItem> histories) {
-        if (histories.size() > 1 && histories.get(0).status == Status.FAILED) {
-            final List<Status> statuses = histories.subList(1, histories.size())
-                    .stream()
-                    .sorted(comparingByTime())
-                    .map(HistoryItem::getStatus)
-                    .collect(Collectors.toList());
-            return statuses.indexOf(Status.PASSED) < statuses.lastIndexOf(Status.FAILED)
-                    && statuses.indexOf(Status.PASSED) != -1;
+    private void updateStore(final HistoryStore store,
+                             final String historyId,
+                             final HistoryData legacy,
+                             final TestResult result,
+                             final ExecutorInfo executorInfo) throws IOException {
+        final Optional<HistoryData> stored = store.get(historyId);
+        if (!stored.isPresent()) {
+            final HistoryRing history = new HistoryRing(store.getDepth(), legacy);
+            updateHistory(history, result, executorInfo);
+            store.put(historyId, history.toHistoryData());
+            return;
         }
-        return false;
+        final List<HistoryItem> items = stored.get().getItems();
+        final int recorded = indexOf(items, result);
+        if (recorded < 0) {
+            final HistoryRing history = new HistoryRing(store.getDepth(), stored.get());
+            final HistoryItem item = updateHistory(history, result, executorInfo);
+            store.append(historyId, history.getStatistic(), item);
+            return;
+        }
+        final HistoryData previous = new HistoryData()
+                .setStatistic(stored.get().getStatistic())
+                .setItems(items.subList(recorded + 1, items.size()));
+        addHistory(new HistoryRing(store.getDepth(), previous), result, executorInfo);
+    }
+
+    /**
+     * Returns position of item that records given result, or -1 if there is no such item.
+     * Items are matched by status and time, since uids are generated on each read of results.
+     */
+    private static int indexOf(final List<HistoryItem> items, final TestResult result) {
+        final Time time = result.getTime();
+        if (Objects.isNull(time) || Objects.isNull(time.getStart())) {
+            return -1;
+        }
+        for (int i = 0; i < items.size(); i++) {
+            final HistoryItem item = items.get(i);
+            if (item.getStatus() == result.getStatus()
+                    && Objects.nonNull(item.getTime())
+                    && Objects.equals(item.getTime().getStart(), time.getStart())
+                    && Objects.equals(item.getTime().getStop(), time.getStop())) {
+                return i;
+            }
+        }
+        return -1;
     }
 
     protected Map<String, HistoryData> getData(final List<LaunchResults> launches) {
-        final Map<String, HistoryData> history = launches.stream()
-                .map(launch -> launch.getExtra(HISTORY_BLOCK_NAME, (Supplier<Map<String, HistoryData>>) HashMap::new))
-                .reduce(new HashMap<>(), (a, b) -> {
-                    a.putAll(b);
-                    return a;
-                });
+        final Map<String, HistoryData> history = getHistory(launches);
+        final Map<String, HistoryRing> updated = new HashMap<>();
         launches.forEach(launch -> {
             final ExecutorInfo executorInfo = launch.getExtra(
                     ExecutorPlugin.EXECUTORS_BLOCK_NAME,
@@ -126,24 +268,39 @@ public class HistoryPlugin implements Reader, Aggregator {
             );
             launch.getResults().stream()
                     .filter(result -> Objects.nonNull(result.getHistoryId()))
-                    .forEach(result -> updateHistory(history, result, executorInfo));
+                    .forEach(result -> {
+                        final HistoryRing ring = updated.computeIfAbsent(
+                                result.getHistoryId(),
+                                id -> new HistoryRing(depth, history.get(id))
+                        );
+                        updateHistory(ring, result, executorInfo);
+                    });
         });
+        updated.forEach((id, ring) -> history.put(id, ring.toHistoryData()));
         return history;
     }
 
-    private void updateHistory(final Map<String, HistoryData> history,
-                               final TestResult result,
-                               final ExecutorInfo info) {
-        //@formatter:off
-        final HistoryData data = history.computeIfAbsent(
-                result.getHistoryId(),
-                id -> new HistoryData().setStatistic(new Statistic())
-        );
-        //@formatter:on
+    private static Map<String, HistoryData> getHistory(final List<LaunchResults> launches) {
+        return launches.stream()
+                .map(launch -> launch.getExtra(HISTORY_BLOCK_NAME, (Supplier<Map<String, HistoryData>>) HashMap::new))
+                .reduce(new HashMap<>(), (a, b) -> {
+                    a.putAll(b);
+                    return a;
+                });
+    }
+
+    private HistoryItem updateHistory(final HistoryRing history,
+                                      final TestResult result,
+                                      final ExecutorInfo info) {
+        history.getStatistic().update(result);
+        return addHistory(history, result, info);
+    }
 
-        data.getStatistic().update(result);
-        if (!data.getItems().isEmpty()) {
-            result.addExtraBlock(HISTORY_BLOCK_NAME, copy(data));
+    private HistoryItem addHistory(final HistoryRing history,
+                                   final TestResult result,
+                                   final ExecutorInfo info) {
+        if (!history.isEmpty()) {
+            result.addExtraBlock(HISTORY_BLOCK_NAME, history.toHistoryData());
         }
         final HistoryItem newItem = new HistoryItem()
                 .setUid(result.getUid())
@@ -155,21 +312,10 @@ public class HistoryPlugin implements Reader, Aggregator {
             newItem.setReportUrl(createReportUrl(info.getReportUrl(), result.getUid()));
         }
 
-        final List<HistoryItem> newItems = Stream.concat(Stream.of(newItem), data.getItems().stream())
-                .limit(20)
-                .collect(Collectors.toList());
-        result.setNewFailed(isNewFailed(newItems));
-        result.setFlaky(isFlaky(newItems));
-        data.setItems(newItems);
-    }
-
-    private static HistoryData copy(final HistoryData other) {
-        final Statistic statistic = new Statistic();
-        statistic.merge(other.getStatistic());
-        final List<HistoryItem> items = new ArrayList<>(other.getItems());
-        return new HistoryData()
-                .setStatistic(statistic)
-                .setItems(items);
+        history.add(newItem);
+        result.setNewFailed(history.isNewFailed());
+        result.setFlaky(history.isFlaky());
+        return newItem;
     }
 
     private static String createReportUrl(final String reportUrl, final String uuid) {
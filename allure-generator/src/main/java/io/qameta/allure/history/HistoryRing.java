@@ -0,0 +1,134 @@
+/*
+ *  Copyright 2019 Qameta Software OÜ
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.history;
+
+import io.qameta.allure.entity.Statistic;
+import io.qameta.allure.entity.Status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Fixed-capacity history of a single test. Items are kept in a ring together with
+ * their status codes, in the order they were added, so new failed and flaky checks
+ * are done with a single pass over status codes without sorting.
+ *
+ * @since 2.14
+ */
+/* default */ final class HistoryRing {
+
+    private static final byte FAILED = code(Status.FAILED);
+
+    private static final byte PASSED = code(Status.PASSED);
+
+    private final HistoryItem[] items;
+
+    private final byte[] statuses;
+
+    private final Statistic statistic = new Statistic();
+
+    private int head = -1;
+
+    private int size;
+
+    /**
+     * Creates history with given depth filled with items of given history.
+     *
+     * @param depth  the max number of items to keep.
+     * @param source the history with items ordered from the newest to the oldest, or null.
+     */
+    /* default */ HistoryRing(final int depth, final HistoryData source) {
+        this.items = new HistoryItem[depth];
+        this.statuses = new byte[depth];
+        if (Objects.nonNull(source)) {
+            statistic.merge(source.getStatistic());
+            final List<HistoryItem> previous = source.getItems();
+            for (int i = Math.min(previous.size(), depth) - 1; i >= 0; i--) {
+                add(previous.get(i));
+            }
+        }
+    }
+
+    public Statistic getStatistic() {
+        return statistic;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void add(final HistoryItem item) {
+        head = (head + 1) % items.length;
+        items[head] = item;
+        statuses[head] = code(item.getStatus());
+        size = Math.min(size + 1, items.length);
+    }
+
+    /**
+     * Checks if the newest item is failed while the previous one is passed.
+     */
+    public boolean isNewFailed() {
+        return size > 1 && status(0) == FAILED && status(1) == PASSED;
+    }
+
+    /**
+     * Checks if the newest item is failed and previous items have a passed item
+     * followed by a failed one.
+     */
+    public boolean isFlaky() {
+        if (size < 2 || status(0) != FAILED) {
+            return false;
+        }
+        boolean passed = false;
+        for (int age = 1; age < size; age++) {
+            final byte status = status(age);
+            if (status == PASSED) {
+                passed = true;
+            } else if (passed && status == FAILED) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns snapshot of the history with items ordered from the newest to the oldest.
+     */
+    public HistoryData toHistoryData() {
+        final Statistic copy = new Statistic();
+        copy.merge(statistic);
+        final List<HistoryItem> list = new ArrayList<>(size);
+        for (int age = 0; age < size; age++) {
+            list.add(items[index(age)]);
+        }
+        return new HistoryData()
+                .setStatistic(copy)
+                .setItems(list);
+    }
+
+    private byte status(final int age) {
+        return statuses[index(age)];
+    }
+
+    private int index(final int age) {
+        return (head - age + items.length) % items.length;
+    }
+
+    private static byte code(final Status status) {
+        return (byte) (Objects.isNull(status) ? 0 : status.ordinal() + 1);
+    }
+}
@@ -0,0 +1,489 @@
+/*
+ *  Copyright 2019 Qameta Software OÜ
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.history;
+
+import io.qameta.allure.entity.Statistic;
+import io.qameta.allure.entity.Status;
+import io.qameta.allure.entity.Time;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Binary history storage. Keeps history of each history id in a fixed-width record
+ * of the data file. The index file is an open addressing hash table of MD5 hashes of
+ * history ids and numbers of their records. Items of a record are kept in a ring,
+ * so adding an item rewrites only the statistic and a single item slot. Depth of
+ * the ring is chosen when store is created and kept in the data file header.
+ * Both files are memory-mapped, and only the index buckets and records of looked
+ * up history ids are touched, so the store is never loaded as a whole.
+ *
+ * Only uid, status and time of history items are stored. Uids longer than
+ * {@value #UID_SIZE} characters are not stored.
+ *
+ * @since 2.14
+ */
+public class HistoryStore implements Closeable {
+
+    public static final String DATA_FILE_NAME = "history.bin";
+
+    public static final String INDEX_FILE_NAME = "history.idx";
+
+    public static final int DEFAULT_DEPTH = 20;
+
+    /* default */ static final int UID_SIZE = 23;
+
+    private static final int MAGIC = 0x414c4831;
+
+    private static final int INDEX_MAGIC = 0x414c4849;
+
+    private static final int HEADER_SIZE = 8;
+
+    private static final int INDEX_HEADER_SIZE = 16;
+
+    private static final int CAPACITY_OFFSET = Integer.BYTES;
+
+    private static final int COUNT_OFFSET = 2 * Integer.BYTES;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private static final int KEY_SIZE = 16;
+
+    private static final int BUCKET_SIZE = KEY_SIZE + Integer.BYTES;
+
+    private static final long NULL = Long.MIN_VALUE;
+
+    private static final int STATISTIC_SIZE = 5 * Long.BYTES;
+
+    private static final int HEAD_OFFSET = STATISTIC_SIZE;
+
+    private static final int SIZE_OFFSET = HEAD_OFFSET + Integer.BYTES;
+
+    private static final int ITEMS_OFFSET = SIZE_OFFSET + Integer.BYTES;
+
+    private static final int ITEM_SIZE = 1 + 3 * Long.BYTES + 1 + UID_SIZE;
+
+    private static final int RECORDS_PER_SEGMENT = 4096;
+
+    private final FileChannel data;
+
+    private final FileChannel index;
+
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+
+    private final MessageDigest md5;
+
+    private final int depth;
+
+    private final int recordSize;
+
+    private final long segmentSize;
+
+    private MappedByteBuffer table;
+
+    private int capacity;
+
+    private int count;
+
+    /**
+     * Opens the store in given directory, creating its files with default depth if needed.
+     *
+     * @param directory the directory with store files.
+     * @throws IOException if files can not be opened or have unknown format.
+     */
+    public HistoryStore(final Path directory) throws IOException {
+        this(directory, DEFAULT_DEPTH);
+    }
+
+    /**
+     * Opens the store in given directory, creating its files if needed. Depth of
+     * existing store is kept, since records can not be resized in place.
+     *
+     * @param directory the directory with store files.
+     * @param depth     the number of items to keep per history id in new store.
+     * @throws IOException if files can not be opened or have unknown format.
+     */
+    public HistoryStore(final Path directory, final int depth) throws IOException {
+        Files.createDirectories(directory);
+        this.md5 = createDigest();
+        this.data = FileChannel.open(directory.resolve(DATA_FILE_NAME), CREATE, READ, WRITE);
+        this.index = FileChannel.open(directory.resolve(INDEX_FILE_NAME), CREATE, READ, WRITE);
+        try {
+            this.depth = readHeader(depth);
+            openIndex();
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+        this.recordSize = ITEMS_OFFSET + this.depth * ITEM_SIZE;
+        this.segmentSize = (long) RECORDS_PER_SEGMENT * recordSize;
+    }
+
+    /**
+     * Checks if given directory contains store files.
+     *
+     * @param directory the directory to check.
+     * @return true if both data and index files exist.
+     */
+    public static boolean exists(final Path directory) {
+        return Files.exists(directory.resolve(DATA_FILE_NAME))
+                && Files.exists(directory.resolve(INDEX_FILE_NAME));
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Returns history of given history id with items ordered from the newest to the oldest.
+     *
+     * @param historyId the history id.
+     * @return history, or empty if there is no history for given id.
+     * @throws IOException if any occurs.
+     */
+    public Optional<HistoryData> get(final String historyId) throws IOException {
+        final int slot = slotAt(find(key(historyId)));
+        if (slot < 0) {
+            return Optional.empty();
+        }
+        return Optional.of(readRecord(segment(slot), offset(slot)));
+    }
+
+    /**
+     * Updates statistic of given history id and adds the item as the newest one,
+     * replacing the oldest item if history is full.
+     *
+     * @param historyId the history id.
+     * @param statistic the new statistic.
+     * @param item      the item to add.
+     * @throws IOException if any occurs.
+     */
+    public void append(final String historyId, final Statistic statistic, final HistoryItem item)
+            throws IOException {
+        final byte[] key = key(historyId);
+        final int slot = slotAt(find(key));
+        if (slot < 0) {
+            write(key, new HistoryData().setStatistic(statistic).setItems(Collections.singletonList(item)));
+            return;
+        }
+        final MappedByteBuffer segment = segment(slot);
+        final int offset = offset(slot);
+        writeStatistic(segment, offset, statistic);
+        final int head = (segment.getInt(offset + HEAD_OFFSET) + 1) % depth;
+        final int size = Math.min(segment.getInt(offset + SIZE_OFFSET) + 1, depth);
+        segment.putInt(offset + HEAD_OFFSET, head);
+        segment.putInt(offset + SIZE_OFFSET, size);
+        writeItem(segment, itemOffset(offset, head), item);
+    }
+
+    /**
+     * Replaces history of given history id with given one. Only {@link #getDepth()}
+     * newest items are kept.
+     *
+     * @param historyId the history id.
+     * @param history   the history with items ordered from the newest to the oldest.
+     * @throws IOException if any occurs.
+     */
+    public void put(final String historyId, final HistoryData history) throws IOException {
+        write(key(historyId), history);
+    }
+
+    /**
+     * Copies history of all history ids of other store to this store, replacing
+     * history of the same ids.
+     *
+     * @param other the store to copy history from.
+     * @throws IOException if any occurs.
+     */
+    public void putAll(final HistoryStore other) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(other.recordSize);
+        for (int bucket = 0; bucket < other.capacity; bucket++) {
+            final int slot = other.slotAt(bucket);
+            if (slot >= 0) {
+                buffer.clear();
+                other.data.read(buffer, HEADER_SIZE + (long) slot * other.recordSize);
+                write(other.keyAt(bucket), other.readRecord(buffer, 0));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        segments.forEach(MappedByteBuffer::force);
+        if (Objects.nonNull(table)) {
+            table.force();
+        }
+        try {
+            index.close();
+        } finally {
+            data.close();
+        }
+    }
+
+    private int readHeader(final int newDepth) throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        if (data.size() == 0) {
+            header.putInt(MAGIC).putInt(newDepth).flip();
+            data.write(header, 0);
+            return newDepth;
+        }
+        data.read(header, 0);
+        header.flip();
+        if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+            throw new IOException("Unknown history file format");
+        }
+        final int existingDepth = header.getInt();
+        if (existingDepth <= 0) {
+            throw new IOException("History file is corrupted");
+        }
+        return existingDepth;
+    }
+
+    private void openIndex() throws IOException {
+        if (index.size() == 0) {
+            resizeIndex(INITIAL_CAPACITY);
+            return;
+        }
+        final ByteBuffer header = ByteBuffer.allocate(INDEX_HEADER_SIZE);
+        index.read(header, 0);
+        header.flip();
+        if (header.remaining() < INDEX_HEADER_SIZE || header.getInt() != INDEX_MAGIC) {
+            throw new IOException("Unknown history index format");
+        }
+        final int existingCapacity = header.getInt();
+        final int existingCount = header.getInt();
+        if (Integer.bitCount(existingCapacity) != 1
+                || existingCount < 0 || existingCount > existingCapacity / 2
+                || index.size() != tableSize(existingCapacity)) {
+            throw new IOException("History index is corrupted");
+        }
+        this.capacity = existingCapacity;
+        this.count = existingCount;
+        this.table = index.map(FileChannel.MapMode.READ_WRITE, 0, tableSize(capacity));
+    }
+
+    /**
+     * Rebuilds the index table with given capacity. Only happens when the table is
+     * half full, so it costs amortized constant time per added history id.
+     */
+    private void resizeIndex(final int newCapacity) throws IOException {
+        final byte[][] keys = new byte[count][];
+        final int[] slots = new int[count];
+        int copied = 0;
+        for (int bucket = 0; bucket < capacity; bucket++) {
+            final int slot = slotAt(bucket);
+            if (slot >= 0) {
+                keys[copied] = keyAt(bucket);
+                slots[copied++] = slot;
+            }
+        }
+        this.capacity = newCapacity;
+        this.table = index.map(FileChannel.MapMode.READ_WRITE, 0, tableSize(newCapacity));
+        table.putInt(0, INDEX_MAGIC);
+        table.putInt(CAPACITY_OFFSET, newCapacity);
+        table.putInt(COUNT_OFFSET, count);
+        for (int bucket = 0; bucket < newCapacity; bucket++) {
+            table.putInt(bucketOffset(bucket) + KEY_SIZE, 0);
+        }
+        for (int i = 0; i < copied; i++) {
+            putBucket(find(keys[i]), keys[i], slots[i]);
+        }
+    }
+
+    /**
+     * Returns the bucket holding given key, or the empty bucket the key should be put to.
+     */
+    private int find(final byte[] key) {
+        final int mask = capacity - 1;
+        int bucket = ByteBuffer.wrap(key).getInt() & mask;
+        while (slotAt(bucket) >= 0 && !Arrays.equals(key, keyAt(bucket))) {
+            bucket = (bucket + 1) & mask;
+        }
+        return bucket;
+    }
+
+    private int slotAt(final int bucket) {
+        return table.getInt(bucketOffset(bucket) + KEY_SIZE) - 1;
+    }
+
+    private byte[] keyAt(final int bucket) {
+        final byte[] key = new byte[KEY_SIZE];
+        final int offset = bucketOffset(bucket);
+        for (int i = 0; i < KEY_SIZE; i++) {
+            key[i] = table.get(offset + i);
+        }
+        return key;
+    }
+
+    private void putBucket(final int bucket, final byte[] key, final int slot) {
+        final int offset = bucketOffset(bucket);
+        for (int i = 0; i < KEY_SIZE; i++) {
+            table.put(offset + i, key[i]);
+        }
+        table.putInt(offset + KEY_SIZE, slot + 1);
+    }
+
+    private void write(final byte[] key, final HistoryData history) throws IOException {
+        int slot = slotAt(find(key));
+        if (slot < 0) {
+            if ((count + 1) * 2 > capacity) {
+                resizeIndex(capacity * 2);
+            }
+            slot = count;
+            putBucket(find(key), key, slot);
+            count++;
+            table.putInt(COUNT_OFFSET, count);
+        }
+        final MappedByteBuffer segment = segment(slot);
+        final int offset = offset(slot);
+        writeStatistic(segment, offset, history.getStatistic());
+        final List<HistoryItem> items = Optional.ofNullable(history.getItems()).orElseGet(Collections::emptyList);
+        final int size = Math.min(items.size(), depth);
+        segment.putInt(offset + HEAD_OFFSET, size - 1);
+        segment.putInt(offset + SIZE_OFFSET, size);
+        for (int age = 0; age < size; age++) {
+            writeItem(segment, itemOffset(offset, size - 1 - age), items.get(age));
+        }
+    }
+
+    private HistoryData readRecord(final ByteBuffer buffer, final int offset) {
+        final Statistic statistic = new Statistic()
+                .setFailed(buffer.getLong(offset))
+                .setBroken(buffer.getLong(offset + Long.BYTES))
+                .setPassed(buffer.getLong(offset + 2 * Long.BYTES))
+                .setSkipped(buffer.getLong(offset + 3 * Long.BYTES))
+                .setUnknown(buffer.getLong(offset + 4 * Long.BYTES));
+        final int head = buffer.getInt(offset + HEAD_OFFSET);
+        final int size = buffer.getInt(offset + SIZE_OFFSET);
+        final List<HistoryItem> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(readItem(buffer, itemOffset(offset, (head - i + depth) % depth)));
+        }
+        return new HistoryData().setStatistic(statistic).setItems(items);
+    }
+
+    private static void writeStatistic(final ByteBuffer buffer, final int offset, final Statistic source) {
+        final Statistic statistic = Optional.ofNullable(source).orElseGet(Statistic::new);
+        buffer.putLong(offset, statistic.getFailed());
+        buffer.putLong(offset + Long.BYTES, statistic.getBroken());
+        buffer.putLong(offset + 2 * Long.BYTES, statistic.getPassed());
+        buffer.putLong(offset + 3 * Long.BYTES, statistic.getSkipped());
+        buffer.putLong(offset + 4 * Long.BYTES, statistic.getUnknown());
+    }
+
+    private MappedByteBuffer segment(final int slot) throws IOException {
+        final int number = slot / RECORDS_PER_SEGMENT;
+        while (segments.size() <= number) {
+            final long position = HEADER_SIZE + segments.size() * segmentSize;
+            segments.add(data.map(FileChannel.MapMode.READ_WRITE, position, segmentSize));
+        }
+        return segments.get(number);
+    }
+
+    private int offset(final int slot) {
+        return slot % RECORDS_PER_SEGMENT * recordSize;
+    }
+
+    private static int bucketOffset(final int bucket) {
+        return INDEX_HEADER_SIZE + bucket * BUCKET_SIZE;
+    }
+
+    private static long tableSize(final int capacity) {
+        return INDEX_HEADER_SIZE + (long) capacity * BUCKET_SIZE;
+    }
+
+    private static int itemOffset(final int recordOffset, final int position) {
+        return recordOffset + ITEMS_OFFSET + position * ITEM_SIZE;
+    }
+
+    private static HistoryItem readItem(final ByteBuffer buffer, final int offset) {
+        final int status = buffer.get(offset);
+        final Time time = new Time()
+                .setStart(fromLong(buffer.getLong(offset + 1)))
+                .setStop(fromLong(buffer.getLong(offset + 1 + Long.BYTES)))
+                .setDuration(fromLong(buffer.getLong(offset + 1 + 2 * Long.BYTES)));
+        final int uidOffset = offset + 1 + 3 * Long.BYTES;
+        final int uidLength = buffer.get(uidOffset);
+        final byte[] uid = new byte[uidLength];
+        for (int i = 0; i < uidLength; i++) {
+            uid[i] = buffer.get(uidOffset + 1 + i);
+        }
+        return new HistoryItem()
+                .setStatus(status == 0 ? null : Status.values()[status - 1])
+                .setTime(time)
+                .setUid(uidLength == 0 ? null : new String(uid, US_ASCII));
+    }
+
+    private static void writeItem(final ByteBuffer buffer, final int offset, final HistoryItem item) {
+        buffer.put(offset, (byte) (Objects.isNull(item.getStatus()) ? 0 : item.getStatus().ordinal() + 1));
+        final Time time = Optional.ofNullable(item.getTime()).orElseGet(Time::new);
+        buffer.putLong(offset + 1, toLong(time.getStart()));
+        buffer.putLong(offset + 1 + Long.BYTES, toLong(time.getStop()));
+        buffer.putLong(offset + 1 + 2 * Long.BYTES, toLong(time.getDuration()));
+        final int uidOffset = offset + 1 + 3 * Long.BYTES;
+        final String uid = item.getUid();
+        final byte[] bytes = Objects.isNull(uid) || uid.length() > UID_SIZE
+                ? new byte[0]
+                : uid.getBytes(US_ASCII);
+        buffer.put(uidOffset, (byte) bytes.length);
+        for (int i = 0; i < bytes.length; i++) {
+            buffer.put(uidOffset + 1 + i, bytes[i]);
+        }
+    }
+
+    private static long toLong(final Long value) {
+        return Objects.isNull(value) ? NULL : value;
+    }
+
+    private static Long fromLong(final long value) {
+        return value == NULL ? null : value;
+    }
+
+    private byte[] key(final String historyId) {
+        return md5.digest(historyId.getBytes(UTF_8));
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Can not find hashing algorithm", e);
+        }
+    }
+}
@@ -29,6 +29,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.qameta.allure.CommonJsonAggregator;
 import io.qameta.allure.Constants;
+import io.qameta.allure.ReadOnlyAggregator;
 import io.qameta.allure.core.LaunchResults;
 import io.qameta.allure.entity.Statistic;
 import io.qameta.allure.entity.TestResult;
@@ -39,7 +40,7 @@ import io.qameta.allure.trend.AbstractTrendPlugin;
  *
  * @since 2.0
  */
-public class HistoryTrendPlugin extends AbstractTrendPlugin<HistoryTrendItem> {
+public class HistoryTrendPlugin extends AbstractTrendPlugin<HistoryTrendItem> implements ReadOnlyAggregator {
 
     public static final String JSON_FILE_NAME = "history-trend.json";
 
@@ -17,8 +17,8 @@ package io.qameta.allure.mail;
 
 import freemarker.template.Template;
 import freemarker.template.TemplateException;
-import io.qameta.allure.Aggregator;
 import io.qameta.allure.Constants;
+import io.qameta.allure.ReadOnlyAggregator;
 import io.qameta.allure.context.FreemarkerContext;
 import io.qameta.allure.core.Configuration;
 import io.qameta.allure.core.LaunchResults;
@@ -37,7 +37,7 @@ import java.util.List;
  *
  * @since 2.0
  */
-public class MailPlugin implements Aggregator {
+public class MailPlugin implements ReadOnlyAggregator {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MailPlugin.class);
 
@@ -23,16 +23,17 @@ import io.qameta.allure.entity.TestResult;
 
 import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
-import java.util.Set;
-import java.util.function.Consumer;
+import java.util.stream.Collector;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static io.qameta.allure.entity.TestResult.comparingByTime;
+import static io.qameta.allure.util.PropertyUtils.getProperty;
 
 /**
  * The plugin that process test retries.
@@ -43,66 +44,100 @@ public class RetryPlugin implements Aggregator {
 
     public static final String RETRY_BLOCK_NAME = "retries";
 
-    @SuppressWarnings({"PMD.AvoidLiteralsInIfCondition", "PMD.AvoidInstantiatingObjectsInLoops"})
+    private static final String ALLURE_RETRY_PARALLEL = "ALLURE_RETRY_PARALLEL";
+
+    private final boolean parallel;
+
+    public RetryPlugin() {
+        this(getProperty(ALLURE_RETRY_PARALLEL).map(Boolean::parseBoolean).orElse(false));
+    }
+
+    /**
+     * Creates plugin that optionally groups and resolves retries of different
+     * history ids in parallel.
+     *
+     * @param parallel true to process retries in parallel.
+     * @since 2.14
+     */
+    public RetryPlugin(final boolean parallel) {
+        this.parallel = parallel;
+    }
+
     @Override
     public void aggregate(final Configuration configuration,
                           final List<LaunchResults> launchesResults,
                           final Path outputDirectory) {
-
-        final Map<String, List<TestResult>> byHistory = launchesResults.stream()
-                .flatMap(results -> results.getAllResults().stream())
+        final Stream<TestResult> results = launchesResults.stream()
+                .flatMap(launch -> launch.getAllResults().stream());
+        final Map<String, RetryGroup> byHistory = (parallel ? results.parallel() : results)
                 .filter(result -> Objects.nonNull(result.getHistoryId()))
-                .collect(Collectors.toMap(TestResult::getHistoryId, Arrays::asList, this::merge));
-        byHistory.forEach((historyId, results) ->
-                findLatest(results).ifPresent(addRetries(results)));
+                .collect(Collectors.groupingBy(TestResult::getHistoryId, RetryGroup.collector()));
+        final Collection<RetryGroup> groups = byHistory.values();
+        (parallel ? groups.parallelStream() : groups.stream()).forEach(RetryGroup::resolve);
     }
 
-    private Consumer<TestResult> addRetries(final List<TestResult> results) {
-        return latest -> {
-            final List<RetryItem> retries = results.stream()
-                    .sorted(comparingByTime())
-                    .filter(result -> !latest.equals(result))
-                    .map(this::prepareRetry)
-                    .map(this::createRetryItem)
-                    .collect(Collectors.toList());
-            latest.addExtraBlock(RETRY_BLOCK_NAME, retries);
-            final Set<Status> statuses = retries.stream()
-                    .map(RetryItem::getStatus)
-                    .distinct()
-                    .collect(Collectors.toSet());
-
-            statuses.remove(Status.PASSED);
-            statuses.remove(Status.SKIPPED);
-
-            latest.setFlaky(!statuses.isEmpty());
-        };
-    }
+    /**
+     * Results of a single history id. Keeps track of the latest visible result,
+     * so retries are resolved without searching for it.
+     */
+    private static final class RetryGroup {
 
-    private TestResult prepareRetry(final TestResult result) {
-        result.setHidden(true);
-        result.setRetry(true);
-        return result;
-    }
+        private static final Comparator<TestResult> BY_TIME = comparingByTime();
 
-    private RetryItem createRetryItem(final TestResult result) {
-        return new RetryItem()
-                .setStatus(result.getStatus())
-                .setStatusDetails(result.getStatusMessage())
-                .setTime(result.getTime())
-                .setUid(result.getUid());
-    }
+        private final List<TestResult> results = new ArrayList<>();
 
-    private Optional<TestResult> findLatest(final List<TestResult> results) {
-        return results.stream()
-                .filter(result -> !result.isHidden())
-                .min(comparingByTime());
-    }
+        private TestResult latest;
+
+        /* default */ static Collector<TestResult, RetryGroup, RetryGroup> collector() {
+            return Collector.of(RetryGroup::new, RetryGroup::add, RetryGroup::merge);
+        }
+
+        private void add(final TestResult result) {
+            results.add(result);
+            if (!result.isHidden() && (Objects.isNull(latest) || BY_TIME.compare(result, latest) < 0)) {
+                latest = result;
+            }
+        }
+
+        private RetryGroup merge(final RetryGroup other) {
+            results.addAll(other.results);
+            if (Objects.isNull(latest)
+                    || Objects.nonNull(other.latest) && BY_TIME.compare(other.latest, latest) < 0) {
+                latest = other.latest;
+            }
+            return this;
+        }
+
+        @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+        private void resolve() {
+            if (Objects.isNull(latest)) {
+                return;
+            }
+            final List<TestResult> retries = new ArrayList<>(results.size() - 1);
+            for (TestResult result : results) {
+                if (!latest.equals(result)) {
+                    retries.add(result);
+                }
+            }
+            retries.sort(BY_TIME);
+            final List<RetryItem> items = new ArrayList<>(retries.size());
+            boolean flaky = false;
+            for (TestResult retry : retries) {
+                retry.setHidden(true);
+                retry.setRetry(true);
+                items.add(createRetryItem(retry));
+                flaky |= retry.getStatus() != Status.PASSED && retry.getStatus() != Status.SKIPPED;
+            }
+            latest.addExtraBlock(RETRY_BLOCK_NAME, items);
+            latest.setFlaky(flaky);
+        }
 
-    private List<TestResult> merge(final List<TestResult> first,
-                                   final List<TestResult> second) {
-        final List<TestResult> merged = new ArrayList<>();
-        merged.addAll(first);
-        merged.addAll(second);
-        return merged;
+        private static RetryItem createRetryItem(final TestResult result) {
+            return new RetryItem()
+                    .setStatus(result.getStatus())
+                    .setStatusDetails(result.getStatusMessage())
+                    .setTime(result.getTime())
+                    .setUid(result.getUid());
+        }
     }
 }
@@ -28,13 +28,14 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.qameta.allure.CommonJsonAggregator;
 import io.qameta.allure.Constants;
+import io.qameta.allure.ReadOnlyAggregator;
 import io.qameta.allure.core.LaunchResults;
 import io.qameta.allure.trend.AbstractTrendPlugin;
 
 /**
  * Plugin that generates data for Retry-Trend graph.
  */
-public class RetryTrendPlugin extends AbstractTrendPlugin<RetryTrendItem> {
+public class RetryTrendPlugin extends AbstractTrendPlugin<RetryTrendItem> implements ReadOnlyAggregator {
 
     private static final String JSON_FILE_NAME = "retry-trend.json";
 
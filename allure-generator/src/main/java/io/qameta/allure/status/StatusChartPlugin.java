@@ -17,6 +17,7 @@ package io.qameta.allure.status;
 
 import io.qameta.allure.CommonJsonAggregator;
 import io.qameta.allure.Constants;
+import io.qameta.allure.ReadOnlyAggregator;
 import io.qameta.allure.core.LaunchResults;
 import io.qameta.allure.entity.TestResult;
 import io.qameta.allure.severity.SeverityPlugin;
@@ -29,7 +30,7 @@ import java.util.stream.Collectors;
  *
  * @since 2.0
  */
-public class StatusChartPlugin extends CommonJsonAggregator {
+public class StatusChartPlugin extends CommonJsonAggregator implements ReadOnlyAggregator {
 
     public StatusChartPlugin() {
         super(Constants.WIDGETS_DIR, "status-chart.json");
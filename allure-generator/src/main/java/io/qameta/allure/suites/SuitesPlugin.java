@@ -17,8 +17,10 @@ package io.qameta.allure.suites;
 
 import io.qameta.allure.CommonCsvExportAggregator;
 import io.qameta.allure.CommonJsonAggregator;
-import io.qameta.allure.CompositeAggregator;
 import io.qameta.allure.Constants;
+import io.qameta.allure.ReadOnlyAggregator;
+import io.qameta.allure.ResultsAggregator;
+import io.qameta.allure.core.Configuration;
 import io.qameta.allure.core.LaunchResults;
 import io.qameta.allure.csv.CsvExportSuite;
 import io.qameta.allure.entity.TestResult;
@@ -28,7 +30,9 @@ import io.qameta.allure.tree.Tree;
 import io.qameta.allure.tree.TreeWidgetData;
 import io.qameta.allure.tree.TreeWidgetItem;
 
-import java.util.Arrays;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
@@ -48,7 +52,7 @@ import static io.qameta.allure.tree.TreeUtils.groupByLabels;
  * @since 2.0
  */
 @SuppressWarnings("PMD.UseUtilityClass")
-public class SuitesPlugin extends CompositeAggregator {
+public class SuitesPlugin implements ResultsAggregator, ReadOnlyAggregator {
 
     private static final String SUITES = "suites";
 
@@ -62,28 +66,59 @@ public class SuitesPlugin extends CompositeAggregator {
      */
     protected static final String CSV_FILE_NAME = "suites.csv";
 
-    public SuitesPlugin() {
-        super(Arrays.asList(
-                new JsonAggregator(), new CsvExportAggregator(), new WidgetAggregator()
-        ));
+    @Override
+    public ResultsCollector createCollector(final Configuration configuration,
+                                            final List<LaunchResults> launchesResults) {
+        return new SuitesCollector(configuration);
     }
 
     @SuppressWarnings("PMD.DefaultPackage")
     static /* default */ Tree<TestResult> getData(final List<LaunchResults> launchResults) {
+        final Tree<TestResult> xunit = createTree();
+        launchResults.stream()
+                .map(LaunchResults::getResults)
+                .flatMap(Collection::stream)
+                .sorted(comparingByTimeAsc())
+                .forEach(xunit::add);
+        return xunit;
+    }
 
+    private static Tree<TestResult> createTree() {
         // @formatter:off
-        final Tree<TestResult> xunit = new TestResultTree(
+        return new TestResultTree(
                 SUITES,
             testResult -> groupByLabels(testResult, PARENT_SUITE, SUITE, SUB_SUITE)
         );
         // @formatter:on
+    }
 
-        launchResults.stream()
-                .map(LaunchResults::getResults)
-                .flatMap(Collection::stream)
-                .sorted(comparingByTimeAsc())
-                .forEach(xunit::add);
-        return xunit;
+    /**
+     * Builds suites tree once and writes tree, export and widget data from it.
+     */
+    private static class SuitesCollector implements ResultsCollector {
+
+        private final Configuration configuration;
+
+        private final Tree<TestResult> tree = createTree();
+
+        private final List<CsvExportSuite> exportSuites = new ArrayList<>();
+
+        SuitesCollector(final Configuration configuration) {
+            this.configuration = configuration;
+        }
+
+        @Override
+        public void visit(final LaunchResults launch, final TestResult result) {
+            tree.add(result);
+            exportSuites.add(new CsvExportSuite(result));
+        }
+
+        @Override
+        public void finish(final Path outputDirectory) throws IOException {
+            new JsonAggregator().write(configuration, outputDirectory, tree);
+            new CsvExportAggregator().write(outputDirectory, exportSuites);
+            new WidgetAggregator().write(configuration, outputDirectory, WidgetAggregator.getData(tree));
+        }
     }
 
     /**
@@ -129,7 +164,10 @@ public class SuitesPlugin extends CompositeAggregator {
 
         @Override
         protected Object getData(final List<LaunchResults> launches) {
-            final Tree<TestResult> data = SuitesPlugin.getData(launches);
+            return getData(SuitesPlugin.getData(launches));
+        }
+
+        private static TreeWidgetData getData(final Tree<TestResult> data) {
             final List<TreeWidgetItem> items = data.getChildren().stream()
                     .filter(TestResultTreeGroup.class::isInstance)
                     .map(TestResultTreeGroup.class::cast)
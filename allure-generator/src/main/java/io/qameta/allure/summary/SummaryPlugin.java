@@ -17,6 +17,7 @@ package io.qameta.allure.summary;
 
 import io.qameta.allure.CommonJsonAggregator;
 import io.qameta.allure.Constants;
+import io.qameta.allure.ReadOnlyAggregator;
 import io.qameta.allure.core.LaunchResults;
 import io.qameta.allure.entity.GroupTime;
 import io.qameta.allure.entity.Statistic;
@@ -28,7 +29,7 @@ import java.util.List;
  *
  * @since 2.0
  */
-public class SummaryPlugin extends CommonJsonAggregator {
+public class SummaryPlugin extends CommonJsonAggregator implements ReadOnlyAggregator {
 
     /**
      * Name of the json file.
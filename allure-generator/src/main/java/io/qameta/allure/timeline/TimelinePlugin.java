@@ -16,6 +16,7 @@
 package io.qameta.allure.timeline;
 
 import io.qameta.allure.CommonJsonAggregator;
+import io.qameta.allure.ReadOnlyAggregator;
 import io.qameta.allure.core.LaunchResults;
 import io.qameta.allure.entity.LabelName;
 import io.qameta.allure.entity.TestResult;
@@ -32,7 +33,7 @@ import static io.qameta.allure.tree.TreeUtils.groupByLabels;
  *
  * @since 2.0
  */
-public class TimelinePlugin extends CommonJsonAggregator {
+public class TimelinePlugin extends CommonJsonAggregator implements ReadOnlyAggregator {
 
     public TimelinePlugin() {
         super("timeline.json");
@@ -1,7 +1,47 @@
+import $ from 'jquery';
 import {findWhere} from 'underscore';
 import {Model} from 'backbone';
 import {makeArray} from '../../utils/arrays';
 
+let shardsCount;
+const shardIndexes = {};
+
+function loadShardsCount() {
+    if (!shardsCount) {
+        shardsCount = $.ajax('widgets/test-cases.json', {dataType: 'json'})
+            .then(widget => widget && widget.shards > 0 ? widget.shards : 0, () => 0);
+    }
+    return shardsCount;
+}
+
+// the same as String.hashCode() in java, that is used to assign results to shards
+function getShard(uid, shards) {
+    let hash = 0;
+    for (let i = 0; i < uid.length; i++) {
+        hash = (Math.imul(31, hash) + uid.charCodeAt(i)) | 0;
+    }
+    return ((hash % shards) + shards) % shards;
+}
+
+function loadShardIndex(shard) {
+    if (!shardIndexes[shard]) {
+        shardIndexes[shard] = $.ajax(`data/test-cases/shard-${shard}.index.json`, {dataType: 'json'})
+            .then(index => index, () => null);
+    }
+    return shardIndexes[shard];
+}
+
+function loadPackedTestResult(shard, [offset, length]) {
+    return $.ajax(`data/test-cases/shard-${shard}.jsonl`, {
+        dataType: 'text',
+        headers: {Range: `bytes=${offset}-${offset + length - 1}`}
+    }).then((responseText, status, xhr) => {
+        // packed records are ascii only, so byte offsets can be used for full response as well
+        const record = xhr.status === 206 ? responseText : responseText.substr(offset, length);
+        return JSON.parse(record);
+    });
+}
+
 
 function collectAttachments({steps, attachments}) {
     return makeArray(steps)
@@ -31,4 +71,23 @@ export default class TestResultModel extends Model {
     url() {
         return `data/test-cases/${this.id}.json`;
     }
+
+    sync(method, model, options) {
+        if (method !== 'read') {
+            return super.sync(method, model, options);
+        }
+        return loadShardsCount().then(shards => {
+            if (!shards) {
+                return super.sync(method, model, options);
+            }
+            const shard = getShard(model.id, shards);
+            return loadShardIndex(shard).then(index => {
+                const item = index && index[model.id];
+                if (!item) {
+                    return super.sync(method, model, options);
+                }
+                return loadPackedTestResult(shard, item).then(options.success, options.error);
+            });
+        });
+    }
 }
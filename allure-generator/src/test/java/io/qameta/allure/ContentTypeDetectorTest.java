@@ -0,0 +1,83 @@
+/*
+ *  Copyright 2019 Qameta Software OÜ
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContentTypeDetectorTest {
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'};
+
+    @Test
+    void shouldTrustDeclaredType(@TempDir final Path temp) throws Exception {
+        final Path file = Files.write(temp.resolve("attachment.txt"), PNG_SIGNATURE);
+
+        assertThat(ContentTypeDetector.detect(file, "application/json"))
+                .isEqualTo("application/json");
+    }
+
+    @Test
+    void shouldTrustKnownExtension(@TempDir final Path temp) throws Exception {
+        final Path file = Files.write(temp.resolve("attachment.PNG"), "not a png".getBytes(UTF_8));
+
+        assertThat(ContentTypeDetector.detect(file, null))
+                .isEqualTo("image/png");
+    }
+
+    @Test
+    void shouldDetectTypeByContent(@TempDir final Path temp) throws Exception {
+        final Path first = Files.write(temp.resolve("first"), PNG_SIGNATURE);
+        final Path second = Files.write(temp.resolve("second"), PNG_SIGNATURE);
+
+        assertThat(ContentTypeDetector.detect(first, null))
+                .isEqualTo("image/png");
+        assertThat(ContentTypeDetector.detect(second, null))
+                .isEqualTo("image/png");
+    }
+
+    @Test
+    void shouldNotMixUpPrefixesWithSameHashCode(@TempDir final Path temp) throws Exception {
+        final byte[] colliding = PNG_SIGNATURE.clone();
+        colliding[0] = (byte) 0x8a;
+        colliding[1] = '1';
+        assertThat(Arrays.hashCode(colliding))
+                .isEqualTo(Arrays.hashCode(PNG_SIGNATURE));
+
+        final Path png = Files.write(temp.resolve("png"), PNG_SIGNATURE);
+        final Path other = Files.write(temp.resolve("other"), colliding);
+
+        assertThat(ContentTypeDetector.detect(png, null))
+                .isEqualTo("image/png");
+        assertThat(ContentTypeDetector.detect(other, null))
+                .isNotEqualTo("image/png");
+    }
+
+    @Test
+    void shouldIgnoreInvalidDeclaredType(@TempDir final Path temp) throws Exception {
+        final Path file = Files.write(temp.resolve("attachment.json"), "{}".getBytes(UTF_8));
+
+        assertThat(ContentTypeDetector.detect(file, "not a type"))
+                .isEqualTo("application/json");
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ *  Copyright 2019 Qameta Software OÜ
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure;
+
+import io.qameta.allure.core.Configuration;
+import io.qameta.allure.entity.Attachment;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DefaultResultsVisitorTest {
+
+    private final Configuration configuration = new ConfigurationBuilder().useDefault().build();
+
+    @Test
+    void shouldShareSourceOfIdenticalAttachments(@TempDir final Path temp) throws Exception {
+        final Path first = Files.write(temp.resolve("first.txt"), "content".getBytes(UTF_8));
+        final Path second = Files.write(temp.resolve("second.txt"), "content".getBytes(UTF_8));
+        final Path third = Files.write(temp.resolve("third.txt"), "other content".getBytes(UTF_8));
+
+        final DefaultResultsVisitor visitor = new DefaultResultsVisitor(configuration, true);
+        final Attachment firstAttachment = visitor.visitAttachmentFile(first);
+        final Attachment secondAttachment = visitor.visitAttachmentFile(second);
+        final Attachment thirdAttachment = visitor.visitAttachmentFile(third);
+
+        assertThat(firstAttachment.getSource())
+                .isEqualTo(secondAttachment.getSource())
+                .isNotEqualTo(thirdAttachment.getSource())
+                .endsWith(".txt");
+        assertThat(firstAttachment.getUid())
+                .isNotEqualTo(secondAttachment.getUid());
+        assertThat(firstAttachment.getName())
+                .isEqualTo("first.txt");
+    }
+
+    @Test
+    void shouldUseRandomSourceByDefault(@TempDir final Path temp) throws Exception {
+        final Path first = Files.write(temp.resolve("first.txt"), "content".getBytes(UTF_8));
+        final Path second = Files.write(temp.resolve("second.txt"), "content".getBytes(UTF_8));
+
+        final DefaultResultsVisitor visitor = new DefaultResultsVisitor(configuration, false);
+
+        assertThat(visitor.visitAttachmentFile(first).getSource())
+                .isNotEqualTo(visitor.visitAttachmentFile(second).getSource());
+    }
+}
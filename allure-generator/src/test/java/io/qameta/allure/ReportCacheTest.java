@@ -0,0 +1,249 @@
+/*
+ *  Copyright 2019 Qameta Software OÜ
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure;
+
+import io.qameta.allure.context.ResultFilesCache;
+import io.qameta.allure.core.Configuration;
+import io.qameta.allure.core.LaunchResults;
+import io.qameta.allure.entity.Attachment;
+import io.qameta.allure.entity.StageResult;
+import io.qameta.allure.entity.Step;
+import io.qameta.allure.entity.TestResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReportCacheTest {
+
+    private static final String KEY = "key";
+
+    private final Configuration configuration = new ConfigurationBuilder().useDefault().build();
+
+    @Test
+    void shouldLoadResultsOfUnchangedDirectory(@TempDir final Path temp) throws Exception {
+        final Path results = Files.createDirectories(temp.resolve("results"));
+        Files.write(results.resolve("a-result.json"), "{}".getBytes(UTF_8));
+        final Path cacheDirectory = temp.resolve("cache");
+        final LaunchResults launch = new DefaultLaunchResults(
+                new HashSet<>(Collections.singletonList(new TestResult().setUid("a").setName("a"))),
+                Collections.emptyMap(),
+                Collections.singletonMap("extra", "value")
+        );
+
+        final ReportCache first = new ReportCache(cacheDirectory, KEY);
+        assertThat(first.load(results, new DefaultResultsVisitor(configuration)))
+                .isFalse();
+        first.store(results, launch, Collections.singletonMap("extra", "value"));
+        first.publish(first.createStaging(), temp.resolve("report"));
+
+        final DefaultResultsVisitor visitor = new DefaultResultsVisitor(configuration);
+        assertThat(new ReportCache(cacheDirectory, KEY).load(results, visitor))
+                .isTrue();
+        final LaunchResults cached = visitor.getLaunchResults();
+        assertThat(cached.getAllResults())
+                .extracting(TestResult::getUid)
+                .containsExactly("a");
+        assertThat(cached.getExtra("extra"))
+                .hasValue("value");
+
+        Files.write(results.resolve("a-result.json"), "{ }".getBytes(UTF_8));
+        assertThat(new ReportCache(cacheDirectory, KEY).load(results, new DefaultResultsVisitor(configuration)))
+                .isFalse();
+    }
+
+    @Test
+    void shouldNotLoadResultsWithDeletedAttachments(@TempDir final Path temp) throws Exception {
+        final Path results = Files.createDirectories(temp.resolve("results"));
+        Files.write(results.resolve("TEST-a.xml"), "<testsuite/>".getBytes(UTF_8));
+        final Path spilled = Files.write(temp.resolve("output.txt"), "output".getBytes(UTF_8));
+        final Path cacheDirectory = temp.resolve("cache");
+        final LaunchResults launch = new DefaultLaunchResults(
+                new HashSet<>(Collections.singletonList(new TestResult().setUid("a").setName("a"))),
+                Collections.singletonMap(spilled, new Attachment().setUid("output").setSource("output.txt")),
+                Collections.emptyMap()
+        );
+
+        final ReportCache first = new ReportCache(cacheDirectory, KEY);
+        assertThat(first.load(results, new DefaultResultsVisitor(configuration)))
+                .isFalse();
+        first.store(results, launch, Collections.emptyMap());
+        first.publish(first.createStaging(), temp.resolve("report"));
+        assertThat(new ReportCache(cacheDirectory, KEY).load(results, new DefaultResultsVisitor(configuration)))
+                .isTrue();
+
+        Files.delete(spilled);
+        assertThat(new ReportCache(cacheDirectory, KEY).load(results, new DefaultResultsVisitor(configuration)))
+                .isFalse();
+    }
+
+    @Test
+    void shouldSpillStagesOfCachedResults(@TempDir final Path temp) throws Exception {
+        final Path results = Files.createDirectories(temp.resolve("results"));
+        Files.write(results.resolve("a-result.json"), "{}".getBytes(UTF_8));
+        final Path cacheDirectory = temp.resolve("cache");
+        final TestResult result = new TestResult()
+                .setUid("a")
+                .setName("a")
+                .setTestStage(new StageResult().setSteps(Collections.singletonList(new Step().setName("step"))));
+        final LaunchResults launch = new DefaultLaunchResults(
+                new HashSet<>(Collections.singletonList(result)), Collections.emptyMap(), Collections.emptyMap()
+        );
+
+        final ReportCache first = new ReportCache(cacheDirectory, KEY);
+        assertThat(first.load(results, new DefaultResultsVisitor(configuration)))
+                .isFalse();
+        first.store(results, launch, Collections.emptyMap());
+        first.publish(first.createStaging(), temp.resolve("report"));
+
+        final Path spill = Files.createDirectories(temp.resolve("spill"));
+        try (TestResultStagesStore store = new TestResultStagesStore(spill)) {
+            final SpillingResultsVisitor visitor = new SpillingResultsVisitor(configuration, store);
+            assertThat(new ReportCache(cacheDirectory, KEY).load(results, visitor))
+                    .isTrue();
+            final LaunchResults cached = visitor.getLaunchResults();
+            final TestResult compact = cached.getAllResults().iterator().next();
+            assertThat(compact.getTestStage())
+                    .isNull();
+            assertThat(cached.withStages(compact).getTestStage().getSteps())
+                    .extracting(Step::getName)
+                    .containsExactly("step");
+        }
+    }
+
+    @Test
+    void shouldPublishOnlyChangedFiles(@TempDir final Path temp) throws Exception {
+        final Path cacheDirectory = temp.resolve("cache");
+        final Path report = temp.resolve("report");
+
+        final ReportCache first = new ReportCache(cacheDirectory, KEY);
+        final Path staging = first.createStaging();
+        Files.write(staging.resolve("same.json"), "same".getBytes(UTF_8));
+        Files.write(staging.resolve("changed.json"), "old".getBytes(UTF_8));
+        Files.write(staging.resolve("removed.json"), "removed".getBytes(UTF_8));
+        first.publish(staging, report);
+
+        final FileTime marker = FileTime.fromMillis(0);
+        Files.setLastModifiedTime(report.resolve("same.json"), marker);
+
+        final ReportCache second = new ReportCache(cacheDirectory, KEY);
+        final Path next = second.createStaging();
+        Files.write(next.resolve("same.json"), "same".getBytes(UTF_8));
+        Files.write(next.resolve("changed.json"), "new".getBytes(UTF_8));
+        second.publish(next, report);
+
+        assertThat(Files.getLastModifiedTime(report.resolve("same.json")))
+                .isEqualTo(marker);
+        assertThat(report.resolve("changed.json"))
+                .hasContent("new");
+        assertThat(report.resolve("removed.json"))
+                .doesNotExist();
+
+        final ReportCache third = new ReportCache(cacheDirectory, KEY);
+        final Path last = third.createStaging();
+        Files.write(last.resolve("same.json"), "same".getBytes(UTF_8));
+        Files.write(last.resolve("changed.json"), "NEW".getBytes(UTF_8));
+        third.publish(last, report);
+
+        assertThat(Files.getLastModifiedTime(report.resolve("same.json")))
+                .isEqualTo(marker);
+        assertThat(report.resolve("changed.json"))
+                .hasContent("NEW");
+    }
+
+    @Test
+    void shouldNotUseCacheOfAnotherKey(@TempDir final Path temp) throws Exception {
+        final Path results = Files.createDirectories(temp.resolve("results"));
+        Files.write(results.resolve("a-result.json"), "{}".getBytes(UTF_8));
+        final Path cacheDirectory = temp.resolve("cache");
+        final LaunchResults launch = new DefaultLaunchResults(
+                new HashSet<>(Collections.singletonList(new TestResult().setUid("a").setName("a"))),
+                Collections.emptyMap(),
+                Collections.emptyMap()
+        );
+
+        final ReportCache first = new ReportCache(cacheDirectory, KEY);
+        first.load(results, new DefaultResultsVisitor(configuration));
+        first.store(results, launch, Collections.emptyMap());
+        first.publish(first.createStaging(), temp.resolve("report"));
+
+        assertThat(new ReportCache(cacheDirectory, "another").load(results, new DefaultResultsVisitor(configuration)))
+                .isFalse();
+        assertThat(ReportCache.createKey(configuration))
+                .isEqualTo(ReportCache.createKey(new ConfigurationBuilder().useDefault().build()))
+                .isNotEqualTo(ReportCache.createKey(new ConfigurationBuilder().build()));
+    }
+
+    @Test
+    void shouldKeepResultFilesOfReadDirectories(@TempDir final Path temp) throws Exception {
+        final Path results = Files.createDirectories(temp.resolve("results"));
+        final Path file = Files.write(results.resolve("a-result.json"), "{}".getBytes(UTF_8));
+        final Path removed = Files.createDirectories(temp.resolve("removed"));
+        final Path other = Files.write(removed.resolve("b-result.json"), "{}".getBytes(UTF_8));
+        final Path cacheDirectory = temp.resolve("cache");
+
+        final ResultFilesCache resultFiles = new ResultFilesCache();
+        final ReportCache first = new ReportCache(cacheDirectory, KEY, resultFiles);
+        first.load(results, new DefaultResultsVisitor(configuration));
+        resultFiles.computeIfChanged(file, String.class, f -> "parsed");
+        resultFiles.computeIfChanged(other, String.class, f -> "parsed");
+        first.publish(first.createStaging(), temp.resolve("report"));
+
+        final ResultFilesCache restored = new ResultFilesCache();
+        new ReportCache(cacheDirectory, KEY, restored);
+        assertThat(restored.size())
+                .isEqualTo(1);
+        assertThat(restored.computeIfChanged(file, String.class, f -> "parsed again"))
+                .isEqualTo("parsed");
+
+        final ResultFilesCache another = new ResultFilesCache();
+        new ReportCache(cacheDirectory, "another", another);
+        assertThat(another.size())
+                .isEqualTo(0);
+    }
+
+    @Test
+    void shouldBeUpToDateIfNothingIsChanged(@TempDir final Path temp) throws Exception {
+        final Path results = Files.createDirectories(temp.resolve("results"));
+        Files.write(results.resolve("a-result.json"), "{}".getBytes(UTF_8));
+        final Path cacheDirectory = temp.resolve("cache");
+        final Path report = temp.resolve("report");
+
+        final ReportCache first = new ReportCache(cacheDirectory, KEY);
+        assertThat(first.isUpToDate(Collections.singletonList(results), report))
+                .isFalse();
+        first.load(results, new DefaultResultsVisitor(configuration));
+        final Path staging = first.createStaging();
+        Files.write(staging.resolve("index.html"), "index".getBytes(UTF_8));
+        first.publish(staging, report);
+
+        assertThat(new ReportCache(cacheDirectory, KEY).isUpToDate(Collections.singletonList(results), report))
+                .isTrue();
+        assertThat(new ReportCache(cacheDirectory, "another").isUpToDate(Collections.singletonList(results), report))
+                .isFalse();
+
+        Files.write(results.resolve("b-result.json"), "{}".getBytes(UTF_8));
+        assertThat(new ReportCache(cacheDirectory, KEY).isUpToDate(Collections.singletonList(results), report))
+                .isFalse();
+    }
+}
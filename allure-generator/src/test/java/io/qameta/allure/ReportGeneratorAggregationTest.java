@@ -0,0 +1,83 @@
+/*
+ *  Copyright 2019 Qameta Software OÜ
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure;
+
+import io.qameta.allure.core.Configuration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReportGeneratorAggregationTest {
+
+    @Test
+    void shouldRunReadOnlyAggregatorsConcurrently(@TempDir final Path temp) throws Exception {
+        final CountDownLatch latch = new CountDownLatch(2);
+        final List<String> events = new CopyOnWriteArrayList<>();
+        final ReadOnlyAggregator first = (configuration, launches, output) -> {
+            events.add("first:" + countDownAndAwait(latch));
+        };
+        final ReadOnlyAggregator second = (configuration, launches, output) -> {
+            events.add("second:" + countDownAndAwait(latch));
+        };
+        final Aggregator mutating = (configuration, launches, output) -> events.add("mutating");
+
+        generator(4, first, second, mutating).aggregate(Collections.emptyList(), temp);
+
+        assertThat(events.subList(0, 2))
+                .containsExactlyInAnyOrder("first:true", "second:true");
+        assertThat(events.get(2))
+                .isEqualTo("mutating");
+    }
+
+    @Test
+    void shouldRunAggregatorsInOrderByDefault(@TempDir final Path temp) throws Exception {
+        final List<String> events = new CopyOnWriteArrayList<>();
+        final ReadOnlyAggregator first = (configuration, launches, output) -> events.add("first");
+        final Aggregator mutating = (configuration, launches, output) -> events.add("mutating");
+        final ReadOnlyAggregator second = (configuration, launches, output) -> events.add("second");
+
+        generator(1, first, mutating, second).aggregate(Collections.emptyList(), temp);
+
+        assertThat(events)
+                .containsExactly("first", "mutating", "second");
+    }
+
+    private static boolean countDownAndAwait(final CountDownLatch latch) {
+        latch.countDown();
+        try {
+            return latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static ReportGenerator generator(final int threads, final Extension... extensions) {
+        final Configuration configuration = new ConfigurationBuilder()
+                .fromExtensions(Arrays.asList(extensions))
+                .build();
+        return new ReportGenerator(configuration, 1, null, threads);
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ *  Copyright 2019 Qameta Software OÜ
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure;
+
+import io.qameta.allure.entity.StageResult;
+import io.qameta.allure.entity.Step;
+import io.qameta.allure.entity.TestResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+class TestResultStagesStoreTest {
+
+    @Test
+    void shouldMoveStagesToDisk(@TempDir final Path temp) throws Exception {
+        final TestResult result = new TestResult()
+                .setUid("some-uid")
+                .setName("some test")
+                .setTestStage(new StageResult().setSteps(Collections.singletonList(new Step().setName("step"))));
+        result.getBeforeStages().add(new StageResult().setName("before"));
+        result.getAfterStages().add(new StageResult().setName("after"));
+
+        try (TestResultStagesStore store = new TestResultStagesStore(temp)) {
+            store.put(result);
+            result.setFlaky(true);
+
+            assertThat(result.getTestStage()).isNull();
+            assertThat(result.getBeforeStages()).isEmpty();
+            assertThat(result.getAfterStages()).isEmpty();
+
+            final TestResult loaded = store.load(result);
+            assertThat(loaded)
+                    .extracting(TestResult::getUid, TestResult::getName, TestResult::isFlaky)
+                    .containsExactly("some-uid", "some test", true);
+            assertThat(loaded.getTestStage().getSteps())
+                    .extracting(Step::getName)
+                    .containsExactly("step");
+            assertThat(loaded.getBeforeStages())
+                    .extracting(StageResult::getName)
+                    .containsExactly("before");
+            assertThat(loaded.getAfterStages())
+                    .extracting(StageResult::getName)
+                    .containsExactly("after");
+        }
+    }
+
+    @Test
+    void shouldCopyAllFieldsOfResult(@TempDir final Path temp) throws Exception {
+        final List<String> stages = Arrays.asList("beforeStages", "testStage", "afterStages");
+        final TestResult result = new TestResult().setUid("some-uid");
+        final Map<Field, Object> values = new HashMap<>();
+        for (Field field : getFields()) {
+            if (!stages.contains(field.getName()) && !"uid".equals(field.getName())) {
+                values.put(field, setValue(field, result));
+            }
+        }
+        result.setTestStage(new StageResult().setName("test"));
+
+        try (TestResultStagesStore store = new TestResultStagesStore(temp)) {
+            store.put(result);
+            final TestResult loaded = store.load(result);
+
+            assertThat(loaded).isNotSameAs(result);
+            assertThat(loaded.getTestStage().getName()).isEqualTo("test");
+            for (Map.Entry<Field, Object> entry : values.entrySet()) {
+                final Object actual = entry.getKey().get(loaded);
+                if (actual instanceof Map) {
+                    assertThat(actual)
+                            .describedAs("Field %s should be copied", entry.getKey().getName())
+                            .isEqualTo(entry.getValue());
+                } else {
+                    assertThat(actual)
+                            .describedAs("Field %s should be copied", entry.getKey().getName())
+                            .isSameAs(entry.getValue());
+                }
+            }
+        }
+    }
+
+    private static List<Field> getFields() {
+        final List<Field> fields = new ArrayList<>();
+        for (Field field : TestResult.class.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                field.setAccessible(true);
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object setValue(final Field field, final TestResult result) throws Exception {
+        final Class<?> type = field.getType();
+        if (Map.class.isAssignableFrom(type)) {
+            final Map<String, Object> map = (Map<String, Object>) field.get(result);
+            map.put(field.getName(), field.getName());
+            return new HashMap<>(map);
+        }
+        final Object value;
+        if (String.class.equals(type)) {
+            value = field.getName();
+        } else if (boolean.class.equals(type)) {
+            value = true;
+        } else if (type.isEnum()) {
+            value = type.getEnumConstants()[1];
+        } else if (List.class.isAssignableFrom(type)) {
+            value = new ArrayList<>(Collections.singletonList(null));
+        } else {
+            value = type.getDeclaredConstructor().newInstance();
+        }
+        assertThatCode(() -> field.set(result, value))
+                .describedAs("Field %s should be set by test", field.getName())
+                .doesNotThrowAnyException();
+        return value;
+    }
+}
@@ -17,6 +17,8 @@ package io.qameta.allure.allure2;
 
 import io.qameta.allure.ConfigurationBuilder;
 import io.qameta.allure.DefaultResultsVisitor;
+import io.qameta.allure.context.ReaderPoolContext;
+import io.qameta.allure.context.ResultFilesContext;
 import io.qameta.allure.core.Configuration;
 import io.qameta.allure.core.LaunchResults;
 import io.qameta.allure.entity.Attachment;
@@ -31,13 +33,18 @@ import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 
 import static io.qameta.allure.AllureUtils.generateTestResultContainerName;
 import static io.qameta.allure.AllureUtils.generateTestResultName;
@@ -233,6 +240,92 @@ class Allure2PluginTest {
                 .containsOnly(Allure2Plugin.ALLURE2_RESULTS_FORMAT);
     }
 
+    @Test
+    void shouldReadResultsInParallel() throws Exception {
+        copyFile(directory, "allure2/simple-testcase.json", generateTestResultName());
+        copyFile(directory, "allure2/other-testcase.json", generateTestResultName());
+        copyFile(directory, "allure2/other-testcase.json", generateTestResultName());
+        copyFile(directory, "allure2/first-testgroup.json", generateTestResultContainerName());
+        copyFile(directory, "allure2/second-testgroup.json", generateTestResultContainerName());
+
+        final Allure2Plugin reader = new Allure2Plugin();
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        final Configuration configuration = new ConfigurationBuilder()
+                .useDefault()
+                .fromExtensions(Collections.singletonList(new ReaderPoolContext(pool)))
+                .build();
+        final DefaultResultsVisitor resultsVisitor = new DefaultResultsVisitor(configuration);
+        try {
+            reader.readResults(configuration, resultsVisitor, directory);
+        } finally {
+            pool.shutdown();
+        }
+
+        final Set<TestResult> testResults = resultsVisitor.getLaunchResults().getResults();
+        assertThat(testResults)
+                .hasSize(3);
+
+        testResults.forEach(testResult -> assertThat(testResult.getAfterStages())
+                .extracting(StageResult::getName)
+                .containsExactlyInAnyOrder("unloadTestConfiguration", "cleanUpContext"));
+    }
+
+    @Test
+    void shouldParseOnlyChangedFilesIfCached() throws Exception {
+        final String resultName = generateTestResultName();
+        copyFile(directory, "allure2/simple-testcase.json", resultName);
+        copyFile(directory, "allure2/first-testgroup.json", generateTestResultContainerName());
+        copyFile(directory, "allure2/second-testgroup.json", generateTestResultContainerName());
+        copyFile(directory, "allure2/test-sample-attachment.txt", "test-sample-attachment.txt");
+
+        final ResultFilesContext context = new ResultFilesContext();
+        final Configuration configuration = new ConfigurationBuilder()
+                .useDefault()
+                .fromExtensions(Collections.singletonList(context))
+                .build();
+        final Allure2Plugin reader = new Allure2Plugin();
+
+        final DefaultResultsVisitor first = new DefaultResultsVisitor(configuration);
+        reader.readResults(configuration, first, directory);
+        assertThat(context.getValue().size())
+                .isEqualTo(3);
+
+        final DefaultResultsVisitor second = new DefaultResultsVisitor(configuration);
+        reader.readResults(configuration, second, directory);
+        final Set<TestResult> cached = second.getLaunchResults().getResults();
+        assertThat(cached)
+                .hasSize(1)
+                .flatExtracting(TestResult::getBeforeStages)
+                .extracting(StageResult::getName)
+                .containsExactlyInAnyOrder("mockAuthorization", "loadTestConfiguration");
+        assertThat(second.getLaunchResults().getAttachments().values())
+                .extracting(Attachment::getSource)
+                .containsExactlyElementsOf(first.getLaunchResults().getAttachments().values().stream()
+                        .map(Attachment::getSource)
+                        .collect(Collectors.toList()));
+        assertThat(cached)
+                .extracting(TestResult::getTestStage)
+                .flatExtracting(StageResult::getSteps)
+                .flatExtracting(Step::getAttachments)
+                .extracting(Attachment::getSource)
+                .isSubsetOf(second.getLaunchResults().getAttachments().values().stream()
+                        .map(Attachment::getSource)
+                        .collect(Collectors.toList()));
+
+        final Path resultFile = directory.resolve(resultName);
+        final String content = new String(Files.readAllBytes(resultFile), StandardCharsets.UTF_8);
+        Files.write(resultFile, content.replace("shouldCreate", "shouldUpdate").getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(resultFile, FileTime.fromMillis(
+                Files.getLastModifiedTime(resultFile).toMillis() + 1000
+        ));
+
+        final DefaultResultsVisitor third = new DefaultResultsVisitor(configuration);
+        reader.readResults(configuration, third, directory);
+        assertThat(third.getLaunchResults().getResults())
+                .extracting(TestResult::getName)
+                .containsExactly("shouldUpdate");
+    }
+
     private LaunchResults process(String... strings) throws IOException {
         Iterator<String> iterator = Arrays.asList(strings).iterator();
         while (iterator.hasNext()) {
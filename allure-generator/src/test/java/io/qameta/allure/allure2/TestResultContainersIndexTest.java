@@ -0,0 +1,83 @@
+/*
+ *  Copyright 2019 Qameta Software OÜ
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.allure2;
+
+import io.qameta.allure.model.TestResultContainer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TestResultContainersIndexTest {
+
+    @Test
+    void shouldFindParentsRecursively() {
+        final TestResultContainersIndex index = new TestResultContainersIndex(Arrays.asList(
+                container("suite", "class"),
+                container("class", "method"),
+                container("method", "result")
+        ));
+
+        assertThat(index.findAllParents("result"))
+                .extracting(TestResultContainer::getUuid)
+                .containsExactly("method", "class", "suite");
+    }
+
+    @Test
+    void shouldResolveDiamondParentsOnce() {
+        final TestResultContainersIndex index = new TestResultContainersIndex(Arrays.asList(
+                container("suite", "class"),
+                container("class", "first", "second"),
+                container("first", "result"),
+                container("second", "result", "result")
+        ));
+
+        assertThat(index.findAllParents("result"))
+                .extracting(TestResultContainer::getUuid)
+                .containsExactly("first", "second", "class", "suite");
+    }
+
+    @Test
+    void shouldStopOnCycles() {
+        final TestResultContainersIndex index = new TestResultContainersIndex(Arrays.asList(
+                container("first", "second", "result"),
+                container("second", "first"),
+                container("self", "self", "other")
+        ));
+
+        assertThat(index.findAllParents("result"))
+                .extracting(TestResultContainer::getUuid)
+                .containsExactly("first", "second");
+        assertThat(index.findAllParents("other"))
+                .extracting(TestResultContainer::getUuid)
+                .containsExactly("self");
+    }
+
+    @Test
+    void shouldReturnEmptyListForUnknownChild() {
+        final TestResultContainersIndex index = new TestResultContainersIndex(Arrays.asList(
+                container("suite", "result")
+        ));
+
+        assertThat(index.findAllParents("unknown"))
+                .isEmpty();
+    }
+
+    private static TestResultContainer container(final String uuid, final String... children) {
+        return new TestResultContainer().setUuid(uuid).setChildren(Arrays.asList(children));
+    }
+}
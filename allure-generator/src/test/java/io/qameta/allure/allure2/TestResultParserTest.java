@@ -0,0 +1,346 @@
+/*
+ *  Copyright 2019 Qameta Software OÜ
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.allure2;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.qameta.allure.allure2.TestResultParser.ParsedTestResult;
+import io.qameta.allure.core.ResultsVisitor;
+import io.qameta.allure.entity.Attachment;
+import io.qameta.allure.entity.Label;
+import io.qameta.allure.entity.Link;
+import io.qameta.allure.entity.Parameter;
+import io.qameta.allure.entity.StageResult;
+import io.qameta.allure.entity.Status;
+import io.qameta.allure.entity.Step;
+import io.qameta.allure.entity.TestResult;
+import io.qameta.allure.entity.Time;
+import io.qameta.allure.model.Allure2ModelJackson;
+import io.qameta.allure.model.StepResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Comparator.comparing;
+import static java.util.Comparator.naturalOrder;
+import static java.util.Comparator.nullsFirst;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TestResultParserTest {
+
+    private final ObjectMapper mapper = Allure2ModelJackson.createMapper();
+
+    private Path directory;
+
+    private ResultsVisitor visitor;
+
+    private TestResultParser parser;
+
+    @BeforeEach
+    void setUp(@TempDir final Path directory) {
+        this.directory = directory;
+        this.visitor = mock(ResultsVisitor.class);
+        when(visitor.visitAttachmentFile(any())).thenAnswer(invocation -> attachment(invocation.getArgument(0)));
+        when(visitor.visitAttachmentFile(any(), any())).thenAnswer(invocation -> attachment(invocation.getArgument(0)));
+        this.parser = new TestResultParser(mapper.getFactory(), directory, visitor);
+    }
+
+    @Test
+    void shouldParseNestedSteps() throws Exception {
+        Files.write(directory.resolve("nested.txt"), "content".getBytes(UTF_8));
+        final TestResult result = parse("{\"name\": \"test\", \"status\": \"passed\", \"steps\": ["
+                + "{\"name\": \"outer\", \"status\": \"failed\", \"start\": 1, \"stop\": 5,"
+                + "\"statusDetails\": {\"message\": \"outer message\", \"trace\": \"outer trace\"},"
+                + "\"steps\": [{\"name\": \"inner\", \"status\": \"passed\","
+                + "\"parameters\": [{\"name\": \"p\", \"value\": \"v\"}],"
+                + "\"attachments\": [{\"name\": \"file\", \"source\": \"nested.txt\", \"type\": \"text/plain\"}],"
+                + "\"steps\": [{\"name\": \"deepest\"}]}]}"
+                + "]}");
+
+        final Step outer = result.getTestStage().getSteps().get(0);
+        assertThat(outer)
+                .extracting(Step::getName, Step::getStatus, Step::getStatusMessage, Step::getStatusTrace)
+                .containsExactly("outer", Status.FAILED, "outer message", "outer trace");
+        assertThat(outer.getTime())
+                .extracting(Time::getStart, Time::getStop, Time::getDuration)
+                .containsExactly(1L, 5L, 4L);
+
+        final Step inner = outer.getSteps().get(0);
+        assertThat(inner.getParameters())
+                .extracting(Parameter::getName, Parameter::getValue)
+                .containsExactly(tuple("p", "v"));
+        assertThat(inner.getAttachments())
+                .extracting(Attachment::getName, Attachment::getSource, Attachment::getType)
+                .containsExactly(tuple("file", "nested.txt", "text/plain"));
+        assertThat(inner.getSteps())
+                .extracting(Step::getName, Step::getStatus)
+                .containsExactly(tuple("deepest", Status.UNKNOWN));
+    }
+
+    @Test
+    void shouldSkipUnknownAndNullFields() throws Exception {
+        final TestResult result = parse("{\"uuid\": \"some-uuid\", \"name\": null, \"fullName\": \"a.b\","
+                + "\"unknown\": {\"nested\": [1, {\"steps\": []}]}, \"other\": [[1], \"two\"],"
+                + "\"description\": null, \"statusDetails\": null, \"labels\": null, \"links\": \"wrong\","
+                + "\"start\": null, \"stop\": 10, \"stage\": \"finished\","
+                + "\"parameters\": [null, 1, {\"name\": \"p\", \"value\": null, \"extra\": {}}]}");
+
+        assertThat(result)
+                .extracting(TestResult::getName, TestResult::getFullName, TestResult::getStatus,
+                        TestResult::getDescription, TestResult::getStatusMessage)
+                .containsExactly("a.b", "a.b", Status.UNKNOWN, null, null);
+        assertThat(result.getLabels()).isEmpty();
+        assertThat(result.getLinks()).isEmpty();
+        assertThat(result.getTime())
+                .extracting(Time::getStart, Time::getStop, Time::getDuration)
+                .containsExactly(null, 10L, null);
+        assertThat(result.getParameters())
+                .extracting(Parameter::getName, Parameter::getValue)
+                .containsExactly(tuple("p", null));
+        assertThat(result.getTestStage()).isNull();
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "passed, PASSED",
+            "PASSED, PASSED",
+            "Failed, FAILED",
+            "bRoKeN, BROKEN",
+            "skipped, SKIPPED",
+            "unknown, UNKNOWN",
+            "some-invalid-status, UNKNOWN"
+    })
+    void shouldConvertStatusIgnoringCase(final String status, final Status expected) throws Exception {
+        final TestResult result = parse("{\"name\": \"test\", \"status\": \"" + status + "\","
+                + "\"steps\": [{\"name\": \"step\", \"status\": \"" + status + "\"}]}");
+
+        assertThat(result.getStatus()).isEqualTo(expected);
+        assertThat(result.getTestStage().getStatus()).isEqualTo(expected);
+        assertThat(result.getTestStage().getSteps())
+                .extracting(Step::getStatus)
+                .containsExactly(expected);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{\"name\": \"test\"}",
+            "{\"name\": \"test\", \"attachments\": []}",
+            "{\"name\": \"test\", \"attachments\": null, \"steps\": null}",
+            "{\"name\": \"test\", \"attachments\": [], \"steps\": []}"
+    })
+    void shouldNotCreateTestStageWithoutStepsAndAttachments(final String json) throws Exception {
+        final TestResult result = parse(json);
+
+        assertThat(result.getTestStage()).isNull();
+    }
+
+    @Test
+    void shouldCreateEmptyAttachmentForMissingFile() throws Exception {
+        final TestResult result = parse("{\"name\": \"test\", \"attachments\": ["
+                + "{\"name\": \"missing\", \"source\": \"missing.txt\", \"type\": \"text/plain\"}]}");
+
+        assertThat(result.getTestStage().getAttachments())
+                .extracting(Attachment::getName, Attachment::getType, Attachment::getSize)
+                .containsExactly(tuple("missing", "text/plain", 0L));
+        verify(visitor).error(anyString());
+    }
+
+    @Test
+    void shouldReturnEmptyResultForJsonNull() throws Exception {
+        assertThat(parser.parse(stream("null"))).isEmpty();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "",
+            "[]",
+            "\"test\"",
+            "{\"name\": \"test\", \"steps\": [{\"name\": ",
+            "{\"name\": \"test\",, }",
+            "{name: \"test\"}"
+    })
+    void shouldFailOnMalformedInput(final String json) {
+        assertThatThrownBy(() -> parser.parse(stream(json)))
+                .isInstanceOf(IOException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "simple-testcase.json",
+            "other-testcase.json",
+            "duplicated-params.json",
+            "invalid-status.json",
+            "no-id-testcase.json",
+            "no-status.json",
+            "null-status.json"
+    })
+    void shouldParseFixturesTheSameWayAsObjectMapper(final String fixture) throws Exception {
+        copy("allure2/test-sample-attachment.txt", "test-sample-attachment.txt");
+        copy("allure2/after-sample-attachment.txt", "after-sample-attachment.txt");
+        final io.qameta.allure.model.TestResult model;
+        try (InputStream is = resource("allure2/" + fixture)) {
+            model = mapper.readValue(is, io.qameta.allure.model.TestResult.class);
+        }
+
+        final ParsedTestResult parsed;
+        try (InputStream is = resource("allure2/" + fixture)) {
+            parsed = parser.parse(is).orElseThrow(IllegalStateException::new);
+        }
+
+        assertThat(parsed.getUuid()).isEqualTo(model.getUuid());
+        assertThat(parsed.getResult())
+                .usingRecursiveComparison()
+                .isEqualTo(convert(model));
+    }
+
+    private TestResult parse(final String json) throws IOException {
+        return parser.parse(stream(json))
+                .map(ParsedTestResult::getResult)
+                .orElseThrow(IllegalStateException::new);
+    }
+
+    private static InputStream stream(final String json) {
+        return new ByteArrayInputStream(json.getBytes(UTF_8));
+    }
+
+    private InputStream resource(final String name) {
+        return Objects.requireNonNull(getClass().getClassLoader().getResourceAsStream(name));
+    }
+
+    private void copy(final String resourceName, final String fileName) throws IOException {
+        try (InputStream is = resource(resourceName)) {
+            Files.copy(is, directory.resolve(fileName));
+        }
+    }
+
+    private static Attachment attachment(final Path file) {
+        return new Attachment()
+                .setSource(file.getFileName().toString())
+                .setSize(1L);
+    }
+
+    /**
+     * Conversion of result bound with {@link ObjectMapper}, the way results were read
+     * before {@link TestResultParser} was introduced.
+     */
+    private TestResult convert(final io.qameta.allure.model.TestResult result) {
+        final TestResult dest = new TestResult();
+        dest.setHistoryId(result.getHistoryId());
+        dest.setFullName(result.getFullName());
+        dest.setName(Optional.ofNullable(result.getName())
+                .orElse(Optional.ofNullable(result.getFullName()).orElse("Unknown test")));
+        dest.setTime(convert(result.getStart(), result.getStop()));
+        dest.setDescription(result.getDescription());
+        dest.setDescriptionHtml(result.getDescriptionHtml());
+        dest.setStatus(convert(result.getStatus()));
+        Optional.ofNullable(result.getStatusDetails()).ifPresent(details -> {
+            dest.setStatusMessage(details.getMessage());
+            dest.setStatusTrace(details.getTrace());
+        });
+        dest.setLinks(convert(result.getLinks(), link -> new Link()
+                .setName(link.getName())
+                .setType(link.getType())
+                .setUrl(link.getUrl())));
+        dest.setLabels(convert(result.getLabels(), label -> new Label()
+                .setName(label.getName())
+                .setValue(label.getValue())));
+        final TreeSet<Parameter> parameters = new TreeSet<>(
+                comparing(Parameter::getName, nullsFirst(naturalOrder()))
+                        .thenComparing(Parameter::getValue, nullsFirst(naturalOrder()))
+        );
+        parameters.addAll(convert(result.getParameters(), this::convert));
+        dest.setParameters(new ArrayList<>(parameters));
+        if (!result.getSteps().isEmpty() || !result.getAttachments().isEmpty()) {
+            dest.setTestStage(new StageResult()
+                    .setSteps(convert(result.getSteps(), this::convert))
+                    .setAttachments(convert(result.getAttachments(), this::convert))
+                    .setStatus(dest.getStatus())
+                    .setDescription(dest.getDescription())
+                    .setDescriptionHtml(dest.getDescriptionHtml())
+                    .setStatusMessage(dest.getStatusMessage())
+                    .setStatusTrace(dest.getStatusTrace()));
+        }
+        return dest;
+    }
+
+    private Step convert(final StepResult step) {
+        final Step result = new Step()
+                .setName(step.getName())
+                .setStatus(convert(step.getStatus()))
+                .setTime(convert(step.getStart(), step.getStop()))
+                .setParameters(convert(step.getParameters(), this::convert))
+                .setAttachments(convert(step.getAttachments(), this::convert))
+                .setSteps(convert(step.getSteps(), this::convert));
+        Optional.ofNullable(step.getStatusDetails()).ifPresent(details -> {
+            result.setStatusMessage(details.getMessage());
+            result.setStatusTrace(details.getTrace());
+        });
+        return result;
+    }
+
+    private Parameter convert(final io.qameta.allure.model.Parameter parameter) {
+        return new Parameter()
+                .setName(parameter.getName())
+                .setValue(parameter.getValue());
+    }
+
+    private Attachment convert(final io.qameta.allure.model.Attachment attachment) {
+        return TestResultParser.convert(
+                directory, visitor, attachment.getName(), attachment.getSource(), attachment.getType()
+        );
+    }
+
+    private static Status convert(final io.qameta.allure.model.Status status) {
+        return TestResultParser.convert(Objects.isNull(status) ? null : status.value());
+    }
+
+    private static Time convert(final Long start, final Long stop) {
+        return new Time()
+                .setStart(start)
+                .setStop(stop)
+                .setDuration(Objects.nonNull(start) && Objects.nonNull(stop) ? stop - start : null);
+    }
+
+    private static <T, R> List<R> convert(final List<T> source, final Function<T, R> converter) {
+        return Objects.isNull(source) ? Collections.emptyList() : source.stream()
+                .map(converter)
+                .collect(Collectors.toList());
+    }
+}
@@ -167,6 +167,36 @@ class CategoriesPluginTest {
                 .containsExactlyInAnyOrder("first", "third");
     }
 
+    @Test
+    void shouldGroupBySignatureAndShowRawMessage() {
+        final Category category = new Category().setName("C1");
+        final TestResult first = new TestResult()
+                .setName("first")
+                .setStatus(Status.FAILED)
+                .setStatusMessage("Order 0x1f2e expected 1500 but was 2000");
+        first.addExtraBlock(CATEGORIES, singletonList(category));
+        final TestResult second = new TestResult()
+                .setName("second")
+                .setStatus(Status.FAILED)
+                .setStatusMessage("Order 0x3c4d expected 1500 but was 2000");
+        second.addExtraBlock(CATEGORIES, singletonList(category));
+        final TestResult third = new TestResult()
+                .setName("third")
+                .setStatus(Status.FAILED)
+                .setStatusMessage("Order 0x1f2e expected 3000 but was 4000");
+        third.addExtraBlock(CATEGORIES, singletonList(category));
+
+        final Tree<TestResult> tree = CategoriesPlugin.getData(createSingleLaunchResults(first, second, third));
+
+        assertThat(tree.getChildren())
+                .flatExtracting("children")
+                .extracting("name")
+                .containsExactlyInAnyOrder(
+                        "Order 0x1f2e expected 1500 but was 2000",
+                        "Order 0x1f2e expected 3000 but was 4000"
+                );
+    }
+
     @Test
     void shouldWork() throws IOException {
 
@@ -0,0 +1,81 @@
+/*
+ *  Copyright 2019 Qameta Software OÜ
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.category;
+
+import io.qameta.allure.entity.Status;
+import io.qameta.allure.entity.TestResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CategoryMatcherTest {
+
+    private static final Category TIMEOUTS = new Category()
+            .setName("Timeouts")
+            .setMessageRegex(".*timed out.*")
+            .setMatchedStatuses(Collections.singletonList(Status.BROKEN));
+
+    private static final Category ASSERTIONS = new Category()
+            .setName("Assertions")
+            .setTraceRegex(".*AssertionError.*")
+            .setMatchedStatuses(Arrays.asList(Status.FAILED, Status.BROKEN));
+
+    private static final Category FLAKY = new Category()
+            .setName("Flaky")
+            .setFlaky(true);
+
+    private static final Category ANY = new Category()
+            .setName("Any");
+
+    @Test
+    void shouldMatchSameAsCategoriesPlugin() {
+        final CategoryMatcher matcher = new CategoryMatcher(Arrays.asList(TIMEOUTS, ASSERTIONS, FLAKY, ANY));
+        final TestResult[] results = {
+                result(Status.BROKEN, "Connection timed out", "java.lang.AssertionError: at Test", false),
+                result(Status.FAILED, "Connection timed out", "java.lang.AssertionError: at Test", false),
+                result(Status.BROKEN, "Connection timed out", null, true),
+                result(Status.PASSED, null, null, false),
+                result(null, "Connection timed out", null, false)
+        };
+        for (TestResult result : results) {
+            assertThat(matcher.match(result))
+                    .containsExactlyElementsOf(Arrays.stream(new Category[]{TIMEOUTS, ASSERTIONS, FLAKY, ANY})
+                            .filter(category -> CategoriesPlugin.matches(result, category))
+                            .collect(Collectors.toList()));
+        }
+        assertThat(matcher.match(results[0]))
+                .containsExactly(TIMEOUTS, ASSERTIONS, ANY);
+        assertThat(matcher.match(results[1]))
+                .containsExactly(ASSERTIONS, ANY);
+        assertThat(matcher.match(results[2]))
+                .containsExactly(FLAKY);
+    }
+
+    private static TestResult result(final Status status,
+                                     final String message,
+                                     final String trace,
+                                     final boolean flaky) {
+        return new TestResult()
+                .setStatus(status)
+                .setStatusMessage(message)
+                .setStatusTrace(trace)
+                .setFlaky(flaky);
+    }
+}
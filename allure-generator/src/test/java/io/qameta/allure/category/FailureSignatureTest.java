@@ -0,0 +1,105 @@
+/*
+ *  Copyright 2019 Qameta Software OÜ
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.category;
+
+import io.qameta.allure.entity.TestResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FailureSignatureTest {
+
+    @Test
+    void shouldStripVolatileTokens() {
+        assertThat(FailureSignature.normalize(
+                "Request 3f2a1b4c-1d2e-4f50-8a9b-0c1d2e3f4a5b to localhost:8080 failed at 2019-10-01T12:30:45.123Z"
+        )).isEqualTo("Request <uuid> to localhost:<port> failed at <timestamp>");
+        assertThat(FailureSignature.normalize("Connection to http://db.example.com:5432/db and 10.0.0.1:9000 refused"))
+                .isEqualTo("Connection to http://db.example.com:<port>/db and 10.0.0.1:<port> refused");
+        assertThat(FailureSignature.normalize("Order 1234567 not found in java.lang.Object@1b6d3586"))
+                .isEqualTo("Order 1234567 not found in java.lang.Object@<hex>");
+        assertThat(FailureSignature.normalize("expected [5] but found [6]"))
+                .isEqualTo("expected [5] but found [6]");
+    }
+
+    @Test
+    void shouldKeepNumbersThatAreNotVolatile() {
+        assertThat(FailureSignature.of("expected 1500 but was 2000", null))
+                .isNotEqualTo(FailureSignature.of("expected 3000 but was 4000", null));
+        assertThat(FailureSignature.normalize("Expected: 1500 Actual: 2000"))
+                .isEqualTo("Expected: 1500 Actual: 2000");
+    }
+
+    @Test
+    void shouldGroupFailuresDifferentOnlyByVolatileTokens() {
+        final FailureSignature first = FailureSignature.of("Timed out after 12:00:01 waiting for 0x1f2e", null);
+        final FailureSignature second = FailureSignature.of("Timed out after 13:14:15 waiting for 0x3c4d", null);
+        final FailureSignature other = FailureSignature.of("Timed out after 13:14:15 waiting for cart", null);
+
+        assertThat(first).isEqualTo(second);
+        assertThat(first.getMessage()).isEqualTo("Timed out after <time> waiting for <hex>");
+        assertThat(other).isNotEqualTo(first);
+    }
+
+    @Test
+    void shouldDistinguishFailuresByTopFrames() {
+        final String message = "Element not found";
+        final FailureSignature first = FailureSignature.of(message, "java.lang.AssertionError: " + message
+                + "\n\tat com.example.LoginTest.lambda$login$0(LoginTest.java:42)"
+                + "\n\tat com.example.LoginTest.login(LoginTest.java:40)");
+        final FailureSignature moved = FailureSignature.of(message, "java.lang.AssertionError: " + message
+                + "\n\tat com.example.LoginTest.lambda$login$1(LoginTest.java:45)"
+                + "\n\tat com.example.LoginTest.login(LoginTest.java:43)");
+        final FailureSignature other = FailureSignature.of(message, "java.lang.AssertionError: " + message
+                + "\n\tat com.example.CartTest.checkout(CartTest.java:42)");
+
+        assertThat(first).isEqualTo(moved);
+        assertThat(first.getFrames()).isNotNull();
+        assertThat(other).isNotEqualTo(first);
+        assertThat(other.getMessage()).isEqualTo(first.getMessage());
+    }
+
+    @Test
+    void shouldNormalizeEachDistinctFailureOnce() {
+        final Function<TestResult, FailureSignature> index = FailureSignature.createIndex();
+        final FailureSignature first = index.apply(new TestResult().setStatusMessage("Order 0x1f2e not found"));
+        final FailureSignature second = index.apply(new TestResult().setStatusMessage("Order 0x1f2e not found"));
+        final FailureSignature empty = index.apply(new TestResult());
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.getMessage()).isEqualTo("Order <hex> not found");
+        assertThat(empty.getMessage()).isNull();
+        assertThat(FailureSignature.createIndex().apply(new TestResult().setStatusMessage("Order 0x1f2e not found")))
+                .isNotSameAs(first)
+                .isEqualTo(first);
+    }
+
+    @Test
+    void shouldNameFailuresByFirstRawMessage() {
+        final Function<TestResult, String> names = FailureSignature.createNames();
+
+        assertThat(names.apply(new TestResult().setStatusMessage("Order 0x1f2e not found")))
+                .isEqualTo("Order 0x1f2e not found");
+        assertThat(names.apply(new TestResult().setStatusMessage("Order 0x3c4d not found")))
+                .isEqualTo("Order 0x1f2e not found");
+        assertThat(names.apply(new TestResult().setStatusMessage("Order 0x1f2e not found")
+                .setStatusTrace("java.lang.IllegalStateException\n\tat com.example.Cart.checkout(Cart.java:42)")))
+                .isEqualTo("Order 0x1f2e not found #2");
+        assertThat(names.apply(new TestResult())).isNull();
+    }
+}
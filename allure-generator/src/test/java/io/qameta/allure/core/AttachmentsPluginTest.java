@@ -0,0 +1,57 @@
+/*
+ *  Copyright 2019 Qameta Software OÜ
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.core;
+
+import io.qameta.allure.DefaultLaunchResults;
+import io.qameta.allure.entity.Attachment;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AttachmentsPluginTest {
+
+    @ParameterizedTest
+    @EnumSource(AttachmentsMode.class)
+    void shouldStoreAttachments(final AttachmentsMode mode, @TempDir final Path temp) throws Exception {
+        final Path results = Files.createDirectories(temp.resolve("results"));
+        final Map<Path, Attachment> attachments = new HashMap<>();
+        for (int i = 0; i < 10; i++) {
+            final Path file = Files.write(results.resolve(i + "-attachment.txt"), ("content " + i).getBytes(UTF_8));
+            attachments.put(file, new Attachment().setUid("uid" + i).setSource("source" + i + ".txt"));
+        }
+        final DefaultLaunchResults launch = new DefaultLaunchResults(
+                Collections.emptySet(), attachments, Collections.emptyMap()
+        );
+        final Path output = temp.resolve("report");
+
+        new AttachmentsPlugin(mode, 3).aggregate(null, Collections.singletonList(launch), output);
+
+        final Path attachmentsFolder = output.resolve("data").resolve("attachments");
+        for (int i = 0; i < 10; i++) {
+            assertThat(attachmentsFolder.resolve("source" + i + ".txt"))
+                    .hasContent("content " + i);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ *  Copyright 2019 Qameta Software OÜ
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.core;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.qameta.allure.ConfigurationBuilder;
+import io.qameta.allure.DefaultLaunchResults;
+import io.qameta.allure.SpillingResultsVisitor;
+import io.qameta.allure.TestResultStagesStore;
+import io.qameta.allure.entity.StageResult;
+import io.qameta.allure.entity.Step;
+import io.qameta.allure.entity.TestResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TestsResultsPluginTest {
+
+    @Test
+    void shouldPackResultsToShards(@TempDir final Path output) throws Exception {
+        final Configuration configuration = new ConfigurationBuilder().useDefault().build();
+        final TestResult first = new TestResult().setUid("first").setName("Первый тест");
+        final TestResult second = new TestResult().setUid("second").setName("second");
+        final TestResult third = new TestResult().setUid("third").setName("third");
+        final LaunchResults launch = new DefaultLaunchResults(
+                new HashSet<>(Arrays.asList(first, second, third)), Collections.emptyMap(), Collections.emptyMap()
+        );
+
+        new TestsResultsPlugin(2).aggregate(configuration, Collections.singletonList(launch), output);
+
+        final Path testCases = output.resolve("data").resolve("test-cases");
+        final ObjectMapper mapper = new ObjectMapper();
+        for (int shard = 0; shard < 2; shard++) {
+            assertThat(testCases.resolve(TestsResultsPlugin.getShardIndexFileName(shard)))
+                    .isRegularFile();
+        }
+        for (TestResult result : Arrays.asList(first, second, third)) {
+            final int shard = TestsResultsPlugin.getShard(result.getUid(), 2);
+            final JsonNode index = mapper.readTree(
+                    testCases.resolve(TestsResultsPlugin.getShardIndexFileName(shard)).toFile()
+            );
+            assertThat(index.size())
+                    .describedAs("Shard index should contain results of its shard only")
+                    .isLessThan(3);
+            final JsonNode node = readPacked(testCases, shard, index.get(result.getUid()));
+            assertThat(node.get("uid").asText())
+                    .isEqualTo(result.getUid());
+            assertThat(node.get("name").asText())
+                    .isEqualTo(result.getName());
+        }
+        final JsonNode widget = mapper.readTree(
+                output.resolve("widgets").resolve(TestsResultsPlugin.WIDGET_FILE_NAME).toFile()
+        );
+        assertThat(widget.get("shards").asInt())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotWriteIndexWithoutShards(@TempDir final Path output) throws Exception {
+        final Configuration configuration = new ConfigurationBuilder().useDefault().build();
+        final TestResult result = new TestResult().setUid("single").setName("single");
+        final LaunchResults launch = new DefaultLaunchResults(
+                Collections.singleton(result), Collections.emptyMap(), Collections.emptyMap()
+        );
+
+        new TestsResultsPlugin(0).aggregate(configuration, Collections.singletonList(launch), output);
+
+        final Path testCases = output.resolve("data").resolve("test-cases");
+        assertThat(testCases.resolve(TestsResultsPlugin.getShardIndexFileName(0)))
+                .doesNotExist();
+        assertThat(testCases.resolve("single.json"))
+                .isRegularFile();
+        final JsonNode widget = new ObjectMapper().readTree(
+                output.resolve("widgets").resolve(TestsResultsPlugin.WIDGET_FILE_NAME).toFile()
+        );
+        assertThat(widget.get("shards").asInt())
+                .isEqualTo(0);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 2})
+    void shouldWriteSpilledStages(final int shards, @TempDir final Path temp) throws Exception {
+        final Path spill = Files.createDirectories(temp.resolve("spill"));
+        final Path output = temp.resolve("report");
+        final Configuration configuration = new ConfigurationBuilder().useDefault().build();
+        final TestResult result = new TestResult()
+                .setUid("spilled")
+                .setName("spilled")
+                .setTestStage(new StageResult().setSteps(Collections.singletonList(new Step().setName("step"))));
+        result.getBeforeStages().add(new StageResult().setName("before"));
+        result.getAfterStages().add(new StageResult().setName("after"));
+
+        try (TestResultStagesStore store = new TestResultStagesStore(spill)) {
+            final SpillingResultsVisitor visitor = new SpillingResultsVisitor(configuration, store);
+            visitor.visitTestResult(result);
+            assertThat(result.getTestStage())
+                    .describedAs("Stages should be moved to the store while visiting")
+                    .isNull();
+
+            new TestsResultsPlugin(shards).aggregate(
+                    configuration, Collections.singletonList(visitor.getLaunchResults()), output
+            );
+        }
+
+        final JsonNode node = readTestCase(output.resolve("data").resolve("test-cases"), "spilled", shards);
+        assertThat(node.at("/testStage/steps/0/name").asText())
+                .isEqualTo("step");
+        assertThat(node.at("/beforeStages/0/name").asText())
+                .isEqualTo("before");
+        assertThat(node.at("/afterStages/0/name").asText())
+                .isEqualTo("after");
+    }
+
+    private static JsonNode readTestCase(final Path testCases, final String uid, final int shards)
+            throws IOException {
+        final ObjectMapper mapper = new ObjectMapper();
+        if (shards == 0) {
+            return mapper.readTree(testCases.resolve(uid + ".json").toFile());
+        }
+        final int shard = TestsResultsPlugin.getShard(uid, shards);
+        final JsonNode index = mapper.readTree(
+                testCases.resolve(TestsResultsPlugin.getShardIndexFileName(shard)).toFile()
+        );
+        return readPacked(testCases, shard, index.get(uid));
+    }
+
+    private static JsonNode readPacked(final Path testCases, final int shard, final JsonNode item) throws IOException {
+        final byte[] content = Files.readAllBytes(testCases.resolve(TestsResultsPlugin.getShardFileName(shard)));
+        return new ObjectMapper().readTree(new String(content, item.get(0).asInt(), item.get(1).asInt(), US_ASCII));
+    }
+}
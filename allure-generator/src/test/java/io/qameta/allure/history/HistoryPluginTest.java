@@ -15,11 +15,15 @@
  */
 package io.qameta.allure.history;
 
+import io.qameta.allure.ConfigurationBuilder;
+import io.qameta.allure.core.Configuration;
 import io.qameta.allure.entity.Status;
 import io.qameta.allure.entity.TestResult;
 import io.qameta.allure.entity.Time;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -97,6 +101,147 @@ class HistoryPluginTest {
         assertThat(data.get(historyId2).getItems()).hasSize(2);
     }
 
+    @Test
+    void shouldUpdateBinaryHistory(@TempDir final Path temp) throws Exception {
+        final Configuration configuration = new ConfigurationBuilder().useDefault().build();
+        final String historyId = UUID.randomUUID().toString();
+        final Path first = temp.resolve("first");
+        new HistoryPlugin(true).aggregate(
+                configuration,
+                singletonList(createLaunchResults(new HashMap<>(), createTestResult(PASSED, historyId, 1, 2))),
+                first
+        );
+
+        final Map<String, Object> extra = new HashMap<>();
+        extra.put("historyStore", first.resolve(HISTORY_BLOCK_NAME).toString());
+        final TestResult testResult = createTestResult(Status.FAILED, historyId, 100, 101);
+        final Path second = temp.resolve("second");
+        new HistoryPlugin(true).aggregate(
+                configuration,
+                singletonList(createLaunchResults(extra, testResult)),
+                second
+        );
+
+        assertThat(testResult.isNewFailed()).isTrue();
+        try (HistoryStore store = new HistoryStore(second.resolve(HISTORY_BLOCK_NAME))) {
+            final HistoryData data = store.get(historyId).orElseThrow(IllegalStateException::new);
+            assertThat(data.getItems())
+                    .extracting(HistoryItem::getStatus)
+                    .containsExactly(Status.FAILED, PASSED);
+            assertThat(data.getStatistic().getTotal()).isEqualTo(2);
+        }
+        try (HistoryStore store = new HistoryStore(first.resolve(HISTORY_BLOCK_NAME))) {
+            assertThat(store.get(historyId).map(HistoryData::getItems))
+                    .hasValueSatisfying(items -> assertThat(items).hasSize(1));
+        }
+    }
+
+    @Test
+    void shouldKeepJsonHistoryWhenMigratingToBinary(@TempDir final Path temp) throws Exception {
+        final Configuration configuration = new ConfigurationBuilder().useDefault().build();
+        final String historyId = UUID.randomUUID().toString();
+        final Map<String, Object> extra = new HashMap<>();
+        extra.put(HISTORY_BLOCK_NAME, createHistoryDataMap(
+                historyId,
+                createHistoryItem(PASSED, 3, 4),
+                createHistoryItem(Status.FAILED, 1, 2)
+        ));
+        final TestResult testResult = createTestResult(Status.FAILED, historyId, 100, 101);
+        new HistoryPlugin(true).aggregate(
+                configuration,
+                singletonList(createLaunchResults(extra, testResult)),
+                temp
+        );
+
+        assertThat(testResult.isNewFailed()).isTrue();
+        assertThat(testResult.isFlaky()).isTrue();
+        try (HistoryStore store = new HistoryStore(temp.resolve(HISTORY_BLOCK_NAME))) {
+            final HistoryData data = store.get(historyId).orElseThrow(IllegalStateException::new);
+            assertThat(data.getItems())
+                    .extracting(item -> item.getTime().getStart())
+                    .containsExactly(100L, 3L, 1L);
+            assertThat(data.getItems())
+                    .extracting(HistoryItem::getStatus)
+                    .containsExactly(Status.FAILED, PASSED, Status.FAILED);
+        }
+    }
+
+    @Test
+    void shouldMergeBinaryHistoryOfAllResults(@TempDir final Path temp) throws Exception {
+        final Configuration configuration = new ConfigurationBuilder().useDefault().build();
+        final String firstId = UUID.randomUUID().toString();
+        final String secondId = UUID.randomUUID().toString();
+        final Path first = temp.resolve("first");
+        final Path second = temp.resolve("second");
+        new HistoryPlugin(true).aggregate(
+                configuration,
+                singletonList(createLaunchResults(new HashMap<>(), createTestResult(PASSED, firstId, 1, 2))),
+                first
+        );
+        new HistoryPlugin(true).aggregate(
+                configuration,
+                singletonList(createLaunchResults(new HashMap<>(), createTestResult(PASSED, secondId, 1, 2))),
+                second
+        );
+
+        final Map<String, Object> firstExtra = new HashMap<>();
+        firstExtra.put("historyStore", first.resolve(HISTORY_BLOCK_NAME).toString());
+        final Map<String, Object> secondExtra = new HashMap<>();
+        secondExtra.put("historyStore", second.resolve(HISTORY_BLOCK_NAME).toString());
+        final TestResult firstResult = createTestResult(Status.FAILED, firstId, 100, 101);
+        final TestResult secondResult = createTestResult(Status.FAILED, secondId, 100, 101);
+        final Path report = temp.resolve("report");
+        new HistoryPlugin(true).aggregate(
+                configuration,
+                asList(createLaunchResults(firstExtra, firstResult), createLaunchResults(secondExtra, secondResult)),
+                report
+        );
+
+        assertThat(firstResult.isNewFailed()).isTrue();
+        assertThat(secondResult.isNewFailed()).isTrue();
+        try (HistoryStore store = new HistoryStore(report.resolve(HISTORY_BLOCK_NAME))) {
+            assertThat(store.size()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void shouldUpdateHistoryDirectoryInPlace(@TempDir final Path temp) throws Exception {
+        final Configuration configuration = new ConfigurationBuilder().useDefault().build();
+        final Path directory = temp.resolve("history");
+        final String historyId = UUID.randomUUID().toString();
+        final HistoryPlugin plugin = new HistoryPlugin(true, HistoryStore.DEFAULT_DEPTH, directory);
+        plugin.aggregate(
+                configuration,
+                singletonList(createLaunchResults(new HashMap<>(), createTestResult(PASSED, historyId, 1, 2))),
+                temp.resolve("first")
+        );
+
+        final TestResult testResult = createTestResult(Status.FAILED, historyId, 100, 101);
+        plugin.aggregate(
+                configuration,
+                singletonList(createLaunchResults(new HashMap<>(), testResult)),
+                temp.resolve("second")
+        );
+        final TestResult regenerated = createTestResult(Status.FAILED, historyId, 100, 101);
+        plugin.aggregate(
+                configuration,
+                singletonList(createLaunchResults(new HashMap<>(), regenerated)),
+                temp.resolve("third")
+        );
+
+        assertThat(testResult.isNewFailed()).isTrue();
+        assertThat(regenerated.isNewFailed()).isTrue();
+        assertThat(temp.resolve("second").resolve(HISTORY_BLOCK_NAME).resolve(HistoryStore.DATA_FILE_NAME))
+                .doesNotExist();
+        try (HistoryStore store = new HistoryStore(directory)) {
+            final HistoryData data = store.get(historyId).orElseThrow(IllegalStateException::new);
+            assertThat(data.getItems())
+                    .extracting(HistoryItem::getStatus)
+                    .containsExactly(Status.FAILED, PASSED);
+            assertThat(data.getStatistic().getTotal()).isEqualTo(2);
+        }
+    }
+
     private Map<String, HistoryData> copyHistoryData(Map<String, HistoryData> historyDataMap) {
         return historyDataMap.entrySet().stream()
                 .collect(Collectors.toMap(Map.Entry::getKey, e -> new HistoryData().setItems(e.getValue().getItems())));
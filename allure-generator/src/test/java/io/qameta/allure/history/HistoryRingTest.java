@@ -0,0 +1,65 @@
+/*
+ *  Copyright 2019 Qameta Software OÜ
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.history;
+
+import io.qameta.allure.entity.Status;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static io.qameta.allure.entity.Status.BROKEN;
+import static io.qameta.allure.entity.Status.FAILED;
+import static io.qameta.allure.entity.Status.PASSED;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HistoryRingTest {
+
+    @Test
+    void shouldKeepOnlyNewestItems() {
+        final HistoryRing ring = ring(3, PASSED, FAILED, BROKEN);
+        ring.add(item(PASSED));
+        ring.add(item(FAILED));
+
+        assertThat(ring.toHistoryData().getItems())
+                .extracting(HistoryItem::getStatus)
+                .containsExactly(FAILED, PASSED, PASSED);
+        assertThat(ring.isNewFailed()).isTrue();
+        assertThat(ring.isFlaky()).isFalse();
+    }
+
+    @Test
+    void shouldDetectFlakyWithinDepth() {
+        final HistoryRing ring = ring(3, PASSED, BROKEN, FAILED);
+        ring.add(item(FAILED));
+        assertThat(ring.isFlaky()).isFalse();
+
+        final HistoryRing deeper = ring(4, PASSED, BROKEN, FAILED);
+        deeper.add(item(FAILED));
+        assertThat(deeper.isFlaky()).isTrue();
+        assertThat(deeper.isNewFailed()).isTrue();
+    }
+
+    private static HistoryRing ring(final int depth, final Status... newestFirst) {
+        final HistoryItem[] items = Arrays.stream(newestFirst)
+                .map(HistoryRingTest::item)
+                .toArray(HistoryItem[]::new);
+        return new HistoryRing(depth, new HistoryData().setItems(Arrays.asList(items)));
+    }
+
+    private static HistoryItem item(final Status status) {
+        return new HistoryItem().setStatus(status);
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ *  Copyright 2019 Qameta Software OÜ
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.history;
+
+import io.qameta.allure.entity.Statistic;
+import io.qameta.allure.entity.Status;
+import io.qameta.allure.entity.Time;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HistoryStoreTest {
+
+    @Test
+    void shouldKeepNewestItems(@TempDir final Path directory) throws Exception {
+        final Statistic statistic = new Statistic();
+        try (HistoryStore store = new HistoryStore(directory)) {
+            for (int i = 0; i < HistoryStore.DEFAULT_DEPTH + 5; i++) {
+                final Status status = i % 2 == 0 ? Status.PASSED : Status.FAILED;
+                statistic.update(status);
+                store.append("a", statistic, new HistoryItem()
+                        .setUid("uid" + i)
+                        .setStatus(status)
+                        .setTime(Time.create((long) i, i + 1L)));
+            }
+            store.append("b", new Statistic().setBroken(1), new HistoryItem().setStatus(Status.BROKEN));
+        }
+
+        try (HistoryStore store = new HistoryStore(directory)) {
+            assertThat(store.size()).isEqualTo(2);
+            assertThat(store.get("c")).isEmpty();
+
+            final HistoryData a = store.get("a").orElseThrow(IllegalStateException::new);
+            assertThat(a.getStatistic().getTotal()).isEqualTo(HistoryStore.DEFAULT_DEPTH + 5);
+            assertThat(a.getItems())
+                    .extracting(HistoryItem::getUid)
+                    .containsExactlyElementsOf(IntStream.range(5, HistoryStore.DEFAULT_DEPTH + 5)
+                            .map(i -> HistoryStore.DEFAULT_DEPTH + 9 - i)
+                            .mapToObj(i -> "uid" + i)
+                            .collect(Collectors.toList()));
+            assertThat(a.getItems().get(0).getTime().getStart()).isEqualTo(HistoryStore.DEFAULT_DEPTH + 4L);
+
+            final HistoryData b = store.get("b").orElseThrow(IllegalStateException::new);
+            assertThat(b.getItems())
+                    .hasSize(1)
+                    .extracting(HistoryItem::getStatus)
+                    .containsExactly(Status.BROKEN);
+            assertThat(b.getItems().get(0).getTime().getStart()).isNull();
+        }
+    }
+
+    @Test
+    void shouldAppendToExistingStore(@TempDir final Path directory) throws Exception {
+        try (HistoryStore store = new HistoryStore(directory)) {
+            store.append("a", new Statistic().setPassed(1), new HistoryItem().setUid("first"));
+        }
+        try (HistoryStore store = new HistoryStore(directory)) {
+            store.append("b", new Statistic().setFailed(1), new HistoryItem().setUid("second"));
+            store.append("a", new Statistic().setPassed(2), new HistoryItem().setUid("third"));
+        }
+
+        try (HistoryStore store = new HistoryStore(directory)) {
+            assertThat(store.size()).isEqualTo(2);
+            assertThat(store.get("a").orElseThrow(IllegalStateException::new).getItems())
+                    .extracting(HistoryItem::getUid)
+                    .containsExactly("third", "first");
+            assertThat(store.get("b").orElseThrow(IllegalStateException::new).getItems())
+                    .extracting(HistoryItem::getUid)
+                    .containsExactly("second");
+        }
+    }
+
+    @Test
+    void shouldPutWholeHistory(@TempDir final Path directory) throws Exception {
+        final HistoryData history = new HistoryData()
+                .setStatistic(new Statistic().setPassed(3).setFailed(2))
+                .setItems(IntStream.range(0, 5)
+                        .mapToObj(i -> new HistoryItem().setUid("uid" + i).setStatus(Status.PASSED))
+                        .collect(Collectors.toList()));
+        try (HistoryStore store = new HistoryStore(directory, 4)) {
+            store.put("a", history);
+            store.append("a", new Statistic().setPassed(4).setFailed(2), new HistoryItem().setUid("new"));
+        }
+
+        try (HistoryStore store = new HistoryStore(directory)) {
+            final HistoryData a = store.get("a").orElseThrow(IllegalStateException::new);
+            assertThat(a.getStatistic().getTotal()).isEqualTo(6);
+            assertThat(a.getItems())
+                    .extracting(HistoryItem::getUid)
+                    .containsExactly("new", "uid0", "uid1", "uid2");
+        }
+    }
+
+    @Test
+    void shouldGrowIndex(@TempDir final Path directory) throws Exception {
+        final int count = 5000;
+        try (HistoryStore store = new HistoryStore(directory)) {
+            for (int i = 0; i < count; i++) {
+                store.append("id" + i, new Statistic().setPassed(i), new HistoryItem().setUid("uid" + i));
+            }
+        }
+
+        try (HistoryStore store = new HistoryStore(directory)) {
+            assertThat(store.size()).isEqualTo(count);
+            for (int i = 0; i < count; i++) {
+                final HistoryData data = store.get("id" + i).orElseThrow(IllegalStateException::new);
+                assertThat(data.getStatistic().getPassed()).isEqualTo(i);
+                assertThat(data.getItems()).extracting(HistoryItem::getUid).containsExactly("uid" + i);
+            }
+            assertThat(store.get("id" + count)).isEmpty();
+        }
+    }
+
+    @Test
+    void shouldCopyHistoryOfOtherStore(@TempDir final Path directory) throws Exception {
+        final Path first = directory.resolve("first");
+        final Path second = directory.resolve("second");
+        try (HistoryStore store = new HistoryStore(first)) {
+            store.append("a", new Statistic().setPassed(1), new HistoryItem().setUid("first-a"));
+            store.append("b", new Statistic().setPassed(1), new HistoryItem().setUid("first-b"));
+        }
+        try (HistoryStore store = new HistoryStore(second)) {
+            store.append("b", new Statistic().setFailed(1), new HistoryItem().setUid("second-b"));
+            store.append("c", new Statistic().setFailed(1), new HistoryItem().setUid("second-c"));
+        }
+
+        try (HistoryStore store = new HistoryStore(first); HistoryStore other = new HistoryStore(second)) {
+            store.putAll(other);
+        }
+
+        try (HistoryStore store = new HistoryStore(first)) {
+            assertThat(store.size()).isEqualTo(3);
+            assertThat(store.get("a").map(HistoryData::getItems).orElseThrow(IllegalStateException::new))
+                    .extracting(HistoryItem::getUid)
+                    .containsExactly("first-a");
+            assertThat(store.get("b").map(HistoryData::getItems).orElseThrow(IllegalStateException::new))
+                    .extracting(HistoryItem::getUid)
+                    .containsExactly("second-b");
+            assertThat(store.get("c").map(HistoryData::getStatistic).map(Statistic::getFailed))
+                    .hasValue(1L);
+        }
+    }
+}
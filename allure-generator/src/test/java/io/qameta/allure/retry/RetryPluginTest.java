@@ -21,6 +21,7 @@ import io.qameta.allure.entity.TestResult;
 import io.qameta.allure.entity.Time;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
@@ -168,6 +169,35 @@ class RetryPluginTest {
                 .containsExactlyInAnyOrder(tuple(SECOND_RESULT, false));
     }
 
+    @Test
+    void shouldProcessRetriesInParallel() {
+        final List<TestResult> all = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            final String historyId = "history" + i;
+            for (int retry = 0; retry < 10; retry++) {
+                all.add(createTestResult(historyId + "-" + retry, historyId, retry * 10L, retry * 10L + 9));
+            }
+        }
+        List<LaunchResults> launchResultsList = createSingleLaunchResults(all.toArray(new TestResult[0]));
+
+        new RetryPlugin(true).aggregate(null, launchResultsList, null);
+        Set<TestResult> results = launchResultsList.get(0).getAllResults();
+
+        assertThat(results)
+                .filteredOn(result -> !result.isHidden())
+                .hasSize(100)
+                .allMatch(result -> result.getName().endsWith("-9"))
+                .allMatch(result -> result.<List<RetryItem>>getExtraBlock(RETRY_BLOCK_NAME).size() == 9);
+        TestResult latest = results.stream()
+                .filter(result -> "history0-9".equals(result.getName()))
+                .findFirst()
+                .orElseThrow(IllegalStateException::new);
+        List<RetryItem> retries = latest.getExtraBlock(RETRY_BLOCK_NAME);
+        assertThat(retries)
+                .extracting(item -> item.getTime().getStart())
+                .containsExactly(80L, 70L, 60L, 50L, 40L, 30L, 20L, 10L, 0L);
+    }
+
     private TestResult createTestResult(String name, String historyId, long start, long stop) {
         return new TestResult()
                 .setName(name)
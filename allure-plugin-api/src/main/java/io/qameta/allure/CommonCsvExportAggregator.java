@@ -53,6 +53,18 @@ public abstract class CommonCsvExportAggregator<T> implements Aggregator {
     public void aggregate(final Configuration configuration,
                           final List<LaunchResults> launchesResults,
                           final Path outputDirectory) throws IOException {
+        write(outputDirectory, getData(launchesResults));
+    }
+
+    /**
+     * Writes given data to the file of this aggregator.
+     *
+     * @param outputDirectory the report directory.
+     * @param data            the beans to write.
+     * @throws IOException if any occurs.
+     * @since 2.14
+     */
+    public void write(final Path outputDirectory, final List<T> data) throws IOException {
         final Path dataFolder = Files.createDirectories(outputDirectory.resolve(Constants.DATA_DIR));
         final Path csv = dataFolder.resolve(fileName);
 
@@ -62,7 +74,7 @@ public abstract class CommonCsvExportAggregator<T> implements Aggregator {
             mappingStrategy.setType(type);
             final StatefulBeanToCsv<T> beanWriter = builder.withMappingStrategy(mappingStrategy).build();
             try {
-                beanWriter.write(getData(launchesResults));
+                beanWriter.write(data);
             } catch (Exception e) {
                 throw new IOException(e);
             }
@@ -20,7 +20,6 @@ import io.qameta.allure.core.Configuration;
 import io.qameta.allure.core.LaunchResults;
 
 import java.io.IOException;
-import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
@@ -47,12 +46,25 @@ public abstract class CommonJsonAggregator implements Aggregator {
     public void aggregate(final Configuration configuration,
                           final List<LaunchResults> launchesResults,
                           final Path outputDirectory) throws IOException {
+        write(configuration, outputDirectory, getData(launchesResults));
+    }
+
+    /**
+     * Writes given data to the file of this aggregator.
+     *
+     * @param configuration   the report configuration.
+     * @param outputDirectory the report directory.
+     * @param data            the data to write.
+     * @throws IOException if any occurs.
+     * @since 2.14
+     */
+    public void write(final Configuration configuration,
+                      final Path outputDirectory,
+                      final Object data) throws IOException {
         final JacksonContext jacksonContext = configuration.requireContext(JacksonContext.class);
         final Path dataFolder = Files.createDirectories(outputDirectory.resolve(this.location));
         final Path dataFile = dataFolder.resolve(this.fileName);
-        try (OutputStream os = Files.newOutputStream(dataFile)) {
-            jacksonContext.getValue().writeValue(os, getData(launchesResults));
-        }
+        jacksonContext.write(dataFile, data);
     }
 
     protected abstract Object getData(List<LaunchResults> launches);
@@ -0,0 +1,31 @@
+/*
+ *  Copyright 2019 Qameta Software OÜ
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure;
+
+/**
+ * Marker for aggregators that only read results and write their own files to
+ * report directory. Such aggregators should not modify test results or launch
+ * results in any way (note that {@code TestResult#getExtraBlock(String, Object)}
+ * stores default value for absent block) and should not depend on files written
+ * by other aggregators. Report generator may run consecutive read-only aggregators
+ * concurrently, while any other aggregator is run alone after all the previous
+ * aggregators are finished.
+ *
+ * @since 2.14
+ */
+@FunctionalInterface
+public interface ReadOnlyAggregator extends Aggregator {
+}
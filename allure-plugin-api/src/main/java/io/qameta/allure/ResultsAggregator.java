@@ -0,0 +1,100 @@
+/*
+ *  Copyright 2019 Qameta Software OÜ
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure;
+
+import io.qameta.allure.core.Configuration;
+import io.qameta.allure.core.LaunchResults;
+import io.qameta.allure.entity.TestResult;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static io.qameta.allure.entity.TestResult.comparingByTimeAsc;
+import static java.util.Comparator.comparing;
+
+/**
+ * Aggregator that processes results in a single pass. Instead of streaming over
+ * launches results by itself it creates {@link ResultsCollector} that receives
+ * not hidden results one by one, ordered by start time. Report generator walks
+ * results once for all consecutive aggregators of this kind and then finishes
+ * their collectors in order.
+ *
+ * @since 2.14
+ */
+@FunctionalInterface
+public interface ResultsAggregator extends Aggregator {
+
+    /**
+     * Creates collector for single report generation.
+     *
+     * @param configuration   the report configuration.
+     * @param launchesResults all the parsed test results.
+     * @return created collector.
+     */
+    ResultsCollector createCollector(Configuration configuration, List<LaunchResults> launchesResults);
+
+    @Override
+    default void aggregate(final Configuration configuration,
+                           final List<LaunchResults> launchesResults,
+                           final Path outputDirectory) throws IOException {
+        final ResultsCollector collector = createCollector(configuration, launchesResults);
+        collect(launchesResults, Collections.singletonList(collector));
+        collector.finish(outputDirectory);
+    }
+
+    /**
+     * Passes all not hidden results, ordered by start time, to each of given collectors.
+     *
+     * @param launchesResults all the parsed test results.
+     * @param collectors      the collectors to pass results to.
+     */
+    static void collect(final List<LaunchResults> launchesResults, final List<ResultsCollector> collectors) {
+        launchesResults.stream()
+                .flatMap(launch -> launch.getResults().stream()
+                        .map(result -> new SimpleImmutableEntry<>(launch, result)))
+                .sorted(comparing(Map.Entry::getValue, comparingByTimeAsc()))
+                .forEachOrdered(entry -> collectors
+                        .forEach(collector -> collector.visit(entry.getKey(), entry.getValue())));
+    }
+
+    /**
+     * Collects data of single report generation.
+     */
+    interface ResultsCollector {
+
+        /**
+         * Process test result.
+         *
+         * @param launch the launch result belongs to.
+         * @param result the result to process.
+         */
+        void visit(LaunchResults launch, TestResult result);
+
+        /**
+         * Called after all the results are visited. Can be used to
+         * store collected data to report directory.
+         *
+         * @param outputDirectory the report directory.
+         * @throws IOException if any occurs.
+         */
+        void finish(Path outputDirectory) throws IOException;
+
+    }
+}
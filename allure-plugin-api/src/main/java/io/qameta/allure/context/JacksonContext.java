@@ -18,27 +18,143 @@ package io.qameta.allure.context;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import io.qameta.allure.Context;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+import static io.qameta.allure.util.PropertyUtils.getProperty;
+
 /**
- * Context that stores pre-configured jackson mapper.
+ * Context that stores pre-configured jackson mapper. Report data can be written
+ * either pretty printed (default) or compact, and optionally with pre-compressed
+ * {@code .gz} sibling for each written file, so web servers can serve it as is.
  *
  * @since 2.0
  */
 public class JacksonContext implements Context<ObjectMapper> {
 
+    private static final String ALLURE_JSON_PRETTY = "ALLURE_JSON_PRETTY";
+
+    private static final String ALLURE_JSON_GZIP = "ALLURE_JSON_GZIP";
+
     private final ObjectMapper mapper;
 
+    private final boolean gzip;
+
+    private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
     public JacksonContext() {
+        this(
+                getProperty(ALLURE_JSON_PRETTY).map(Boolean::parseBoolean).orElse(true),
+                getProperty(ALLURE_JSON_GZIP).map(Boolean::parseBoolean).orElse(false)
+        );
+    }
+
+    /**
+     * Creates context with given serialization profile.
+     *
+     * @param pretty true to indent written json, false to write compact json.
+     * @param gzip   true to write gzipped sibling for each file written by {@link #write(Path, Object)}.
+     * @since 2.14
+     */
+    public JacksonContext(final boolean pretty, final boolean gzip) {
         this.mapper = new ObjectMapper()
-                .enable(SerializationFeature.INDENT_OUTPUT)
+                .configure(SerializationFeature.INDENT_OUTPUT, pretty)
                 .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
                 .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        this.gzip = gzip;
     }
 
     @Override
     public ObjectMapper getValue() {
         return mapper;
     }
+
+    /**
+     * Returns writer for given type. Writers are created once and reused.
+     *
+     * @param type the type of values to write.
+     * @return the writer.
+     * @since 2.14
+     */
+    public ObjectWriter getWriter(final Class<?> type) {
+        return writers.computeIfAbsent(type, mapper::writerFor);
+    }
+
+    /**
+     * Writes given value to given file using configured serialization profile.
+     *
+     * @param file  the file to write.
+     * @param value the value to write.
+     * @throws IOException if any occurs.
+     * @since 2.14
+     */
+    public void write(final Path file, final Object value) throws IOException {
+        final ObjectWriter writer = Objects.isNull(value) ? mapper.writer() : getWriter(value.getClass());
+        if (!gzip) {
+            try (OutputStream os = Files.newOutputStream(file)) {
+                writer.writeValue(os, value);
+            }
+            return;
+        }
+        final Path compressed = file.resolveSibling(file.getFileName() + ".gz");
+        try (OutputStream os = new TeeOutputStream(
+                Files.newOutputStream(file),
+                new GZIPOutputStream(Files.newOutputStream(compressed))
+        )) {
+            writer.writeValue(os, value);
+        }
+    }
+
+    /**
+     * Output stream that writes the same bytes to both given streams, so a value
+     * is serialized once for the plain file and its compressed sibling.
+     */
+    private static final class TeeOutputStream extends OutputStream {
+
+        private final OutputStream first;
+
+        private final OutputStream second;
+
+        /* default */ TeeOutputStream(final OutputStream first, final OutputStream second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            first.write(b);
+            second.write(b);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            first.write(b, off, len);
+            second.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            first.flush();
+            second.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                first.close();
+            } finally {
+                second.close();
+            }
+        }
+    }
 }
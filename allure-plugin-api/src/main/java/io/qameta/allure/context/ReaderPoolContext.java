@@ -0,0 +1,42 @@
+/*
+ *  Copyright 2019 Qameta Software OÜ
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.context;
+
+import io.qameta.allure.Context;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * This context provides the pool used to read results. Readers may use it to parse
+ * result files of a directory in parallel. It is provided to readers by report
+ * generator configured with more than one reader thread, and is not configured
+ * otherwise, in which case readers should read results in the calling thread.
+ *
+ * @since 2.14
+ */
+public class ReaderPoolContext implements Context<ForkJoinPool> {
+
+    private final ForkJoinPool pool;
+
+    public ReaderPoolContext(final ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public ForkJoinPool getValue() {
+        return pool;
+    }
+}
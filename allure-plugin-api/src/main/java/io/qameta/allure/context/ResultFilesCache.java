@@ -0,0 +1,186 @@
+/*
+ *  Copyright 2019 Qameta Software OÜ
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.context;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Content parsed from result files, so readers can parse only new and changed files
+ * when the same results directory is read again. Files are considered unchanged if
+ * their size and last modified time are the same as when they were parsed. Content
+ * that is {@link Serializable} can be written to a stream and read back by later runs.
+ *
+ * @since 2.14
+ */
+public class ResultFilesCache {
+
+    private final Map<Path, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Returns content of given file parsed before, if file is not changed since, or
+     * parses file with given parser and keeps the content. Files are parsed outside
+     * of the cache, so concurrent calls for other files do not wait for them.
+     *
+     * @param file   the file.
+     * @param type   the type of content.
+     * @param parser the parser of file, may return null if file can not be parsed.
+     * @param <T>    the java type of content.
+     * @return the content, or null if file can not be parsed.
+     */
+    public <T> T computeIfChanged(final Path file, final Class<T> type, final Function<Path, T> parser) {
+        final Stamp stamp;
+        try {
+            stamp = new Stamp(Files.size(file), Files.getLastModifiedTime(file).toMillis());
+        } catch (IOException e) {
+            entries.remove(file);
+            return parser.apply(file);
+        }
+        final Entry entry = entries.get(file);
+        if (Objects.nonNull(entry) && entry.stamp.equals(stamp) && type.isInstance(entry.content)) {
+            return type.cast(entry.content);
+        }
+        final T content = parser.apply(file);
+        if (Objects.isNull(content)) {
+            entries.remove(file);
+        } else {
+            entries.put(file, new Entry(stamp, content));
+        }
+        return content;
+    }
+
+    /**
+     * Removes content of files of given directory, except given ones. Should be called
+     * with all the files of directory that are still there to forget removed files.
+     *
+     * @param directory the directory.
+     * @param files     the files of directory to keep content of.
+     */
+    public void retain(final Path directory, final Collection<Path> files) {
+        final Set<Path> kept = new HashSet<>(files);
+        entries.keySet().removeIf(file -> directory.equals(file.getParent()) && !kept.contains(file));
+    }
+
+    /**
+     * Removes content of files that are not in given directories.
+     *
+     * @param directories the directories to keep content of files of.
+     */
+    public void retainDirectories(final Collection<Path> directories) {
+        final Set<Path> kept = new HashSet<>(directories);
+        entries.keySet().removeIf(file -> !kept.contains(file.getParent()));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Writes files with serializable content to given stream. Content of other files
+     * is skipped, so these files are parsed again once the cache is read back.
+     *
+     * @param os the stream to write to.
+     * @throws IOException if any occurs.
+     */
+    public void write(final ObjectOutputStream os) throws IOException {
+        final List<Map.Entry<Path, Entry>> serializable = entries.entrySet().stream()
+                .filter(entry -> entry.getValue().content instanceof Serializable)
+                .collect(Collectors.toList());
+        os.writeInt(serializable.size());
+        for (Map.Entry<Path, Entry> entry : serializable) {
+            os.writeUTF(entry.getKey().toString());
+            os.writeLong(entry.getValue().stamp.size);
+            os.writeLong(entry.getValue().stamp.lastModified);
+            os.writeObject(entry.getValue().content);
+            os.reset();
+        }
+    }
+
+    /**
+     * Reads files written by {@link #write(ObjectOutputStream)}, replacing content
+     * of the same files.
+     *
+     * @param is the stream to read from.
+     * @throws IOException            if any occurs.
+     * @throws ClassNotFoundException if class of content can not be found.
+     */
+    public void read(final ObjectInputStream is) throws IOException, ClassNotFoundException {
+        final int count = is.readInt();
+        for (int i = 0; i < count; i++) {
+            final Path file = Paths.get(is.readUTF());
+            final Stamp stamp = new Stamp(is.readLong(), is.readLong());
+            entries.put(file, new Entry(stamp, is.readObject()));
+        }
+    }
+
+    /**
+     * Size and last modified time of a file.
+     */
+    private static final class Stamp {
+
+        private final long size;
+
+        private final long lastModified;
+
+        Stamp(final long size, final long lastModified) {
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (!(other instanceof Stamp)) {
+                return false;
+            }
+            final Stamp stamp = (Stamp) other;
+            return size == stamp.size && lastModified == stamp.lastModified;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(size, lastModified);
+        }
+    }
+
+    /**
+     * Parsed content of a file.
+     */
+    private static final class Entry {
+
+        private final Stamp stamp;
+
+        private final Object content;
+
+        Entry(final Stamp stamp, final Object content) {
+            this.stamp = stamp;
+            this.content = content;
+        }
+    }
+}
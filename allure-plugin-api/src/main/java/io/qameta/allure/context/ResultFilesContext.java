@@ -0,0 +1,43 @@
+/*
+ *  Copyright 2019 Qameta Software OÜ
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.context;
+
+import io.qameta.allure.Context;
+
+/**
+ * This context keeps content parsed from result files between reads of the same
+ * results directories, such as when results directories are watched. It is not
+ * configured by default.
+ *
+ * @since 2.14
+ */
+public class ResultFilesContext implements Context<ResultFilesCache> {
+
+    private final ResultFilesCache cache;
+
+    public ResultFilesContext() {
+        this(new ResultFilesCache());
+    }
+
+    public ResultFilesContext(final ResultFilesCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public ResultFilesCache getValue() {
+        return cache;
+    }
+}
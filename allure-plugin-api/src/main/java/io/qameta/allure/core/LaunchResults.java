@@ -50,6 +50,19 @@ public interface LaunchResults {
      */
     Set<TestResult> getAllResults();
 
+    /**
+     * Returns the given result with its before, test and after stages. Implementations
+     * that keep stages out of memory load them on each call, so the returned result
+     * should not be retained.
+     *
+     * @param result the result of this launch.
+     * @return the result with all the stages.
+     * @since 2.14
+     */
+    default TestResult withStages(final TestResult result) {
+        return result;
+    }
+
     /**
      * Returns all attachments.
      *
@@ -37,6 +37,33 @@ public interface ResultsVisitor {
      */
     Attachment visitAttachmentFile(Path attachmentFile);
 
+    /**
+     * Process attachment file which type is declared by results. Visitor
+     * may trust the declared type instead of detecting it from the file.
+     *
+     * @param attachmentFile the attachment file to process.
+     * @param type           the declared media type, can be null.
+     * @return created {@link Attachment}.
+     * @since 2.14
+     */
+    default Attachment visitAttachmentFile(final Path attachmentFile, final String type) {
+        return visitAttachmentFile(attachmentFile);
+    }
+
+    /**
+     * Process attachment file that was processed before, such as by previous read
+     * of the same results. Visitor may reuse given attachment instead of processing
+     * the file again, otherwise the returned attachment differs from given one.
+     *
+     * @param attachmentFile the attachment file to process.
+     * @param attachment     the attachment created for the file before.
+     * @return {@link Attachment} to use for the file.
+     * @since 2.14
+     */
+    default Attachment visitCachedAttachment(final Path attachmentFile, final Attachment attachment) {
+        return visitAttachmentFile(attachmentFile, attachment.getType());
+    }
+
     /**
      * Process test result.
      *
@@ -0,0 +1,172 @@
+/*
+ *  Copyright 2019 Qameta Software OÜ
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.parser;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Captures text of output elements, such as {@code system-out} of JUnit results or
+ * {@code StdOut} of TRX results, that is read with {@link XmlElementView#readText(XmlTextHandler)}.
+ * Content is kept in memory until it exceeds the threshold, then it is written to
+ * a file in the given spill directory, and only a bounded number of first and last
+ * lines is kept as preview.
+ *
+ * @since 2.14
+ */
+public final class OutputCapture {
+
+    private static final int MAX_LINE_LENGTH = 1000;
+
+    private final Path spillDirectory;
+
+    private final long threshold;
+
+    private final int previewLines;
+
+    private final StringBuilder text = new StringBuilder();
+
+    private final List<String> head = new ArrayList<>();
+
+    private final Deque<String> tail = new ArrayDeque<>();
+
+    private final StringBuilder line = new StringBuilder();
+
+    private long lines;
+
+    private Writer writer;
+
+    private Path file;
+
+    /**
+     * Creates capture of output.
+     *
+     * @param spillDirectory the directory to write large output to, created if needed.
+     * @param threshold      the max number of chars to keep in memory, zero or negative
+     *                       to always keep output in memory.
+     * @param previewLines   the number of first and last lines to keep for spilled output.
+     */
+    public OutputCapture(final Path spillDirectory, final long threshold, final int previewLines) {
+        this.spillDirectory = spillDirectory;
+        this.threshold = threshold;
+        this.previewLines = previewLines;
+    }
+
+    public void append(final char[] chars, final int start, final int length) throws IOException {
+        if (Objects.nonNull(writer)) {
+            writer.write(chars, start, length);
+        } else {
+            text.append(chars, start, length);
+            if (threshold > 0 && text.length() > threshold) {
+                spill();
+            }
+        }
+        for (int i = start; i < start + length; i++) {
+            if (chars[i] == '\n') {
+                addLine();
+            } else if (line.length() < MAX_LINE_LENGTH) {
+                line.append(chars[i]);
+            }
+        }
+    }
+
+    public void finish() throws IOException {
+        if (line.length() > 0) {
+            addLine();
+        }
+        if (Objects.nonNull(writer)) {
+            writer.close();
+        }
+    }
+
+    /**
+     * Writes content kept in memory to a file in the spill directory, so output of any
+     * size can be attached. Does nothing if output is already spilled or is blank.
+     */
+    public void spillAll() throws IOException {
+        if (Objects.isNull(file) && !text.toString().trim().isEmpty()) {
+            spill();
+            writer.close();
+        }
+    }
+
+    /**
+     * Deletes spilled file of output that is not used.
+     */
+    public void delete() throws IOException {
+        if (Objects.nonNull(file)) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    public boolean isSpilled() {
+        return Objects.nonNull(file);
+    }
+
+    public String getText() {
+        return text.toString();
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public List<String> getHead() {
+        return head;
+    }
+
+    public List<String> getTail() {
+        return new ArrayList<>(tail);
+    }
+
+    public long getSkippedLines() {
+        return lines - head.size() - tail.size();
+    }
+
+    private void addLine() {
+        final int end = line.length() > 0 && line.charAt(line.length() - 1) == '\r'
+                ? line.length() - 1
+                : line.length();
+        final String value = line.substring(0, end);
+        line.setLength(0);
+        lines++;
+        if (head.size() < previewLines) {
+            head.add(value);
+            return;
+        }
+        tail.addLast(value);
+        if (tail.size() > previewLines) {
+            tail.removeFirst();
+        }
+    }
+
+    private void spill() throws IOException {
+        file = Files.createTempFile(Files.createDirectories(spillDirectory), "output", ".txt");
+        writer = Files.newBufferedWriter(file, UTF_8);
+        writer.append(text);
+        text.setLength(0);
+        text.trimToSize();
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ *  Copyright 2019 Qameta Software OÜ
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.parser;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Directories to spill output captured while reading results to, one per results
+ * directory. Directories are kept in a temporary directory that is created on first
+ * use and deleted on exit.
+ *
+ * @since 2.14
+ */
+public final class OutputDirectories {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OutputDirectories.class);
+
+    private final String prefix;
+
+    private Path root;
+
+    /**
+     * Creates directories kept in a temporary directory with given name prefix.
+     *
+     * @param prefix the prefix of temporary directory name.
+     */
+    public OutputDirectories(final String prefix) {
+        this.prefix = prefix;
+    }
+
+    /**
+     * Returns directory to spill output of given results directory to. Output spilled
+     * when the results directory was read previously is deleted, as report of previous
+     * read has already copied it.
+     *
+     * @param resultsDirectory the results directory.
+     * @return the empty output directory, that is not created yet.
+     * @throws IOException if previous output could not be deleted.
+     */
+    public Path reset(final Path resultsDirectory) throws IOException {
+        final Path directory = get(resultsDirectory);
+        deleteRecursively(directory);
+        return directory;
+    }
+
+    /**
+     * Returns directory to spill output of given results directory to, without
+     * deleting its content.
+     *
+     * @param resultsDirectory the results directory.
+     * @return the output directory, that may not be created yet.
+     * @throws IOException if temporary directory could not be created.
+     */
+    public Path get(final Path resultsDirectory) throws IOException {
+        final String name = UUID.nameUUIDFromBytes(
+                resultsDirectory.toAbsolutePath().normalize().toString().getBytes(UTF_8)
+        ).toString();
+        return getRoot().resolve(name);
+    }
+
+    private synchronized Path getRoot() throws IOException {
+        if (Objects.isNull(root)) {
+            final Path created = Files.createTempDirectory(prefix);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    deleteRecursively(created);
+                } catch (IOException e) {
+                    LOGGER.debug("Could not delete output directory {}", created, e);
+                }
+            }));
+            root = created;
+        }
+        return root;
+    }
+
+    private static void deleteRecursively(final Path path) throws IOException {
+        if (Files.notExists(path)) {
+            return;
+        }
+        try (Stream<Path> stream = Files.walk(path)) {
+            final List<Path> paths = stream.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+            for (Path item : paths) {
+                Files.delete(item);
+            }
+        }
+    }
+}
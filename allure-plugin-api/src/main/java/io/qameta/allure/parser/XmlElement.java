@@ -21,6 +21,10 @@ import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -70,6 +74,80 @@ public class XmlElement implements Iterable<XmlElement> {
         this.value = textValue.toString();
     }
 
+    /**
+     * Creates element with given content.
+     *
+     * @param name       the element name.
+     * @param attributes the element attributes.
+     * @param children   the child elements.
+     * @param value      the element text.
+     * @since 2.14
+     */
+    public XmlElement(final String name,
+                      final Map<String, String> attributes,
+                      final List<XmlElement> children,
+                      final String value) {
+        this.name = name;
+        this.value = value;
+        this.attributes.putAll(attributes);
+        this.children.addAll(children);
+    }
+
+    /**
+     * Reads element the reader is positioned at, including all its children. Reader should
+     * be positioned at start of the element, and is left at end of the element, so only
+     * the element itself is kept in memory rather than the whole document.
+     *
+     * @param reader the reader positioned at start of the element.
+     * @return read element.
+     * @throws XMLStreamException if any occurs.
+     * @since 2.14
+     */
+    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+    public static XmlElement read(final XMLStreamReader reader) throws XMLStreamException {
+        final String name = getName(reader.getPrefix(), reader.getLocalName());
+        final Map<String, String> attributes = readAttributes(reader);
+        final List<XmlElement> children = new ArrayList<>();
+        final StringBuilder textValue = new StringBuilder();
+        while (reader.hasNext()) {
+            final int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                children.add(read(reader));
+            }
+            if (event == XMLStreamConstants.CHARACTERS
+                    || event == XMLStreamConstants.CDATA
+                    || event == XMLStreamConstants.SPACE) {
+                textValue.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+            }
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                break;
+            }
+        }
+        return new XmlElement(name, attributes, children, textValue.toString());
+    }
+
+    /**
+     * Reads attributes of element the reader is positioned at.
+     *
+     * @param reader the reader positioned at start of the element.
+     * @return attributes of the element.
+     * @since 2.14
+     */
+    public static Map<String, String> readAttributes(final XMLStreamReader reader) {
+        final Map<String, String> attributes = new HashMap<>();
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            attributes.put(
+                    getName(reader.getAttributePrefix(i), reader.getAttributeLocalName(i)),
+                    reader.getAttributeValue(i)
+            );
+        }
+        return attributes;
+    }
+
+    /* default */ static String getName(final String prefix, final String localName) {
+        return Objects.isNull(prefix) || prefix.isEmpty() ? localName : prefix + ":" + localName;
+    }
+
     public List<XmlElement> get(final String name) {
         return children.stream()
                 .filter(elementWithName(name))
@@ -0,0 +1,38 @@
+/*
+ *  Copyright 2019 Qameta Software OÜ
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.parser;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.IOException;
+
+/**
+ * Handler of elements found by {@link XmlStreamParser}.
+ *
+ * @since 2.14
+ */
+@FunctionalInterface
+public interface XmlElementHandler {
+
+    /**
+     * Handles the element. The element view is only valid during this call.
+     *
+     * @param element the element view.
+     * @throws XMLStreamException if element could not be read.
+     * @throws IOException        if element content could not be processed.
+     */
+    void handle(XmlElementView element) throws XMLStreamException, IOException;
+
+}
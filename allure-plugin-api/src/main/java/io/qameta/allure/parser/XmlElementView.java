@@ -0,0 +1,189 @@
+/*
+ *  Copyright 2019 Qameta Software OÜ
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.parser;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Lightweight view of element the streaming reader is positioned at. Nothing but
+ * element name is read until requested, and element content is read directly
+ * from the underlying reader, so each view can only be consumed once: by reading
+ * its text, its children, the whole element or by skipping it.
+ *
+ * @since 2.14
+ */
+public final class XmlElementView {
+
+    private final XMLStreamReader reader;
+
+    private final String name;
+
+    private Map<String, String> attributes;
+
+    private boolean consumed;
+
+    /* default */ XmlElementView(final XMLStreamReader reader) {
+        this.reader = reader;
+        this.name = reader.getLocalName();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getAttribute(final String key) {
+        if (Objects.nonNull(attributes)) {
+            return attributes.get(key);
+        }
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            final String attributeName = XmlElement.getName(
+                    reader.getAttributePrefix(i), reader.getAttributeLocalName(i)
+            );
+            if (attributeName.equals(key)) {
+                return reader.getAttributeValue(i);
+            }
+        }
+        return null;
+    }
+
+    public Map<String, String> getAttributes() {
+        if (Objects.isNull(attributes)) {
+            attributes = XmlElement.readAttributes(reader);
+        }
+        return attributes;
+    }
+
+    public boolean isConsumed() {
+        return consumed;
+    }
+
+    /**
+     * Reads text of the element. Text of nested elements is not included.
+     *
+     * @return the element text.
+     * @throws XMLStreamException if any occurs.
+     */
+    public String getText() throws XMLStreamException {
+        final StringBuilder text = new StringBuilder();
+        try {
+            readText(text::append);
+        } catch (IOException e) {
+            throw new XMLStreamException(e);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Reads text of the element in chunks, so text of any size can be processed
+     * without keeping it in memory. Text of nested elements is not included.
+     *
+     * @param handler the text handler.
+     * @throws XMLStreamException if any occurs.
+     * @throws IOException        if handler fails to process text.
+     */
+    public void readText(final XmlTextHandler handler) throws XMLStreamException, IOException {
+        consume();
+        while (reader.hasNext()) {
+            final int event = reader.next();
+            if (event == XMLStreamConstants.CHARACTERS
+                    || event == XMLStreamConstants.CDATA
+                    || event == XMLStreamConstants.SPACE) {
+                handler.handle(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+            }
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                skipElement(reader);
+            }
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Reads child elements one by one. Children that are not consumed by
+     * the handler are skipped.
+     *
+     * @param handler the child element handler.
+     * @throws XMLStreamException if any occurs.
+     * @throws IOException        if handler fails to process element.
+     */
+    public void forEachChild(final XmlElementHandler handler) throws XMLStreamException, IOException {
+        consume();
+        while (reader.hasNext()) {
+            final int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                final XmlElementView child = new XmlElementView(reader);
+                handler.handle(child);
+                if (!child.isConsumed()) {
+                    child.skip();
+                }
+            }
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Reads the whole element into memory.
+     *
+     * @return read element.
+     * @throws XMLStreamException if any occurs.
+     */
+    public XmlElement read() throws XMLStreamException {
+        consume();
+        return XmlElement.read(reader);
+    }
+
+    /**
+     * Skips the element with all its content.
+     *
+     * @throws XMLStreamException if any occurs.
+     */
+    public void skip() throws XMLStreamException {
+        consume();
+        skipElement(reader);
+    }
+
+    private void consume() {
+        if (consumed) {
+            throw new IllegalStateException(String.format("Element %s is already consumed", name));
+        }
+        getAttributes();
+        consumed = true;
+    }
+
+    /**
+     * Moves reader positioned at start of an element to end of that element.
+     */
+    /* default */ static void skipElement(final XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0 && reader.hasNext()) {
+            final int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            }
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ *  Copyright 2019 Qameta Software OÜ
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.parser;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pull based xml parser that reads document in a single pass without building
+ * element tree. Handlers are subscribed to element paths, such as
+ * {@code testsuites/testsuite/testcase}, and receive a {@link XmlElementView}
+ * for each matching element in document order. Path segments are local names
+ * of elements starting from the root one, {@code *} matches any name.
+ * <p>
+ * A handler may consume the element, in which case the parser continues after
+ * the element end. Otherwise the parser continues with element children, so
+ * handlers subscribed to nested paths receive them. Elements no handler is
+ * subscribed to, directly or via nested paths, are skipped.
+ *
+ * @since 2.14
+ */
+public class XmlStreamParser {
+
+    private static final String PATH_SEPARATOR = "/";
+
+    private static final String ANY_NAME = "*";
+
+    private final List<Subscription> subscriptions = new ArrayList<>();
+
+    /**
+     * Subscribes handler to elements with given path. If few handlers match
+     * the same element, they are called in subscription order until one of
+     * them consumes the element.
+     *
+     * @param path    the element path.
+     * @param handler the handler.
+     * @return this parser.
+     */
+    public XmlStreamParser on(final String path, final XmlElementHandler handler) {
+        final String normalized = path.startsWith(PATH_SEPARATOR) ? path.substring(1) : path;
+        subscriptions.add(new Subscription(normalized.split(PATH_SEPARATOR), handler));
+        return this;
+    }
+
+    public void parse(final Path file) throws XMLStreamException, IOException {
+        try (InputStream is = Files.newInputStream(file)) {
+            parse(is);
+        }
+    }
+
+    public void parse(final InputStream is) throws XMLStreamException, IOException {
+        final XMLStreamReader reader = createReader(is);
+        try {
+            parse(reader);
+        } finally {
+            reader.close();
+        }
+    }
+
+    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+    private void parse(final XMLStreamReader reader) throws XMLStreamException, IOException {
+        final List<String> path = new ArrayList<>();
+        while (reader.hasNext()) {
+            final int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                path.add(reader.getLocalName());
+                final XmlElementView element = new XmlElementView(reader);
+                for (Subscription subscription : subscriptions) {
+                    if (subscription.matches(path)) {
+                        subscription.getHandler().handle(element);
+                        if (element.isConsumed()) {
+                            break;
+                        }
+                    }
+                }
+                if (!element.isConsumed() && !hasNested(path)) {
+                    element.skip();
+                }
+                if (element.isConsumed()) {
+                    path.remove(path.size() - 1);
+                }
+            }
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                path.remove(path.size() - 1);
+            }
+        }
+    }
+
+    private boolean hasNested(final List<String> path) {
+        return subscriptions.stream().anyMatch(subscription -> subscription.isParentOf(path));
+    }
+
+    /**
+     * Creates streaming reader with external entities disabled.
+     *
+     * @param is the input stream.
+     * @return created reader.
+     * @throws XMLStreamException if any occurs.
+     */
+    public static XMLStreamReader createReader(final InputStream is) throws XMLStreamException {
+        final XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory.createXMLStreamReader(is);
+    }
+
+    /**
+     * Handler subscribed to element path.
+     */
+    private static final class Subscription {
+
+        private final String[] segments;
+
+        private final XmlElementHandler handler;
+
+        /* default */ Subscription(final String[] segments, final XmlElementHandler handler) {
+            this.segments = segments;
+            this.handler = handler;
+        }
+
+        /* default */ XmlElementHandler getHandler() {
+            return handler;
+        }
+
+        /* default */ boolean matches(final List<String> path) {
+            return segments.length == path.size() && matchesPrefix(path);
+        }
+
+        /* default */ boolean isParentOf(final List<String> path) {
+            return segments.length > path.size() && matchesPrefix(path);
+        }
+
+        private boolean matchesPrefix(final List<String> path) {
+            for (int i = 0; i < path.size(); i++) {
+                if (!ANY_NAME.equals(segments[i]) && !segments[i].equals(path.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ *  Copyright 2019 Qameta Software OÜ
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.parser;
+
+import java.io.IOException;
+
+/**
+ * Handler of element text, receives text in chunks as it is read.
+ *
+ * @since 2.14
+ */
+@FunctionalInterface
+public interface XmlTextHandler {
+
+    /**
+     * Handles next chunk of element text. The array is reused by reader, so it
+     * should not be kept after this call.
+     *
+     * @param chars  the text characters.
+     * @param start  the start of the chunk.
+     * @param length the length of the chunk.
+     * @throws IOException if text could not be processed.
+     */
+    void handle(char[] chars, int start, int length) throws IOException;
+
+}
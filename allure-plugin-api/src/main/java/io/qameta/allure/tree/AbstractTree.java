@@ -17,6 +17,7 @@ package io.qameta.allure.tree;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 /**
@@ -88,6 +89,11 @@ public abstract class AbstractTree<T, S extends TreeGroup, U extends TreeLeaf> i
         root.addChild(node);
     }
 
+    @Override
+    public <R extends TreeNode> Optional<R> findNodeOfType(final String name, final Class<R> type) {
+        return root.findNodeOfType(name, type);
+    }
+
     protected abstract Class<S> getRootType();
 
 }
@@ -16,9 +16,19 @@
 package io.qameta.allure.tree;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 
 /**
+ * Tree group that keeps its child groups indexed by name, so lookup of child
+ * group does not depend on the number of children. Children are kept in order
+ * of insertion. Groups that are renamed after being added are re-indexed by
+ * the groups they were added to.
+ *
  * @author charlie (Dmitry Baev).
  */
 public class DefaultTreeGroup implements TreeGroup {
@@ -27,6 +37,10 @@ public class DefaultTreeGroup implements TreeGroup {
 
     private List<TreeNode> children = new ArrayList<>();
 
+    private final Map<String, List<TreeNode>> groupsByName = new HashMap<>();
+
+    private final List<DefaultTreeGroup> indexedBy = new ArrayList<>(1);
+
     public DefaultTreeGroup(final String name) {
         this.name = name;
     }
@@ -44,13 +58,55 @@ public class DefaultTreeGroup implements TreeGroup {
     @Override
     public void addChild(final TreeNode node) {
         children.add(node);
+        index(node);
+    }
+
+    @Override
+    public <T extends TreeNode> Optional<T> findNodeOfType(final String name, final Class<T> type) {
+        if (!TreeGroup.class.isAssignableFrom(type)) {
+            return TreeGroup.super.findNodeOfType(name, type);
+        }
+        return groupsByName.getOrDefault(name, Collections.emptyList()).stream()
+                .filter(type::isInstance)
+                .map(type::cast)
+                .filter(node -> Objects.equals(node.getName(), name))
+                .findFirst();
     }
 
     public void setName(final String name) {
+        final String previous = this.name;
         this.name = name;
+        if (!Objects.equals(previous, name)) {
+            indexedBy.forEach(group -> group.reindex(this, previous));
+        }
     }
 
     public void setChildren(final List<TreeNode> children) {
         this.children = children;
+        this.groupsByName.clear();
+        children.forEach(this::index);
+    }
+
+    private void index(final TreeNode node) {
+        if (node instanceof TreeGroup) {
+            groupsByName.computeIfAbsent(node.getName(), key -> new ArrayList<>(1)).add(node);
+        }
+        if (node instanceof DefaultTreeGroup) {
+            final List<DefaultTreeGroup> groups = ((DefaultTreeGroup) node).indexedBy;
+            if (groups.stream().noneMatch(group -> group == this)) {
+                groups.add(this);
+            }
+        }
+    }
+
+    private void reindex(final TreeNode node, final String previousName) {
+        final List<TreeNode> groups = groupsByName.get(previousName);
+        if (Objects.isNull(groups) || !groups.removeIf(group -> group == node)) {
+            return;
+        }
+        if (groups.isEmpty()) {
+            groupsByName.remove(previousName);
+        }
+        groupsByName.computeIfAbsent(node.getName(), key -> new ArrayList<>(1)).add(node);
     }
 }
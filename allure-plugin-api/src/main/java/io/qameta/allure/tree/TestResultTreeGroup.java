@@ -15,13 +15,26 @@
  */
 package io.qameta.allure.tree;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.qameta.allure.entity.Statistic;
+
+import java.util.List;
+import java.util.Objects;
+
 /**
+ * Test result tree group. Keeps statistic of all the leafs in its subtree, that is
+ * updated as soon as leaf or group is added to any group of the subtree.
+ *
  * @author charlie (Dmitry Baev).
  */
 public class TestResultTreeGroup extends DefaultTreeGroup {
 
     private String uid;
 
+    private Statistic statistic = new Statistic();
+
+    private TestResultTreeGroup parent;
+
     public TestResultTreeGroup(final String uid, final String name) {
         super(name);
         this.uid = uid;
@@ -34,4 +47,55 @@ public class TestResultTreeGroup extends DefaultTreeGroup {
     public void setUid(final String uid) {
         this.uid = uid;
     }
+
+    /**
+     * Returns statistic of all the leafs in subtree of the group. The returned
+     * statistic is live and should not be modified.
+     *
+     * @return the statistic of the group.
+     * @since 2.14
+     */
+    @JsonIgnore
+    public Statistic getStatistic() {
+        return statistic;
+    }
+
+    @Override
+    public void addChild(final TreeNode node) {
+        super.addChild(node);
+        if (node instanceof TestResultTreeGroup) {
+            final TestResultTreeGroup child = (TestResultTreeGroup) node;
+            child.parent = this;
+            for (TestResultTreeGroup group = this; Objects.nonNull(group); group = group.parent) {
+                group.statistic.merge(child.statistic);
+            }
+        } else if (node instanceof TestResultTreeLeaf) {
+            final TestResultTreeLeaf leaf = (TestResultTreeLeaf) node;
+            for (TestResultTreeGroup group = this; Objects.nonNull(group); group = group.parent) {
+                group.statistic.update(leaf.getStatus());
+            }
+        }
+    }
+
+    @Override
+    public void setChildren(final List<TreeNode> children) {
+        super.setChildren(children);
+        for (TestResultTreeGroup group = this; Objects.nonNull(group); group = group.parent) {
+            group.recalculateStatistic();
+        }
+    }
+
+    private void recalculateStatistic() {
+        final Statistic calculated = new Statistic();
+        getChildren().forEach(node -> {
+            if (node instanceof TestResultTreeGroup) {
+                final TestResultTreeGroup child = (TestResultTreeGroup) node;
+                child.parent = this;
+                calculated.merge(child.statistic);
+            } else if (node instanceof TestResultTreeLeaf) {
+                calculated.update(((TestResultTreeLeaf) node).getStatus());
+            }
+        });
+        this.statistic = calculated;
+    }
 }
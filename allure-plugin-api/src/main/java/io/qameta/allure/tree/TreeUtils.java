@@ -19,7 +19,6 @@ import io.qameta.allure.entity.LabelName;
 import io.qameta.allure.entity.Statistic;
 import io.qameta.allure.entity.TestResult;
 
-import javax.xml.bind.DatatypeConverter;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.List;
@@ -34,15 +33,28 @@ import static java.nio.charset.StandardCharsets.UTF_8;
  */
 public final class TreeUtils {
 
+    private static final ThreadLocal<MessageDigest> MD5 = ThreadLocal.withInitial(TreeUtils::getMessageDigest);
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
     private TreeUtils() {
         throw new IllegalStateException("Do not instance");
     }
 
+    /**
+     * Creates uid of group as lower case hex of MD5 hash of parent uid and group name.
+     * Uses digest cached per thread, so it is safe to call concurrently.
+     *
+     * @param parentUid the uid of parent group.
+     * @param groupName the name of group.
+     * @return the uid of group.
+     */
     public static String createGroupUid(final String parentUid, final String groupName) {
-        final MessageDigest md = getMessageDigest();
+        final MessageDigest md = MD5.get();
+        md.reset();
         md.update(Objects.toString(parentUid).getBytes(UTF_8));
         md.update(Objects.toString(groupName).getBytes(UTF_8));
-        return DatatypeConverter.printHexBinary(md.digest()).toLowerCase();
+        return toHex(md.digest());
     }
 
     public static List<TreeLayer> groupByLabels(final TestResult testResult,
@@ -55,12 +67,9 @@ public final class TreeUtils {
     }
 
     public static Statistic calculateStatisticByLeafs(final TestResultTreeGroup group) {
-        return group.getChildren().stream()
-                .reduce(
-                        new Statistic(),
-                        TreeUtils::updateStatisticRecursive,
-                        TreeUtils::mergeStatistic
-                );
+        final Statistic statistic = new Statistic();
+        statistic.merge(group.getStatistic());
+        return statistic;
     }
 
     public static Statistic calculateStatisticByChildren(final TestResultTreeGroup group) {
@@ -74,7 +83,7 @@ public final class TreeUtils {
 
     public static Statistic updateStatisticRecursive(final Statistic statistic, final TreeNode treeNode) {
         if (treeNode instanceof TestResultTreeGroup) {
-            statistic.merge(calculateStatisticByLeafs((TestResultTreeGroup) treeNode));
+            statistic.merge(((TestResultTreeGroup) treeNode).getStatistic());
         } else if (treeNode instanceof TestResultTreeLeaf) {
             statistic.update(((TestResultTreeLeaf) treeNode).getStatus());
         }
@@ -83,8 +92,7 @@ public final class TreeUtils {
 
     public static Statistic updateStatistic(final Statistic statistic, final TreeNode treeNode) {
         if (treeNode instanceof TestResultTreeGroup) {
-            final Statistic byLeafs = calculateStatisticByLeafs((TestResultTreeGroup) treeNode);
-            statistic.update(byLeafs.getStatus());
+            statistic.update(((TestResultTreeGroup) treeNode).getStatistic().getStatus());
         } else if (treeNode instanceof TestResultTreeLeaf) {
             statistic.update(((TestResultTreeLeaf) treeNode).getStatus());
         }
@@ -98,6 +106,15 @@ public final class TreeUtils {
         return statistic;
     }
 
+    private static String toHex(final byte[] bytes) {
+        final char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX_DIGITS[(bytes[i] >> 4) & 0xF];
+            chars[i * 2 + 1] = HEX_DIGITS[bytes[i] & 0xF];
+        }
+        return new String(chars);
+    }
+
     private static MessageDigest getMessageDigest() {
         try {
             return MessageDigest.getInstance("MD5");
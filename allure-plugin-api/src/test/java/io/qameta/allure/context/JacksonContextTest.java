@@ -16,7 +16,15 @@
 package io.qameta.allure.context;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.zip.GZIPInputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
 
 class JacksonContextTest {
@@ -27,4 +35,28 @@ class JacksonContextTest {
         assertThat(context.getValue())
                 .isNotNull();
     }
+
+    @Test
+    void shouldWriteCompactJsonWithGzipSibling(@TempDir final Path temp) throws Exception {
+        final JacksonContext context = new JacksonContext(false, true);
+        final Path file = temp.resolve("data.json");
+
+        context.write(file, Collections.singletonMap("key", "value"));
+
+        assertThat(file)
+                .hasContent("{\"key\":\"value\"}");
+        try (InputStream is = new GZIPInputStream(Files.newInputStream(temp.resolve("data.json.gz")))) {
+            final byte[] bytes = new byte[64];
+            final int read = is.read(bytes);
+            assertThat(new String(bytes, 0, read, UTF_8))
+                    .isEqualTo("{\"key\":\"value\"}");
+        }
+    }
+
+    @Test
+    void shouldReuseWriters() {
+        final JacksonContext context = new JacksonContext();
+        assertThat(context.getWriter(String.class))
+                .isSameAs(context.getWriter(String.class));
+    }
 }
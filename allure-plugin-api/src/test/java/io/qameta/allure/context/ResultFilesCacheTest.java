@@ -0,0 +1,120 @@
+/*
+ *  Copyright 2019 Qameta Software OÜ
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.context;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResultFilesCacheTest {
+
+    @Test
+    void shouldParseOnlyChangedFiles(@TempDir final Path directory) throws Exception {
+        final Path file = Files.write(directory.resolve("a-result.json"), "first".getBytes(UTF_8));
+        final ResultFilesCache cache = new ResultFilesContext().getValue();
+        final AtomicInteger parsed = new AtomicInteger();
+
+        assertThat(cache.computeIfChanged(file, String.class, f -> read(f, parsed)))
+                .isEqualTo("first");
+        assertThat(cache.computeIfChanged(file, String.class, f -> read(f, parsed)))
+                .isEqualTo("first");
+        assertThat(parsed.get())
+                .isEqualTo(1);
+
+        Files.write(file, "second".getBytes(UTF_8));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 1000));
+        assertThat(cache.computeIfChanged(file, String.class, f -> read(f, parsed)))
+                .isEqualTo("second");
+        assertThat(parsed.get())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void shouldForgetRemovedFiles(@TempDir final Path directory) throws Exception {
+        final Path first = Files.write(directory.resolve("first-result.json"), "first".getBytes(UTF_8));
+        final Path second = Files.write(directory.resolve("second-result.json"), "second".getBytes(UTF_8));
+        final ResultFilesCache cache = new ResultFilesCache();
+        final AtomicInteger parsed = new AtomicInteger();
+        cache.computeIfChanged(first, String.class, f -> read(f, parsed));
+        cache.computeIfChanged(second, String.class, f -> read(f, parsed));
+        assertThat(cache.size())
+                .isEqualTo(2);
+
+        Files.delete(second);
+        cache.retain(directory, Collections.singletonList(first));
+
+        assertThat(cache.size())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotKeepFilesThatCanNotBeParsed(@TempDir final Path directory) throws Exception {
+        final Path file = Files.write(directory.resolve("a-result.json"), "broken".getBytes(UTF_8));
+        final ResultFilesCache cache = new ResultFilesCache();
+
+        assertThat(cache.computeIfChanged(file, String.class, f -> null))
+                .isNull();
+        assertThat(cache.size())
+                .isEqualTo(0);
+    }
+
+    @Test
+    void shouldWriteOnlySerializableContent(@TempDir final Path directory) throws Exception {
+        final Path first = Files.write(directory.resolve("first-result.json"), "first".getBytes(UTF_8));
+        final Path second = Files.write(directory.resolve("second-result.json"), "second".getBytes(UTF_8));
+        final ResultFilesCache cache = new ResultFilesCache();
+        final AtomicInteger parsed = new AtomicInteger();
+        cache.computeIfChanged(first, String.class, f -> read(f, parsed));
+        cache.computeIfChanged(second, Object.class, f -> new Object());
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream os = new ObjectOutputStream(bytes)) {
+            cache.write(os);
+        }
+        final ResultFilesCache restored = new ResultFilesCache();
+        try (ObjectInputStream is = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            restored.read(is);
+        }
+
+        assertThat(restored.size())
+                .isEqualTo(1);
+        assertThat(restored.computeIfChanged(first, String.class, f -> read(f, parsed)))
+                .isEqualTo("first");
+        assertThat(parsed.get())
+                .isEqualTo(1);
+    }
+
+    private static String read(final Path file, final AtomicInteger parsed) {
+        parsed.incrementAndGet();
+        try {
+            return new String(Files.readAllBytes(file), UTF_8);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
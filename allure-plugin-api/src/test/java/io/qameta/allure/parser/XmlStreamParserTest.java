@@ -0,0 +1,139 @@
+/*
+ *  Copyright 2019 Qameta Software OÜ
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class XmlStreamParserTest {
+
+    private static final String XML = "<root>"
+            + "<group name=\"first\">"
+            + "<item id=\"1\">one<nested>ignored</nested></item>"
+            + "<item id=\"2\"><![CDATA[two]]></item>"
+            + "</group>"
+            + "<other><item id=\"3\">three</item></other>"
+            + "<group name=\"second\"><item id=\"4\">four</item></group>"
+            + "</root>";
+
+    @Test
+    void shouldNotifyHandlersInDocumentOrder() throws Exception {
+        final List<String> events = new ArrayList<>();
+        new XmlStreamParser()
+                .on("root/group", element -> events.add(element.getAttribute("name")))
+                .on("root/group/item", element -> events.add(element.getAttribute("id") + ":" + element.getText()))
+                .parse(stream(XML));
+
+        assertThat(events)
+                .containsExactly("first", "1:one", "2:two", "second", "4:four");
+    }
+
+    @Test
+    void shouldMatchAnyName() throws Exception {
+        final List<String> ids = new ArrayList<>();
+        new XmlStreamParser()
+                .on("/*/*/item", element -> ids.add(element.getAttribute("id")))
+                .parse(stream(XML));
+
+        assertThat(ids)
+                .containsExactly("1", "2", "3", "4");
+    }
+
+    @Test
+    void shouldNotDispatchNestedElementsOfConsumedElement() throws Exception {
+        final List<String> ids = new ArrayList<>();
+        new XmlStreamParser()
+                .on("root/group", element -> {
+                    if ("first".equals(element.getAttribute("name"))) {
+                        element.skip();
+                    }
+                })
+                .on("root/group/item", element -> ids.add(element.getAttribute("id")))
+                .parse(stream(XML));
+
+        assertThat(ids)
+                .containsExactly("4");
+    }
+
+    @Test
+    void shouldReadChildren() throws Exception {
+        final List<XmlElement> items = new ArrayList<>();
+        final List<String> names = new ArrayList<>();
+        new XmlStreamParser()
+                .on("root/group", element -> element.forEachChild(child -> items.add(child.read())))
+                .on("root/group", element -> names.add(element.getAttribute("name")))
+                .parse(stream(XML));
+
+        assertThat(items)
+                .extracting(XmlElement::getValue)
+                .containsExactly("one", "two", "four");
+        assertThat(items.get(0).getFirst("nested"))
+                .map(XmlElement::getValue)
+                .hasValue("ignored");
+        assertThat(names)
+                .describedAs("Consumed element should not be passed to next handlers")
+                .isEmpty();
+    }
+
+    @Test
+    void shouldKeepAttributesOfConsumedElement() throws Exception {
+        final List<String> values = new ArrayList<>();
+        new XmlStreamParser()
+                .on("root/group/item", element -> {
+                    final String text = element.getText();
+                    values.add(element.getAttribute("id") + ":" + text);
+                    values.add(String.valueOf(element.getAttributes()));
+                })
+                .parse(stream("<root><group><item id=\"5\">five</item></group></root>"));
+
+        assertThat(values)
+                .containsExactly("5:five", "{id=5}");
+    }
+
+    @Test
+    void shouldReadTextInChunks() throws Exception {
+        final StringBuilder text = new StringBuilder();
+        new XmlStreamParser()
+                .on("root/other/item", element -> element.readText(text::append))
+                .parse(stream(XML));
+
+        assertThat(text.toString())
+                .isEqualTo("three");
+    }
+
+    @Test
+    void shouldNotAllowToConsumeElementTwice() {
+        assertThatThrownBy(() -> new XmlStreamParser()
+                .on("root", element -> {
+                    element.skip();
+                    element.getText();
+                })
+                .parse(stream(XML))
+        ).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static InputStream stream(final String xml) {
+        return new ByteArrayInputStream(xml.getBytes(UTF_8));
+    }
+}
@@ -16,6 +16,8 @@
 package io.qameta.allure.tree;
 
 import io.qameta.allure.entity.Label;
+import io.qameta.allure.entity.Statistic;
+import io.qameta.allure.entity.Status;
 import io.qameta.allure.entity.TestResult;
 import org.junit.jupiter.api.Test;
 
@@ -43,6 +45,82 @@ class TestResultTreeTest {
                 .hasSize(0);
     }
 
+    @Test
+    void shouldKeepGroupsInInsertionOrder() {
+        final Tree<TestResult> tree = new TestResultTree(
+                "features",
+                testResult -> groupByLabels(testResult, FEATURE)
+        );
+
+        tree.add(new TestResult().setName("first").setLabels(asList(feature("f2"), feature("f1"))));
+        tree.add(new TestResult().setName("second").setLabels(asList(feature("f3"), feature("f2"))));
+        tree.add(new TestResult().setName("third").setLabels(Collections.singletonList(feature("f1"))));
+
+        assertThat(tree.getChildren())
+                .extracting(TreeNode::getName)
+                .containsExactly("f2", "f1", "f3");
+
+        assertThat(tree.findNodeOfType("f1", TestResultTreeGroup.class))
+                .hasValueSatisfying(group -> assertThat(group.getChildren())
+                        .extracting(TreeNode::getName)
+                        .containsExactly("first", "third"));
+
+        assertThat(tree.findNodeOfType("f4", TestResultTreeGroup.class))
+                .isEmpty();
+    }
+
+    @Test
+    void shouldFindGroupsRenamedAfterAdd() {
+        final Tree<TestResult> tree = new TestResultTree(
+                "features",
+                testResult -> groupByLabels(testResult, FEATURE)
+        );
+        tree.add(new TestResult().setName("first").setLabels(Collections.singletonList(feature("f1"))));
+        tree.add(new TestResult().setName("second").setLabels(Collections.singletonList(feature("f2"))));
+
+        tree.findNodeOfType("f1", TestResultTreeGroup.class)
+                .ifPresent(group -> group.setName("renamed"));
+
+        assertThat(tree.findNodeOfType("renamed", TestResultTreeGroup.class))
+                .hasValueSatisfying(group -> assertThat(group.getChildren())
+                        .extracting(TreeNode::getName)
+                        .containsExactly("first"));
+        assertThat(tree.findNodeOfType("f1", TestResultTreeGroup.class))
+                .isEmpty();
+
+        tree.add(new TestResult().setName("third").setLabels(Collections.singletonList(feature("f1"))));
+
+        assertThat(tree.getChildren())
+                .extracting(TreeNode::getName)
+                .containsExactly("renamed", "f2", "f1");
+    }
+
+    @Test
+    void shouldUpdateGroupStatisticOnAdd() {
+        final TestResultTree tree = new TestResultTree(
+                "behaviors",
+                testResult -> groupByLabels(testResult, FEATURE, STORY)
+        );
+
+        tree.add(new TestResult().setName("first").setStatus(Status.PASSED)
+                .setLabels(asList(feature("f1"), story("s1"))));
+        tree.add(new TestResult().setName("second").setStatus(Status.FAILED)
+                .setLabels(asList(feature("f1"), story("s2"))));
+        tree.add(new TestResult().setName("third").setStatus(Status.FAILED)
+                .setLabels(asList(feature("f2"), story("s1"))));
+
+        final TestResultTreeGroup f1 = tree.findNodeOfType("f1", TestResultTreeGroup.class)
+                .orElseThrow(AssertionError::new);
+        assertThat(f1.getStatistic())
+                .extracting(Statistic::getPassed, Statistic::getFailed, Statistic::getTotal)
+                .containsExactly(1L, 1L, 2L);
+        assertThat(TreeUtils.calculateStatisticByChildren(f1))
+                .extracting(Statistic::getPassed, Statistic::getFailed)
+                .containsExactly(1L, 1L);
+        assertThat(f1.findNodeOfType("s1", TestResultTreeGroup.class).map(TreeUtils::calculateStatisticByLeafs))
+                .hasValueSatisfying(statistic -> assertThat(statistic.getPassed()).isEqualTo(1L));
+    }
+
     @Test
     void shouldCrossGroup() {
         final Tree<TestResult> behaviors = new TestResultTree(
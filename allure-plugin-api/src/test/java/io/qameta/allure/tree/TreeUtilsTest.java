@@ -0,0 +1,64 @@
+/*
+ *  Copyright 2019 Qameta Software OÜ
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.tree;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TreeUtilsTest {
+
+    @Test
+    void shouldCreateStableGroupUid() {
+        assertThat(TreeUtils.createGroupUid(null, "suites"))
+                .isEqualTo("98d3104e051c652961429bf95fa0b5d6");
+        assertThat(TreeUtils.createGroupUid("abc", "group é"))
+                .isEqualTo("8bfd5c6e8d8dac1c29b1dc98c2deac8d");
+    }
+
+    @Test
+    void shouldCreateGroupUidConcurrently() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Callable<String>> tasks = IntStream.range(0, 1000)
+                    .<Callable<String>>mapToObj(i -> () -> TreeUtils.createGroupUid(null, "suites"))
+                    .collect(Collectors.toList());
+            final List<String> uids = executor.invokeAll(tasks).stream()
+                    .map(TreeUtilsTest::get)
+                    .collect(Collectors.toList());
+            assertThat(uids)
+                    .containsOnly("98d3104e051c652961429bf95fa0b5d6");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static String get(final Future<String> future) {
+        try {
+            return future.get();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
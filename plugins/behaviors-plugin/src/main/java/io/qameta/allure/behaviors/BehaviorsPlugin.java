@@ -17,8 +17,10 @@ package io.qameta.allure.behaviors;
 
 import io.qameta.allure.CommonCsvExportAggregator;
 import io.qameta.allure.CommonJsonAggregator;
-import io.qameta.allure.CompositeAggregator;
 import io.qameta.allure.Constants;
+import io.qameta.allure.ReadOnlyAggregator;
+import io.qameta.allure.ResultsAggregator;
+import io.qameta.allure.core.Configuration;
 import io.qameta.allure.core.LaunchResults;
 import io.qameta.allure.csv.CsvExportBehavior;
 import io.qameta.allure.entity.LabelName;
@@ -29,6 +31,8 @@ import io.qameta.allure.tree.Tree;
 import io.qameta.allure.tree.TreeWidgetData;
 import io.qameta.allure.tree.TreeWidgetItem;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -54,7 +58,7 @@ import static io.qameta.allure.tree.TreeUtils.groupByLabels;
  * @since 2.0
  */
 @SuppressWarnings({"PMD.ExcessiveImports", "PMD.UseUtilityClass"})
-public class BehaviorsPlugin extends CompositeAggregator {
+public class BehaviorsPlugin implements ResultsAggregator, ReadOnlyAggregator {
 
     protected static final String BEHAVIORS = "behaviors";
 
@@ -65,22 +69,15 @@ public class BehaviorsPlugin extends CompositeAggregator {
     @SuppressWarnings("PMD.DefaultPackage")
     /* default */ static final LabelName[] LABEL_NAMES = {EPIC, FEATURE, STORY};
 
-    public BehaviorsPlugin() {
-        super(Arrays.asList(
-                new JsonAggregator(), new CsvExportAggregator(), new WidgetAggregator()
-        ));
+    @Override
+    public ResultsCollector createCollector(final Configuration configuration,
+                                            final List<LaunchResults> launchesResults) {
+        return new BehaviorsCollector(configuration);
     }
 
     @SuppressWarnings("PMD.DefaultPackage")
     /* default */ static Tree<TestResult> getData(final List<LaunchResults> launchResults) {
-
-        // @formatter:off
-        final Tree<TestResult> behaviors = new TestResultTree(
-            BEHAVIORS,
-            testResult -> groupByLabels(testResult, LABEL_NAMES)
-        );
-        // @formatter:on
-
+        final Tree<TestResult> behaviors = createTree();
         launchResults.stream()
                 .map(LaunchResults::getResults)
                 .flatMap(Collection::stream)
@@ -89,10 +86,51 @@ public class BehaviorsPlugin extends CompositeAggregator {
         return behaviors;
     }
 
+    private static Tree<TestResult> createTree() {
+        // @formatter:off
+        return new TestResultTree(
+            BEHAVIORS,
+            testResult -> groupByLabels(testResult, LABEL_NAMES)
+        );
+        // @formatter:on
+    }
+
     private static boolean isNotEmpty(final List<String> strings) {
         return !Objects.isNull(strings) && !strings.isEmpty();
     }
 
+    /**
+     * Builds behaviors tree and export data once and writes tree, export
+     * and widget data from them.
+     */
+    private static class BehaviorsCollector implements ResultsCollector {
+
+        private final Configuration configuration;
+
+        private final Tree<TestResult> tree = createTree();
+
+        private final CsvExportAggregator csvExportAggregator = new CsvExportAggregator();
+
+        private final List<CsvExportBehavior> exportBehaviors = new ArrayList<>();
+
+        BehaviorsCollector(final Configuration configuration) {
+            this.configuration = configuration;
+        }
+
+        @Override
+        public void visit(final LaunchResults launch, final TestResult result) {
+            tree.add(result);
+            csvExportAggregator.addTestResult(exportBehaviors, result);
+        }
+
+        @Override
+        public void finish(final Path outputDirectory) throws IOException {
+            new JsonAggregator().write(configuration, outputDirectory, tree);
+            csvExportAggregator.write(outputDirectory, exportBehaviors);
+            new WidgetAggregator().write(configuration, outputDirectory, WidgetAggregator.getData(tree));
+        }
+    }
+
     /**
      * Generates tree data.
      */
@@ -120,16 +158,20 @@ public class BehaviorsPlugin extends CompositeAggregator {
         @Override
         protected List<CsvExportBehavior> getData(final List<LaunchResults> launchesResults) {
             final List<CsvExportBehavior> exportBehaviors = new ArrayList<>();
-            launchesResults.stream().flatMap(launch -> launch.getResults().stream()).forEach(result -> {
-                final Map<LabelName, List<String>> epicFeatureStoryMap = new HashMap<>();
-                Arrays.asList(LABEL_NAMES).forEach(
-                        label -> epicFeatureStoryMap.put(label, result.findAllLabels(label))
-                );
-                addTestResult(exportBehaviors, result, epicFeatureStoryMap);
-            });
+            launchesResults.stream()
+                    .flatMap(launch -> launch.getResults().stream())
+                    .forEach(result -> addTestResult(exportBehaviors, result));
             return exportBehaviors;
         }
 
+        private void addTestResult(final List<CsvExportBehavior> exportBehaviors, final TestResult result) {
+            final Map<LabelName, List<String>> epicFeatureStoryMap = new HashMap<>();
+            Arrays.asList(LABEL_NAMES).forEach(
+                    label -> epicFeatureStoryMap.put(label, result.findAllLabels(label))
+            );
+            addTestResult(exportBehaviors, result, epicFeatureStoryMap);
+        }
+
         private void addTestResult(final List<CsvExportBehavior> exportBehaviors, final TestResult result,
                                    final Map<LabelName, List<String>> epicFeatureStoryMap) {
             if (epicFeatureStoryMap.isEmpty()) {
@@ -199,7 +241,10 @@ public class BehaviorsPlugin extends CompositeAggregator {
 
         @Override
         public TreeWidgetData getData(final List<LaunchResults> launches) {
-            final Tree<TestResult> data = BehaviorsPlugin.getData(launches);
+            return getData(BehaviorsPlugin.getData(launches));
+        }
+
+        private static TreeWidgetData getData(final Tree<TestResult> data) {
             final List<TreeWidgetItem> items = data.getChildren().stream()
                     .filter(TestResultTreeGroup.class::isInstance)
                     .map(TestResultTreeGroup.class::cast)
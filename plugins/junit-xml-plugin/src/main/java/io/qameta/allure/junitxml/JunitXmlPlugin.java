@@ -23,20 +23,23 @@ import io.qameta.allure.datetime.CompositeDateTimeParser;
 import io.qameta.allure.datetime.DateTimeParser;
 import io.qameta.allure.datetime.LocalDateTimeParser;
 import io.qameta.allure.datetime.ZonedDateTimeParser;
+import io.qameta.allure.entity.Attachment;
 import io.qameta.allure.entity.LabelName;
 import io.qameta.allure.entity.StageResult;
 import io.qameta.allure.entity.Status;
 import io.qameta.allure.entity.Step;
 import io.qameta.allure.entity.TestResult;
 import io.qameta.allure.entity.Time;
+import io.qameta.allure.parser.OutputCapture;
+import io.qameta.allure.parser.OutputDirectories;
 import io.qameta.allure.parser.XmlElement;
+import io.qameta.allure.parser.XmlElementHandler;
+import io.qameta.allure.parser.XmlElementView;
+import io.qameta.allure.parser.XmlStreamParser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.xml.sax.SAXException;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.nio.file.DirectoryStream;
@@ -45,20 +48,21 @@ import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
-import java.util.Arrays;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static io.qameta.allure.entity.LabelName.RESULT_FORMAT;
+import static io.qameta.allure.util.PropertyUtils.getProperty;
 import static java.nio.file.Files.newDirectoryStream;
-import static java.util.Collections.singletonList;
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 
@@ -93,6 +97,17 @@ public class JunitXmlPlugin implements Reader {
     private static final String STATUS_ATTRIBUTE_NAME = "status";
     private static final String SKIPPED_ATTRIBUTE_VALUE = "notrun";
     private static final String SYSTEM_OUTPUT_ELEMENT_NAME = "system-out";
+    private static final String SYSTEM_ERROR_ELEMENT_NAME = "system-err";
+
+    private static final String ANY_ROOT_PATH = "*";
+    private static final String TEST_SUITE_PATH = TEST_SUITE_ELEMENT_NAME;
+    private static final String NESTED_TEST_SUITE_PATH = TEST_SUITES_ELEMENT_NAME + "/" + TEST_SUITE_PATH;
+    private static final String TEST_CASE_PATH = TEST_SUITE_PATH + "/" + TEST_CASE_ELEMENT_NAME;
+    private static final String NESTED_TEST_CASE_PATH = TEST_SUITES_ELEMENT_NAME + "/" + TEST_CASE_PATH;
+
+    private static final String ALLURE_JUNIT_OUTPUT_THRESHOLD = "ALLURE_JUNIT_OUTPUT_THRESHOLD";
+    private static final long DEFAULT_OUTPUT_THRESHOLD = 1024 * 1024;
+    private static final int OUTPUT_PREVIEW_LINES = 100;
 
     private static final String XML_GLOB = "*.xml";
 
@@ -106,62 +121,137 @@ public class JunitXmlPlugin implements Reader {
 
     private final DateTimeParser parser;
 
+    private final long outputThreshold;
+
+    private final OutputDirectories outputDirectories = new OutputDirectories("allure-junit-output");
+
+    /**
+     * Creates plugin that reads timestamps without zone in system default zone. System
+     * output larger than ALLURE_JUNIT_OUTPUT_THRESHOLD chars (1 MiB by default) is
+     * written to attachments, see {@link #JunitXmlPlugin(ZoneId, long)}.
+     */
     public JunitXmlPlugin() {
         this(ZoneOffset.systemDefault());
     }
 
     public JunitXmlPlugin(final ZoneId defaultZoneId) {
-        parser = new CompositeDateTimeParser(
+        this(
+                defaultZoneId,
+                getProperty(ALLURE_JUNIT_OUTPUT_THRESHOLD).map(Long::parseLong).orElse(DEFAULT_OUTPUT_THRESHOLD)
+        );
+    }
+
+    /**
+     * Creates plugin that writes {@code system-out} content larger than given threshold
+     * to attachment while reading. Only first and last lines of such system output are
+     * added to test case as steps. Non blank {@code system-err} content is always added
+     * as attachment, regardless of its size. Spilled files are kept in
+     * a temporary directory owned by the plugin until results directory they are read
+     * from is read again, and the directory is deleted on exit.
+     *
+     * @param defaultZoneId   the zone to use for timestamps without zone.
+     * @param outputThreshold the max number of chars of system output to keep in memory,
+     *                        zero or negative to always keep it in memory.
+     * @since 2.14
+     */
+    public JunitXmlPlugin(final ZoneId defaultZoneId, final long outputThreshold) {
+        this.parser = new CompositeDateTimeParser(
                 new ZonedDateTimeParser(),
                 new LocalDateTimeParser(defaultZoneId)
         );
+        this.outputThreshold = outputThreshold;
     }
 
     @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
     @Override
     public void readResults(final Configuration configuration, final ResultsVisitor visitor, final Path directory) {
         final RandomUidContext context = configuration.requireContext(RandomUidContext.class);
-        listResults(directory).forEach(result -> parseRootElement(directory, result, context, visitor));
+        final Path outputDirectory;
+        try {
+            outputDirectory = outputDirectories.reset(directory);
+        } catch (IOException e) {
+            visitor.error("Could not create directory for system output of " + directory, e);
+            return;
+        }
+        listResults(directory)
+                .forEach(result -> parseRootElement(directory, outputDirectory, result, context, visitor));
     }
 
-    private void parseRootElement(final Path resultsDirectory, final Path parsedFile,
+    /**
+     * Parses file with streaming reader. Test cases are read one by one and reported
+     * as soon as test case element is closed, so only a single test case is kept
+     * in memory. Elements other than test cases are skipped without being read.
+     */
+    private void parseRootElement(final Path resultsDirectory, final Path outputDirectory, final Path parsedFile,
                                   final RandomUidContext context, final ResultsVisitor visitor) {
+        LOGGER.debug("Parsing file {}", parsedFile);
+        final AtomicReference<TestSuiteInfo> suite = new AtomicReference<>();
+        final XmlElementHandler suiteHandler = element -> suite.set(getTestSuiteInfo(element));
+        final XmlElementHandler testCaseHandler = element -> {
+            final Map<String, OutputCapture> outputs = new HashMap<>();
+            final XmlElement testCase = readTestCase(element, outputDirectory, outputs);
+            parseTestCase(suite.get(), testCase, outputs, resultsDirectory, parsedFile, context, visitor);
+        };
         try {
-            LOGGER.debug("Parsing file {}", parsedFile);
-            final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            final DocumentBuilder builder = factory.newDocumentBuilder();
+            new XmlStreamParser()
+                    .on(ANY_ROOT_PATH, element -> {
+                        final String elementName = element.getName();
+                        if (!TEST_SUITE_ELEMENT_NAME.equals(elementName)
+                                && !TEST_SUITES_ELEMENT_NAME.equals(elementName)) {
+                            LOGGER.debug("File {} is not a valid JUnit xml. Unknown root element {}",
+                                    parsedFile, elementName);
+                            element.skip();
+                        }
+                    })
+                    .on(TEST_SUITE_PATH, suiteHandler)
+                    .on(NESTED_TEST_SUITE_PATH, suiteHandler)
+                    .on(TEST_CASE_PATH, testCaseHandler)
+                    .on(NESTED_TEST_CASE_PATH, testCaseHandler)
+                    .parse(parsedFile);
+        } catch (XMLStreamException | IOException e) {
+            LOGGER.error("Could not parse file {}: {}", parsedFile, e);
+        }
+    }
 
-            final XmlElement rootElement = new XmlElement(builder.parse(parsedFile.toFile()).getDocumentElement());
-            final String elementName = rootElement.getName();
+    private TestSuiteInfo getTestSuiteInfo(final XmlElementView element) {
+        return new TestSuiteInfo()
+                .setName(element.getAttribute(NAME_ATTRIBUTE_NAME))
+                .setHostname(element.getAttribute(HOSTNAME_ATTRIBUTE_NAME))
+                .setTimestamp(getUnix(element.getAttribute(TIMESTAMP_ATTRIBUTE_NAME)));
+    }
 
-            if (TEST_SUITE_ELEMENT_NAME.equals(elementName)) {
-                parseTestSuite(rootElement, parsedFile, context, visitor, resultsDirectory);
-                return;
-            }
-            if (TEST_SUITES_ELEMENT_NAME.equals(elementName)) {
-                rootElement.get(TEST_SUITE_ELEMENT_NAME)
-                        .forEach(element -> parseTestSuite(element, parsedFile, context, visitor, resultsDirectory));
-                return;
+    /**
+     * Reads test case element. System output is captured separately, so large output
+     * goes to a file rather than to memory. Only the first output of each kind is used,
+     * files of the rest are deleted.
+     */
+    private XmlElement readTestCase(final XmlElementView element, final Path outputDirectory,
+                                    final Map<String, OutputCapture> outputs) throws XMLStreamException, IOException {
+        final Map<String, String> attributes = element.getAttributes();
+        final List<XmlElement> children = new ArrayList<>();
+        element.forEachChild(child -> {
+            final String name = child.getName();
+            if (SYSTEM_OUTPUT_ELEMENT_NAME.equals(name) || SYSTEM_ERROR_ELEMENT_NAME.equals(name)) {
+                final OutputCapture output = readOutput(child, outputDirectory);
+                if (nonNull(outputs.putIfAbsent(name, output))) {
+                    output.delete();
+                }
+            } else {
+                children.add(child.read());
             }
-            LOGGER.debug("File {} is not a valid JUnit xml. Unknown root element {}", parsedFile, elementName);
-        } catch (SAXException | ParserConfigurationException | IOException e) {
-            LOGGER.error("Could not parse file {}: {}", parsedFile, e);
-        }
+        });
+        return new XmlElement(TEST_CASE_ELEMENT_NAME, attributes, children, "");
     }
 
-    private void parseTestSuite(final XmlElement testSuiteElement, final Path parsedFile,
-                                final RandomUidContext context, final ResultsVisitor visitor,
-                                final Path resultsDirectory) {
-        final String name = testSuiteElement.getAttribute(NAME_ATTRIBUTE_NAME);
-        final String hostname = testSuiteElement.getAttribute(HOSTNAME_ATTRIBUTE_NAME);
-        final String timestamp = testSuiteElement.getAttribute(TIMESTAMP_ATTRIBUTE_NAME);
-        final TestSuiteInfo info = new TestSuiteInfo()
-                .setName(name)
-                .setHostname(hostname)
-                .setTimestamp(getUnix(timestamp));
-        testSuiteElement.get(TEST_CASE_ELEMENT_NAME)
-                .forEach(element -> parseTestCase(info, element,
-                                                  resultsDirectory, parsedFile, context, visitor));
+    private OutputCapture readOutput(final XmlElementView element,
+                                     final Path outputDirectory) throws XMLStreamException, IOException {
+        final OutputCapture output = new OutputCapture(outputDirectory, outputThreshold, OUTPUT_PREVIEW_LINES);
+        try {
+            element.readText(output::append);
+        } finally {
+            output.finish();
+        }
+        return output;
     }
 
     private Long getUnix(final String timestamp) {
@@ -172,7 +262,9 @@ public class JunitXmlPlugin implements Reader {
                 .orElse(null);
     }
 
-    private void parseTestCase(final TestSuiteInfo info, final XmlElement testCaseElement, final Path resultsDirectory,
+    @SuppressWarnings("PMD.ExcessiveParameterList")
+    private void parseTestCase(final TestSuiteInfo info, final XmlElement testCaseElement,
+                               final Map<String, OutputCapture> outputs, final Path resultsDirectory,
                                final Path parsedFile, final RandomUidContext context, final ResultsVisitor visitor) {
         final String className = testCaseElement.getAttribute(CLASS_NAME_ATTRIBUTE_NAME);
         final Status status = getStatus(testCaseElement);
@@ -181,19 +273,29 @@ public class JunitXmlPlugin implements Reader {
         result.setFlaky(isFlaky(testCaseElement));
         setStatusDetails(result, testCaseElement);
         final StageResult stageResult = new StageResult();
-        getLogMessage(testCaseElement).ifPresent(logMessage -> {
-            final List<String> lines = splitLines(logMessage);
-            final List<Step> steps = lines
-                    .stream()
-                    .map(line -> new Step().setName(line))
-                    .collect(Collectors.toList());
-            stageResult.setSteps(steps);
-        });
+        final List<Attachment> attachments = new ArrayList<>();
+        final OutputCapture systemOut = outputs.get(SYSTEM_OUTPUT_ELEMENT_NAME);
+        if (nonNull(systemOut)) {
+            stageResult.setSteps(getSteps(systemOut));
+            if (systemOut.isSpilled()) {
+                attachments.add(visitor.visitAttachmentFile(systemOut.getFile()).setName("System out"));
+            }
+        }
+        final OutputCapture systemErr = outputs.get(SYSTEM_ERROR_ELEMENT_NAME);
+        if (nonNull(systemErr)) {
+            spillAll(systemErr);
+            if (systemErr.isSpilled()) {
+                attachments.add(visitor.visitAttachmentFile(systemErr.getFile()).setName("System err"));
+            }
+        }
         getLogFile(resultsDirectory, className)
                 .filter(Files::exists)
                 .map(visitor::visitAttachmentFile)
                 .map(attachment1 -> attachment1.setName("System out"))
-                .ifPresent(attachment -> stageResult.setAttachments(singletonList(attachment)));
+                .ifPresent(attachments::add);
+        if (!attachments.isEmpty()) {
+            stageResult.setAttachments(attachments);
+        }
         result.setTestStage(stageResult);
         visitor.visitTestResult(result);
 
@@ -207,12 +309,34 @@ public class JunitXmlPlugin implements Reader {
         }));
     }
 
+    private void spillAll(final OutputCapture output) {
+        try {
+            output.spillAll();
+        } catch (IOException e) {
+            LOGGER.error("Could not write system output to {}", output.getFile(), e);
+        }
+    }
+
     private List<String> splitLines(final String str) {
         return Arrays.asList(str.split("\\r?\\n"));
     }
 
-    private Optional<String> getLogMessage(final XmlElement testCaseElement) {
-        return testCaseElement.getFirst(SYSTEM_OUTPUT_ELEMENT_NAME).map(XmlElement::getValue);
+    private List<Step> getSteps(final OutputCapture output) {
+        if (!output.isSpilled()) {
+            return splitLines(output.getText()).stream()
+                    .map(line -> new Step().setName(line))
+                    .collect(Collectors.toList());
+        }
+        final List<Step> steps = output.getHead().stream()
+                .map(line -> new Step().setName(line))
+                .collect(Collectors.toList());
+        if (output.getSkippedLines() > 0) {
+            steps.add(new Step().setName(String.format(
+                    "... %d more lines, see System out attachment ...", output.getSkippedLines()
+            )));
+        }
+        output.getTail().forEach(line -> steps.add(new Step().setName(line)));
+        return steps;
     }
 
     private Optional<Path> getLogFile(final Path resultsDirectory, final String className) {
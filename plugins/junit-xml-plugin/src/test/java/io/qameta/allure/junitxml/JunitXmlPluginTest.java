@@ -24,6 +24,7 @@ import io.qameta.allure.entity.Label;
 import io.qameta.allure.entity.LabelName;
 import io.qameta.allure.entity.StageResult;
 import io.qameta.allure.entity.Status;
+import io.qameta.allure.entity.Step;
 import io.qameta.allure.entity.TestResult;
 import io.qameta.allure.entity.Time;
 import org.assertj.core.groups.Tuple;
@@ -34,14 +35,18 @@ import org.mockito.ArgumentCaptor;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.tuple;
@@ -332,6 +337,133 @@ class JunitXmlPluginTest {
                 );
     }
 
+    @Test
+    void shouldReportTestCasesAsSoonAsTheyAreRead() throws Exception {
+        final String xml = "<testsuite name=\"suite\">"
+                + "<system-out>suite output</system-out>"
+                + "<testcase classname=\"test.Sample\" name=\"first\" time=\"1\"/>"
+                + "<testcase classname=\"test.Sample\" name=\"second\" time=\"1\">"
+                + "<failure message=\"boom\">trace</failure>"
+                + "</testcase>"
+                + "<testcase classname=\"test.Sample\" name=\"truncated\">";
+        Files.write(resultsDirectory.resolve("TEST-truncated.xml"), xml.getBytes(StandardCharsets.UTF_8));
+
+        new JunitXmlPlugin(ZoneOffset.UTC).readResults(configuration, visitor, resultsDirectory);
+
+        final ArgumentCaptor<TestResult> captor = ArgumentCaptor.forClass(TestResult.class);
+        verify(visitor, times(2)).visitTestResult(captor.capture());
+        assertThat(captor.getAllValues())
+                .extracting(TestResult::getName, TestResult::getStatus, TestResult::getStatusMessage)
+                .containsExactly(
+                        tuple("first", Status.PASSED, null),
+                        tuple("second", Status.FAILED, "boom")
+                );
+    }
+
+    @Test
+    void shouldSpillLargeSystemOutputToAttachments() throws Exception {
+        final String output = IntStream.range(0, 1000)
+                .mapToObj(i -> "line " + i)
+                .collect(Collectors.joining("\n"));
+        final String xml = "<testsuite name=\"suite\">"
+                + "<testcase classname=\"test.Sample\" name=\"noisy\" time=\"1\">"
+                + "<system-out><![CDATA[" + output + "]]></system-out>"
+                + "<system-err>" + output + "</system-err>"
+                + "</testcase>"
+                + "</testsuite>";
+        Files.write(resultsDirectory.resolve("TEST-noisy.xml"), xml.getBytes(StandardCharsets.UTF_8));
+        final List<Path> files = new ArrayList<>();
+        when(visitor.visitAttachmentFile(any())).thenAnswer(invocation -> {
+            files.add(invocation.getArgument(0));
+            return new Attachment().setUid("uid-" + files.size());
+        });
+
+        new JunitXmlPlugin(ZoneOffset.UTC, 1024).readResults(configuration, visitor, resultsDirectory);
+
+        assertThat(files)
+                .hasSize(2)
+                .allSatisfy(file -> assertThat(file).hasContent(output));
+
+        final ArgumentCaptor<TestResult> captor = ArgumentCaptor.forClass(TestResult.class);
+        verify(visitor, times(1)).visitTestResult(captor.capture());
+        final StageResult testStage = captor.getValue().getTestStage();
+        assertThat(testStage.getAttachments())
+                .extracting(Attachment::getName, Attachment::getUid)
+                .containsExactly(tuple("System out", "uid-1"), tuple("System err", "uid-2"));
+        assertThat(testStage.getSteps())
+                .hasSize(201)
+                .extracting(Step::getName)
+                .startsWith("line 0", "line 1")
+                .contains("... 800 more lines, see System out attachment ...")
+                .endsWith("line 998", "line 999");
+    }
+
+    @Test
+    void shouldAttachSystemErrorOfAnySize() throws Exception {
+        final String xml = "<testsuite name=\"suite\">"
+                + "<testcase classname=\"test.Sample\" name=\"small\" time=\"1\">"
+                + "<system-err>small error</system-err>"
+                + "</testcase>"
+                + "<testcase classname=\"test.Sample\" name=\"blank\" time=\"1\">"
+                + "<system-err> </system-err>"
+                + "</testcase>"
+                + "</testsuite>";
+        Files.write(resultsDirectory.resolve("TEST-small.xml"), xml.getBytes(StandardCharsets.UTF_8));
+        final List<Path> files = new ArrayList<>();
+        when(visitor.visitAttachmentFile(any())).thenAnswer(invocation -> {
+            files.add(invocation.getArgument(0));
+            return new Attachment().setUid("uid-" + files.size());
+        });
+
+        new JunitXmlPlugin(ZoneOffset.UTC, 1024).readResults(configuration, visitor, resultsDirectory);
+
+        assertThat(files)
+                .hasSize(1)
+                .allSatisfy(file -> assertThat(file).hasContent("small error"));
+
+        final ArgumentCaptor<TestResult> captor = ArgumentCaptor.forClass(TestResult.class);
+        verify(visitor, times(2)).visitTestResult(captor.capture());
+        assertThat(captor.getAllValues().get(0).getTestStage().getAttachments())
+                .extracting(Attachment::getName, Attachment::getUid)
+                .containsExactly(tuple("System err", "uid-1"));
+        assertThat(captor.getAllValues().get(1).getTestStage().getAttachments())
+                .isNullOrEmpty();
+    }
+
+    @Test
+    void shouldDeleteUnusedAndPreviouslySpilledOutput() throws Exception {
+        final String output = IntStream.range(0, 1000)
+                .mapToObj(i -> "line " + i)
+                .collect(Collectors.joining("\n"));
+        final String xml = "<testsuite name=\"suite\">"
+                + "<testcase classname=\"test.Sample\" name=\"noisy\" time=\"1\">"
+                + "<system-out>" + output + "</system-out>"
+                + "<system-out>" + output + "</system-out>"
+                + "</testcase>"
+                + "</testsuite>";
+        Files.write(resultsDirectory.resolve("TEST-noisy.xml"), xml.getBytes(StandardCharsets.UTF_8));
+        final List<Path> files = new ArrayList<>();
+        when(visitor.visitAttachmentFile(any())).thenAnswer(invocation -> {
+            files.add(invocation.getArgument(0));
+            return new Attachment().setUid("uid-" + files.size());
+        });
+        final JunitXmlPlugin plugin = new JunitXmlPlugin(ZoneOffset.UTC, 1024);
+
+        plugin.readResults(configuration, visitor, resultsDirectory);
+
+        assertThat(files).hasSize(1);
+        final Path first = files.get(0);
+        try (Stream<Path> spilled = Files.list(first.getParent())) {
+            assertThat(spilled).containsExactly(first);
+        }
+
+        plugin.readResults(configuration, visitor, resultsDirectory);
+
+        assertThat(files).hasSize(2);
+        assertThat(first).doesNotExist();
+        assertThat(files.get(1)).hasContent(output);
+    }
+
     private void process(String... strings) throws IOException {
         Iterator<String> iterator = Arrays.asList(strings).iterator();
         while (iterator.hasNext()) {
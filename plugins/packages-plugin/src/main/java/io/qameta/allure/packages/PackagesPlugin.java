@@ -15,7 +15,8 @@
  */
 package io.qameta.allure.packages;
 
-import io.qameta.allure.Aggregator;
+import io.qameta.allure.ReadOnlyAggregator;
+import io.qameta.allure.ResultsAggregator;
 import io.qameta.allure.context.JacksonContext;
 import io.qameta.allure.core.Configuration;
 import io.qameta.allure.core.LaunchResults;
@@ -30,7 +31,6 @@ import io.qameta.allure.tree.Tree;
 import io.qameta.allure.tree.TreeLayer;
 
 import java.io.IOException;
-import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Arrays;
@@ -46,30 +46,31 @@ import static io.qameta.allure.entity.TestResult.comparingByTimeAsc;
  *
  * @since 2.0
  */
-public class PackagesPlugin implements Aggregator {
+public class PackagesPlugin implements ResultsAggregator, ReadOnlyAggregator {
 
     @Override
-    public void aggregate(final Configuration configuration,
-                          final List<LaunchResults> launchesResults,
-                          final Path outputDirectory) throws IOException {
-        final JacksonContext jacksonContext = configuration.requireContext(JacksonContext.class);
-        final Path dataFolder = Files.createDirectories(outputDirectory.resolve("data"));
-        final Path dataFile = dataFolder.resolve("packages.json");
-        try (OutputStream os = Files.newOutputStream(dataFile)) {
-            jacksonContext.getValue().writeValue(os, getData(launchesResults));
-        }
+    public ResultsCollector createCollector(final Configuration configuration,
+                                            final List<LaunchResults> launchesResults) {
+        final Tree<TestResult> packages = createTree();
+        return new ResultsCollector() {
+            @Override
+            public void visit(final LaunchResults launch, final TestResult result) {
+                packages.add(result);
+            }
+
+            @Override
+            public void finish(final Path outputDirectory) throws IOException {
+                final JacksonContext jacksonContext = configuration.requireContext(JacksonContext.class);
+                final Path dataFolder = Files.createDirectories(outputDirectory.resolve("data"));
+                final Path dataFile = dataFolder.resolve("packages.json");
+                jacksonContext.write(dataFile, collapseGroupsWithOnlyOneChild(packages));
+            }
+        };
     }
 
     @SuppressWarnings("PMD.DefaultPackage")
     /* default */ Tree<TestResult> getData(final List<LaunchResults> launchResults) {
-
-        final Tree<TestResult> packages = new TestResultTree(
-                "packages",
-                this::groupByPackages,
-                new TestResultGroupFactory(),
-                this::createLeaf
-        );
-
+        final Tree<TestResult> packages = createTree();
         launchResults.stream()
                 .map(LaunchResults::getResults)
                 .flatMap(Collection::stream)
@@ -79,6 +80,15 @@ public class PackagesPlugin implements Aggregator {
         return collapseGroupsWithOnlyOneChild(packages);
     }
 
+    private Tree<TestResult> createTree() {
+        return new TestResultTree(
+                "packages",
+                this::groupByPackages,
+                new TestResultGroupFactory(),
+                this::createLeaf
+        );
+    }
+
     protected List<TreeLayer> groupByPackages(final TestResult testResult) {
         return testResult.findOneLabel(LabelName.PACKAGE)
                 .map(packageName -> Arrays.asList(packageName.split("\\.")))
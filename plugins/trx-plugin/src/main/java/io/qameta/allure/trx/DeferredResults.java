@@ -0,0 +1,142 @@
+/*
+ *  Copyright 2019 Qameta Software OÜ
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.trx;
+
+import io.qameta.allure.parser.XmlElement;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Disk backed buffer of result elements that can't be processed yet, e.g. results
+ * that precede test definitions. Elements are written to a temporary file one by one,
+ * so only a single element is kept in memory regardless of number of buffered elements.
+ *
+ * @since 2.14
+ */
+/* default */ final class DeferredResults implements Closeable {
+
+    private Path file;
+
+    private DataOutputStream output;
+
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    public void add(final XmlElement element) throws IOException {
+        if (Objects.isNull(output)) {
+            file = Files.createTempFile("allure-trx", ".bin");
+            output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+        }
+        writeElement(element);
+        size++;
+    }
+
+    /**
+     * Passes all buffered elements to the consumer in order they were added, then
+     * clears the buffer.
+     *
+     * @param consumer the element consumer.
+     * @throws IOException if buffer could not be read.
+     */
+    public void forEach(final Consumer<XmlElement> consumer) throws IOException {
+        if (size == 0) {
+            return;
+        }
+        output.close();
+        output = null;
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            for (int i = 0; i < size; i++) {
+                consumer.accept(readElement(input));
+            }
+        } finally {
+            size = 0;
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (Objects.nonNull(output)) {
+            output.close();
+            output = null;
+        }
+        if (Objects.nonNull(file)) {
+            Files.deleteIfExists(file);
+        }
+        size = 0;
+    }
+
+    private void writeElement(final XmlElement element) throws IOException {
+        writeString(element.getName());
+        writeString(element.getValue());
+        output.writeInt(element.getAttributes().size());
+        for (Map.Entry<String, String> attribute : element.getAttributes().entrySet()) {
+            writeString(attribute.getKey());
+            writeString(attribute.getValue());
+        }
+        output.writeInt(element.getChildren().size());
+        for (XmlElement child : element.getChildren()) {
+            writeElement(child);
+        }
+    }
+
+    private void writeString(final String value) throws IOException {
+        final byte[] bytes = value.getBytes(UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+    private static XmlElement readElement(final DataInputStream input) throws IOException {
+        final String name = readString(input);
+        final String value = readString(input);
+        final int attributesCount = input.readInt();
+        final Map<String, String> attributes = new HashMap<>();
+        for (int i = 0; i < attributesCount; i++) {
+            attributes.put(readString(input), readString(input));
+        }
+        final int childrenCount = input.readInt();
+        final List<XmlElement> children = new ArrayList<>(childrenCount);
+        for (int i = 0; i < childrenCount; i++) {
+            children.add(readElement(input));
+        }
+        return new XmlElement(name, attributes, children, value);
+    }
+
+    private static String readString(final DataInputStream input) throws IOException {
+        final byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        return new String(bytes, UTF_8);
+    }
+}
@@ -24,7 +24,11 @@ import io.qameta.allure.entity.Status;
 import io.qameta.allure.entity.Step;
 import io.qameta.allure.entity.TestResult;
 import io.qameta.allure.entity.Time;
+import io.qameta.allure.parser.OutputCapture;
+import io.qameta.allure.parser.OutputDirectories;
 import io.qameta.allure.parser.XmlElement;
+import io.qameta.allure.parser.XmlElementView;
+import io.qameta.allure.parser.XmlStreamParser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
@@ -33,26 +37,32 @@ import org.xml.sax.SAXException;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
 import java.io.IOException;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.time.chrono.ChronoZonedDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static io.qameta.allure.entity.LabelName.RESULT_FORMAT;
 import static io.qameta.allure.entity.LabelName.PACKAGE;
 import static io.qameta.allure.entity.LabelName.SUITE;
 import static io.qameta.allure.entity.LabelName.TEST_CLASS;
+import static io.qameta.allure.util.PropertyUtils.getProperty;
 import static java.nio.file.Files.newDirectoryStream;
 
 /**
@@ -91,15 +101,84 @@ public class TrxPlugin implements Reader {
     public static final String ERROR_INFO_ELEMENT_NAME = "ErrorInfo";
     public static final String STDOUT_ELEMENT_NAME = "StdOut";
 
+    private static final String ALLURE_TRX_STREAMING = "ALLURE_TRX_STREAMING";
+
+    private static final String ALLURE_TRX_OUTPUT_THRESHOLD = "ALLURE_TRX_OUTPUT_THRESHOLD";
+    private static final long DEFAULT_OUTPUT_THRESHOLD = 1024 * 1024;
+    private static final int OUTPUT_PREVIEW_LINES = 100;
+    private static final String OUTPUT_FILE_ATTRIBUTE = "allureOutputFile";
+
+    private static final String ANY_ROOT_PATH = "*";
+    private static final String TEST_DEFINITIONS_PATH = TEST_RUN_ELEMENT_NAME + "/" + TEST_DEFINITIONS_ELEMENT;
+    private static final String UNIT_TEST_RESULT_PATH = String.join(
+            "/", TEST_RUN_ELEMENT_NAME, RESULTS_ELEMENT_NAME, UNIT_TEST_RESULT_ELEMENT_NAME
+    );
+
+    private final boolean streaming;
+
+    private final long outputThreshold;
+
+    private final OutputDirectories outputDirectories = new OutputDirectories("allure-trx-output");
+
+    public TrxPlugin() {
+        this(
+                getProperty(ALLURE_TRX_STREAMING).map(Boolean::parseBoolean).orElse(false),
+                getProperty(ALLURE_TRX_OUTPUT_THRESHOLD).map(Long::parseLong).orElse(DEFAULT_OUTPUT_THRESHOLD)
+        );
+    }
+
+    /**
+     * Creates plugin that reads TRX files either with streaming reader, so memory usage
+     * does not depend on file size, or by building a document tree. Streaming reader passes
+     * each result to {@link #parseResults(XmlElement, Map, RandomUidContext, ResultsVisitor)}
+     * wrapped in its own results element.
+     *
+     * @param streaming true to read files with streaming reader.
+     * @since 2.14
+     */
+    public TrxPlugin(final boolean streaming) {
+        this(streaming, DEFAULT_OUTPUT_THRESHOLD);
+    }
+
+    /**
+     * Creates plugin that reads TRX files either with streaming reader or by building
+     * a document tree. Streaming reader writes {@code StdOut} content larger than given
+     * threshold to "System out" attachment while reading, and only first and last lines
+     * of such output are added to test result as steps. Spilled files are kept in
+     * a temporary directory owned by the plugin until results directory they are read
+     * from is read again, and the directory is deleted on exit.
+     *
+     * @param streaming       true to read files with streaming reader.
+     * @param outputThreshold the max number of chars of {@code StdOut} to keep in memory,
+     *                        zero or negative to always keep it in memory.
+     * @since 2.14
+     */
+    public TrxPlugin(final boolean streaming, final long outputThreshold) {
+        this.streaming = streaming;
+        this.outputThreshold = outputThreshold;
+    }
+
     @Override
     public void readResults(final Configuration configuration,
                             final ResultsVisitor visitor,
                             final Path directory) {
         final RandomUidContext context = configuration.requireContext(RandomUidContext.class);
+        if (streaming) {
+            try {
+                outputDirectories.reset(directory);
+            } catch (IOException e) {
+                visitor.error("Could not delete previous output of " + directory, e);
+                return;
+            }
+        }
         listResults(directory).forEach(result -> parseTestRun(result, context, visitor));
     }
 
     protected void parseTestRun(final Path parsedFile, final RandomUidContext context, final ResultsVisitor visitor) {
+        if (streaming) {
+            streamTestRun(parsedFile, context, visitor);
+            return;
+        }
         try {
             LOGGER.debug("Parsing file {}", parsedFile);
 
@@ -127,6 +206,135 @@ public class TrxPlugin implements Reader {
         }
     }
 
+    /**
+     * Parses file in a single pass. Test definitions are kept in compact form keyed by
+     * execution id, and results are reported as soon as they are read. Results that
+     * precede test definitions are deferred to a disk backed buffer until definitions
+     * are read. Large {@code StdOut} of results is captured to a file rather than to
+     * memory, the same way JUnit system output is.
+     */
+    private void streamTestRun(final Path parsedFile, final RandomUidContext context, final ResultsVisitor visitor) {
+        LOGGER.debug("Parsing file {}", parsedFile);
+        final Map<String, UnitTest> tests = new HashMap<>();
+        final Map<String, String> classNames = new HashMap<>();
+        final AtomicBoolean definitionsRead = new AtomicBoolean();
+        try (DeferredResults deferred = new DeferredResults()) {
+            final Path outputDirectory = outputDirectories.get(parsedFile.toAbsolutePath().getParent());
+            new XmlStreamParser()
+                    .on(ANY_ROOT_PATH, element -> {
+                        final String elementName = element.getName();
+                        if (!TEST_RUN_ELEMENT_NAME.equals(elementName)) {
+                            LOGGER.debug("{} is not a valid TRX file. Unknown root element {}",
+                                    parsedFile, elementName);
+                            element.skip();
+                        }
+                    })
+                    .on(TEST_DEFINITIONS_PATH, element -> {
+                        if (definitionsRead.getAndSet(true)) {
+                            element.skip();
+                            return;
+                        }
+                        element.forEachChild(child -> {
+                            if (UNIT_TEST_ELEMENT.equals(child.getName())) {
+                                final UnitTest unitTest = compact(parseUnitTest(child.read()), classNames);
+                                tests.put(unitTest.getExecutionId(), unitTest);
+                            }
+                        });
+                        LOGGER.debug("Processing {} results deferred until test definitions", deferred.size());
+                        deferred.forEach(result -> parseStreamedResult(result, tests, context, visitor));
+                    })
+                    .on(UNIT_TEST_RESULT_PATH, element -> {
+                        final XmlElement result = readUnitTestResult(element, outputDirectory);
+                        if (definitionsRead.get()) {
+                            parseStreamedResult(result, tests, context, visitor);
+                        } else {
+                            deferred.add(result);
+                        }
+                    })
+                    .parse(parsedFile);
+            deferred.forEach(result -> parseStreamedResult(result, tests, context, visitor));
+        } catch (XMLStreamException | IOException e) {
+            LOGGER.error("Could not parse file {}: {}", parsedFile, e);
+        }
+    }
+
+    /**
+     * Reads unit test result element. {@code StdOut} is captured separately, so large
+     * output goes to a file rather than to memory. Such output is replaced with its
+     * first and last lines, and the file is referenced by an attribute, so the element
+     * can still be deferred until test definitions are read.
+     */
+    private XmlElement readUnitTestResult(final XmlElementView element,
+                                          final Path outputDirectory) throws XMLStreamException, IOException {
+        final Map<String, String> attributes = element.getAttributes();
+        final List<XmlElement> children = new ArrayList<>();
+        element.forEachChild(child -> children.add(OUTPUT_ELEMENT_NAME.equals(child.getName())
+                ? readOutput(child, outputDirectory)
+                : child.read()));
+        return new XmlElement(UNIT_TEST_RESULT_ELEMENT_NAME, attributes, children, "");
+    }
+
+    private XmlElement readOutput(final XmlElementView element,
+                                  final Path outputDirectory) throws XMLStreamException, IOException {
+        final Map<String, String> attributes = element.getAttributes();
+        final List<XmlElement> children = new ArrayList<>();
+        element.forEachChild(child -> children.add(STDOUT_ELEMENT_NAME.equals(child.getName())
+                ? readStdOut(child, outputDirectory)
+                : child.read()));
+        return new XmlElement(OUTPUT_ELEMENT_NAME, attributes, children, "");
+    }
+
+    private XmlElement readStdOut(final XmlElementView element,
+                                  final Path outputDirectory) throws XMLStreamException, IOException {
+        final OutputCapture output = new OutputCapture(outputDirectory, outputThreshold, OUTPUT_PREVIEW_LINES);
+        try {
+            element.readText(output::append);
+        } finally {
+            output.finish();
+        }
+        if (!output.isSpilled()) {
+            return new XmlElement(
+                    STDOUT_ELEMENT_NAME, Collections.emptyMap(), Collections.emptyList(), output.getText()
+            );
+        }
+        final List<String> lines = new ArrayList<>(output.getHead());
+        if (output.getSkippedLines() > 0) {
+            lines.add(String.format("... %d more lines, see System out attachment ...", output.getSkippedLines()));
+        }
+        lines.addAll(output.getTail());
+        return new XmlElement(
+                STDOUT_ELEMENT_NAME,
+                Collections.singletonMap(OUTPUT_FILE_ATTRIBUTE, output.getFile().toString()),
+                Collections.emptyList(),
+                String.join("\n", lines)
+        );
+    }
+
+    private void parseStreamedResult(final XmlElement unitTestResult,
+                                     final Map<String, UnitTest> tests,
+                                     final RandomUidContext context,
+                                     final ResultsVisitor visitor) {
+        final XmlElement resultsElement = new XmlElement(
+                RESULTS_ELEMENT_NAME, Collections.emptyMap(), Collections.singletonList(unitTestResult), null
+        );
+        parseResults(resultsElement, tests, context, visitor);
+    }
+
+    /**
+     * Shares class names between definitions, as usually there are many tests per class.
+     */
+    private static UnitTest compact(final UnitTest unitTest, final Map<String, String> classNames) {
+        final String className = Objects.isNull(unitTest.getClassName())
+                ? null
+                : classNames.computeIfAbsent(unitTest.getClassName(), Function.identity());
+        final Map<String, String> properties = unitTest.getProperties().isEmpty()
+                ? Collections.emptyMap()
+                : unitTest.getProperties();
+        return new UnitTest(
+                unitTest.getName(), className, unitTest.getExecutionId(), unitTest.getDescription(), properties
+        );
+    }
+
     protected UnitTest parseUnitTest(final XmlElement unitTestElement) {
         final String name = unitTestElement.getAttribute(NAME_ATTRIBUTE);
         final String className = unitTestElement.getFirst(TEST_METHOD_ELEMENT)
@@ -197,6 +405,10 @@ public class TrxPlugin implements Reader {
                     .collect(Collectors.toList());
             final StageResult stageResult = new StageResult()
                     .setSteps(steps);
+            getLogFile(unitTestResult)
+                    .map(visitor::visitAttachmentFile)
+                    .map(attachment -> attachment.setName("System out"))
+                    .ifPresent(attachment -> stageResult.setAttachments(Collections.singletonList(attachment)));
             result.setTestStage(stageResult);
         });
         Optional.ofNullable(tests.get(executionId)).ifPresent(unitTest -> {
@@ -225,6 +437,13 @@ public class TrxPlugin implements Reader {
                 .map(XmlElement::getValue);
     }
 
+    private Optional<Path> getLogFile(final XmlElement unitTestResult) {
+        return unitTestResult.getFirst(OUTPUT_ELEMENT_NAME)
+                .flatMap(output -> output.getFirst(STDOUT_ELEMENT_NAME))
+                .map(stdOut -> stdOut.getAttribute(OUTPUT_FILE_ATTRIBUTE))
+                .map(Paths::get);
+    }
+
     private Optional<String> getStatusMessage(final XmlElement unitTestResult) {
         return unitTestResult.getFirst(OUTPUT_ELEMENT_NAME)
                 .flatMap(output -> output.getFirst(ERROR_INFO_ELEMENT_NAME))
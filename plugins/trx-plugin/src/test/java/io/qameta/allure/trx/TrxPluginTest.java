@@ -19,25 +19,39 @@ import io.qameta.allure.Issue;
 import io.qameta.allure.context.RandomUidContext;
 import io.qameta.allure.core.Configuration;
 import io.qameta.allure.core.ResultsVisitor;
+import io.qameta.allure.entity.Attachment;
 import io.qameta.allure.entity.LabelName;
+import io.qameta.allure.entity.Parameter;
+import io.qameta.allure.entity.StageResult;
 import io.qameta.allure.entity.Status;
+import io.qameta.allure.entity.Step;
 import io.qameta.allure.entity.TestResult;
+import io.qameta.allure.parser.XmlElement;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.ArgumentCaptor;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -138,6 +152,143 @@ class TrxPluginTest {
                 .hasSize(1);
     }
 
+    @Test
+    void shouldDeferResultsPrecedingTestDefinitions() throws Exception {
+        final String trx = "<TestRun xmlns=\"http://microsoft.com/schemas/VisualStudio/TeamTest/2010\">"
+                + "<Results>"
+                + "<UnitTestResult executionId=\"e1\" testName=\"first\" outcome=\"Passed\"/>"
+                + "<UnitTestResult executionId=\"e2\" testName=\"second\" outcome=\"Failed\">"
+                + "<Output><StdOut>line one\nline two</StdOut>"
+                + "<ErrorInfo><Message>boom</Message><StackTrace>trace</StackTrace></ErrorInfo>"
+                + "</Output>"
+                + "</UnitTestResult>"
+                + "</Results>"
+                + "<TestDefinitions>"
+                + "<UnitTest name=\"first\"><Execution id=\"e1\"/><TestMethod className=\"Tests\"/></UnitTest>"
+                + "<UnitTest name=\"second\"><Execution id=\"e2\"/><TestMethod className=\"Tests\"/>"
+                + "<Description>Second test</Description>"
+                + "<Properties><Property><Key>Parameter:x</Key><Value>1</Value></Property></Properties>"
+                + "</UnitTest>"
+                + "</TestDefinitions>"
+                + "</TestRun>";
+        Files.write(resultsDirectory.resolve("deferred.trx"), trx.getBytes(StandardCharsets.UTF_8));
+
+        new TrxPlugin(true).readResults(configuration, visitor, resultsDirectory);
+
+        final ArgumentCaptor<TestResult> captor = ArgumentCaptor.forClass(TestResult.class);
+        verify(visitor, times(2)).visitTestResult(captor.capture());
+
+        assertThat(captor.getAllValues())
+                .extracting(TestResult::getFullName, TestResult::getStatus, TestResult::getDescription)
+                .containsExactly(
+                        tuple("Tests.first", Status.PASSED, null),
+                        tuple("Tests.second", Status.FAILED, "Second test")
+                );
+
+        final TestResult failed = captor.getAllValues().get(1);
+        assertThat(failed)
+                .extracting(TestResult::getStatusMessage, TestResult::getStatusTrace)
+                .containsExactly("boom", "trace");
+        assertThat(failed.getParameters())
+                .extracting(Parameter::getName, Parameter::getValue)
+                .containsExactly(tuple("x", "1"));
+        assertThat(failed.getTestStage().getSteps())
+                .extracting(Step::getName)
+                .containsExactly("line one", "line two");
+    }
+
+    @Test
+    void shouldSpillLargeStdOutToAttachment() throws Exception {
+        final String output = IntStream.range(0, 1000)
+                .mapToObj(i -> "line " + i)
+                .collect(Collectors.joining("\n"));
+        final String trx = "<TestRun xmlns=\"http://microsoft.com/schemas/VisualStudio/TeamTest/2010\">"
+                + "<Results>"
+                + "<UnitTestResult executionId=\"e1\" testName=\"noisy\" outcome=\"Passed\">"
+                + "<Output><StdOut>" + output + "</StdOut></Output>"
+                + "</UnitTestResult>"
+                + "</Results>"
+                + "<TestDefinitions>"
+                + "<UnitTest name=\"noisy\"><Execution id=\"e1\"/><TestMethod className=\"Tests\"/></UnitTest>"
+                + "</TestDefinitions>"
+                + "</TestRun>";
+        Files.write(resultsDirectory.resolve("noisy.trx"), trx.getBytes(StandardCharsets.UTF_8));
+        final List<Path> files = new ArrayList<>();
+        when(visitor.visitAttachmentFile(any())).thenAnswer(invocation -> {
+            files.add(invocation.getArgument(0));
+            return new Attachment().setUid("uid-" + files.size());
+        });
+
+        new TrxPlugin(true, 1024).readResults(configuration, visitor, resultsDirectory);
+
+        assertThat(files)
+                .hasSize(1)
+                .allSatisfy(file -> assertThat(file).hasContent(output));
+
+        final ArgumentCaptor<TestResult> captor = ArgumentCaptor.forClass(TestResult.class);
+        verify(visitor, times(1)).visitTestResult(captor.capture());
+        final StageResult testStage = captor.getValue().getTestStage();
+        assertThat(captor.getValue().getFullName())
+                .isEqualTo("Tests.noisy");
+        assertThat(testStage.getAttachments())
+                .extracting(Attachment::getName, Attachment::getUid)
+                .containsExactly(tuple("System out", "uid-1"));
+        assertThat(testStage.getSteps())
+                .hasSize(201)
+                .extracting(Step::getName)
+                .startsWith("line 0", "line 1")
+                .contains("... 800 more lines, see System out attachment ...")
+                .endsWith("line 998", "line 999");
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void shouldReadSameResultsInBothModes(final boolean streaming) throws Exception {
+        copyFile(resultsDirectory, "trxdata/sample.trx", "sample.trx");
+
+        new TrxPlugin(streaming).readResults(configuration, visitor, resultsDirectory);
+
+        final ArgumentCaptor<TestResult> captor = ArgumentCaptor.forClass(TestResult.class);
+        verify(visitor, times(4)).visitTestResult(captor.capture());
+
+        assertThat(captor.getAllValues())
+                .extracting(TestResult::getName, TestResult::getStatus, TestResult::getDescription)
+                .containsExactlyInAnyOrder(
+                        tuple("AddingSeveralNumbers_40", Status.PASSED, "Adding several numbers"),
+                        tuple("AddingSeveralNumbers_60", Status.PASSED, "Adding several numbers"),
+                        tuple("AddTwoNumbers", Status.PASSED, "Add two numbers"),
+                        tuple("FailToAddTwoNumbers", Status.FAILED, "Fail to add two numbers")
+                );
+        assertThat(captor.getAllValues())
+                .extracting(TestResult::getFullName)
+                .allMatch(fullName -> fullName.startsWith("Pickles.TestHarness.MSTest.AdditionFeature"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void shouldPassResultsToParseResultsHook(final boolean streaming) throws Exception {
+        copyFile(resultsDirectory, "trxdata/sample.trx", "sample.trx");
+        final List<String> parsed = new ArrayList<>();
+        final TrxPlugin plugin = new TrxPlugin(streaming) {
+            @Override
+            protected void parseResults(final XmlElement resultsElement,
+                                        final Map<String, UnitTest> tests,
+                                        final RandomUidContext context,
+                                        final ResultsVisitor visitor) {
+                resultsElement.get(UNIT_TEST_RESULT_ELEMENT_NAME)
+                        .forEach(result -> parsed.add(result.getAttribute(TEST_NAME_ATTRIBUTE)));
+            }
+        };
+
+        plugin.readResults(configuration, visitor, resultsDirectory);
+
+        assertThat(parsed)
+                .containsExactlyInAnyOrder(
+                        "AddingSeveralNumbers_40", "AddingSeveralNumbers_60", "AddTwoNumbers", "FailToAddTwoNumbers"
+                );
+        verify(visitor, times(0)).visitTestResult(any(TestResult.class));
+    }
+
     private void process(String... strings) throws IOException {
         Iterator<String> iterator = Arrays.asList(strings).iterator();
         while (iterator.hasNext()) {
@@ -24,14 +24,11 @@ import io.qameta.allure.entity.Status;
 import io.qameta.allure.entity.TestResult;
 import io.qameta.allure.entity.Time;
 import io.qameta.allure.parser.XmlElement;
+import io.qameta.allure.parser.XmlStreamParser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.w3c.dom.Document;
-import org.xml.sax.SAXException;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.nio.file.DirectoryStream;
@@ -41,6 +38,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 import static io.qameta.allure.entity.LabelName.FRAMEWORK;
@@ -74,6 +72,12 @@ public class XunitXmlPlugin implements Reader {
     private static final String TRAIT_ELEMENT_NAME = "trait";
     private static final String TRAITS_ELEMENT_NAME = "traits";
 
+    private static final String ANY_ROOT_PATH = "*";
+    private static final String ASSEMBLY_PATH = ASSEMBLIES_ELEMENT_NAME + "/" + ASSEMBLY_ELEMENT_NAME;
+    private static final String TEST_PATH = String.join(
+            "/", ASSEMBLY_PATH, COLLECTION_ELEMENT_NAME, TEST_ELEMENT_NAME
+    );
+
     private static final String FRAMEWORK_ATTRIBUTE_NAME = "test-framework";
     private static final String METHOD_ATTRIBUTE_NAME = "method";
     private static final String TYPE_ATTRIBUTE_NAME = "type";
@@ -90,39 +94,30 @@ public class XunitXmlPlugin implements Reader {
         listResults(directory).forEach(result -> parseAssemblies(result, context, visitor));
     }
 
+    /**
+     * Parses file with streaming reader, so only a single test element is kept in memory.
+     */
     private void parseAssemblies(final Path parsedFile, final RandomUidContext context, final ResultsVisitor visitor) {
+        LOGGER.debug("Parsing file {}", parsedFile);
+        final AtomicReference<String> framework = new AtomicReference<>();
         try {
-            LOGGER.debug("Parsing file {}", parsedFile);
-            final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            final DocumentBuilder builder = factory.newDocumentBuilder();
-            final Document document = builder.parse(parsedFile.toFile());
-            final XmlElement assembliesElement = new XmlElement(document.getDocumentElement());
-            final String elementName = assembliesElement.getName();
-            if (!ASSEMBLIES_ELEMENT_NAME.equals(elementName)) {
-                LOGGER.debug("{} is not a valid XUnit xml file. Unknown root element {}", parsedFile, elementName);
-                return;
-            }
-
-            assembliesElement.get(ASSEMBLY_ELEMENT_NAME)
-                    .forEach(element -> parseAssembly(element, context, visitor));
-        } catch (SAXException | ParserConfigurationException | IOException e) {
+            new XmlStreamParser()
+                    .on(ANY_ROOT_PATH, element -> {
+                        final String elementName = element.getName();
+                        if (!ASSEMBLIES_ELEMENT_NAME.equals(elementName)) {
+                            LOGGER.debug("{} is not a valid XUnit xml file. Unknown root element {}",
+                                    parsedFile, elementName);
+                            element.skip();
+                        }
+                    })
+                    .on(ASSEMBLY_PATH, element -> framework.set(element.getAttribute(FRAMEWORK_ATTRIBUTE_NAME)))
+                    .on(TEST_PATH, element -> parseTest(element.read(), framework.get(), context, visitor))
+                    .parse(parsedFile);
+        } catch (XMLStreamException | IOException e) {
             LOGGER.error("Could not parse file {}: {}", parsedFile, e);
         }
     }
 
-    private void parseAssembly(final XmlElement assemblyElement,
-                               final RandomUidContext context, final ResultsVisitor visitor) {
-        final String framework = getFramework(assemblyElement);
-        assemblyElement.get(COLLECTION_ELEMENT_NAME)
-                .forEach(element -> parseCollection(element, framework, context, visitor));
-    }
-
-    private void parseCollection(final XmlElement collectionElement, final String framework,
-                                 final RandomUidContext context, final ResultsVisitor visitor) {
-        collectionElement.get(TEST_ELEMENT_NAME)
-                .forEach(element -> parseTest(element, framework, context, visitor));
-    }
-
     private void parseTest(final XmlElement testElement, final String framework,
                            final RandomUidContext context, final ResultsVisitor visitor) {
         final Optional<String> fullName = Optional.ofNullable(testElement.getAttribute(NAME_ATTRIBUTE_NAME));
@@ -205,10 +200,6 @@ public class XunitXmlPlugin implements Reader {
         return new Parameter().setName(name).setValue(value);
     }
 
-    private String getFramework(final XmlElement assemblyElement) {
-        return assemblyElement.getAttribute(FRAMEWORK_ATTRIBUTE_NAME);
-    }
-
     private Time getTime(final XmlElement testElement) {
         if (testElement.containsAttribute(TIME_ATTRIBUTE_NAME)) {
             try {